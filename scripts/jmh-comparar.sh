@@ -0,0 +1,78 @@
+#!/usr/bin/env bash
+# Compara os microbenchmarks JMH (perfil jmh) entre dois commits.
+#
+#   scripts/jmh-comparar.sh <ref-base> [ref-novo] [filtro JMH]
+#
+#   scripts/jmh-comparar.sh main                     # main x working tree atual, todos os benchmarks
+#   scripts/jmh-comparar.sh HEAD~1 HEAD Serializacao # só SerializacaoBenchmark
+#
+# Cada ref é compilado num git worktree temporário (a working tree atual é usada quando ref-novo não é
+# informado, então dá para medir mudanças ainda não commitadas). Os resultados ficam em target/jmh-comparar/
+# (JSON do JMH) e a tabela mostra score de cada lado e a variação; em modo AverageTime menor é melhor.
+# Requer mvn (ou ./mvnw), git e jq. Os benchmarks precisam existir nos dois refs.
+set -euo pipefail
+
+if [[ $# -lt 1 ]]; then
+    sed -n '2,13p' "$0" | sed 's/^# \{0,1\}//'
+    exit 1
+fi
+
+BASE_REF=$1
+NOVO_REF=${2:-}
+FILTRO=${3:-.*Benchmark.*}
+EXTRA=${JMH_EXTRA:-}   # ex: JMH_EXTRA="-f 3 -wi 5 -i 10" para medições mais estáveis
+
+RAIZ=$(git rev-parse --show-toplevel)
+SAIDA="$RAIZ/target/jmh-comparar"
+mkdir -p "$SAIDA"
+MVN="$RAIZ/mvnw"
+[[ -x "$MVN" ]] || MVN=mvn
+
+rodar() {
+    local dir=$1 resultado=$2
+    (cd "$dir" && "$MVN" -q -B -Pjmh test-compile exec:exec \
+        -Djmh.args="$FILTRO -rf json -rff $resultado $EXTRA")
+}
+
+worktrees=()
+limpar() {
+    for wt in "${worktrees[@]:-}"; do
+        [[ -n "$wt" ]] && git -C "$RAIZ" worktree remove --force "$wt" >/dev/null 2>&1 || true
+    done
+}
+trap limpar EXIT
+
+checkout() {
+    local ref=$1 dir
+    dir=$(mktemp -d "${TMPDIR:-/tmp}/petcare-jmh-XXXXXX")
+    git -C "$RAIZ" worktree add --detach "$dir" "$ref" >/dev/null
+    worktrees+=("$dir")
+    echo "$dir"
+}
+
+echo ">> base: $BASE_REF"
+rodar "$(checkout "$BASE_REF")" "$SAIDA/base.json"
+
+if [[ -n "$NOVO_REF" ]]; then
+    echo ">> novo: $NOVO_REF"
+    rodar "$(checkout "$NOVO_REF")" "$SAIDA/novo.json"
+else
+    echo ">> novo: working tree"
+    rodar "$RAIZ" "$SAIDA/novo.json"
+fi
+
+# benchmark + parâmetros | base | novo | unidade | variação
+jq -r -n --slurpfile base "$SAIDA/base.json" --slurpfile novo "$SAIDA/novo.json" '
+  def chave: .benchmark + (if .params then " " + ([.params | to_entries[] | "\(.key)=\(.value)"] | join(",")) else "" end);
+  ($base[0] | map({key: chave, value: .}) | from_entries) as $b
+  | $novo[0][]
+  | chave as $k
+  | select($b[$k] != null)
+  | [$k,
+     ($b[$k].primaryMetric.score | . * 100 | round / 100),
+     (.primaryMetric.score | . * 100 | round / 100),
+     .primaryMetric.scoreUnit,
+     (((.primaryMetric.score - $b[$k].primaryMetric.score) / $b[$k].primaryMetric.score * 100) | . * 10 | round / 10 | tostring + "%")]
+  | @tsv' \
+  | (printf 'benchmark\tbase\tnovo\tunidade\tvariação\n'; cat) \
+  | column -t -s $'\t'
@@ -0,0 +1,32 @@
+package br.com.alessandra.petcare.carga;
+
+/**
+ * Operações da carga, cada uma ligada a uma requisição da coleção do Postman (pelo nome do item)
+ * e a uma chave de peso (opção pesos=disponiveis=60,adotar=15,...).
+ */
+enum Cenario {
+
+    DISPONIVEIS("disponiveis", "Listar Pets disponíveis", 60),
+    ADOTAR("adotar", "Adotar Pet", 15),
+    DEVOLVER("devolver", "Devolver Pet", 10),
+    CUIDADO("cuidado", "Cuidados", 15);
+
+    final String chave;
+    final String itemColecao;
+    final int pesoPadrao;
+
+    Cenario(String chave, String itemColecao, int pesoPadrao) {
+        this.chave = chave;
+        this.itemColecao = itemColecao;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    static Cenario porChave(String chave) {
+        for (Cenario c : values()) {
+            if (c.chave.equalsIgnoreCase(chave.trim())) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("Cenário desconhecido: " + chave);
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.alessandra.petcare.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lê o petcare.postman_collection.json e transforma os itens em modelos de requisição.
+ *
+ * Os ids fixos dos exemplos viram marcadores preenchidos a cada chamada:
+ * /pets/1/... vira /pets/{pet}/..., ?tutorId=3 vira ?tutorId={tutor},
+ * "pet": { "id": 1 } vira {pet} e a "data" do corpo vira {data}.
+ */
+final class ColecaoPostman {
+
+    private static final Pattern ID_NO_CAMINHO = Pattern.compile("^\\d+$");
+    private static final Pattern PET_NO_CORPO = Pattern.compile("(\"pet\"\\s*:\\s*\\{\\s*\"id\"\\s*:\\s*)\\d+");
+    private static final Pattern DATA_NO_CORPO = Pattern.compile("(\"data\"\\s*:\\s*\")[^\"]*(\")");
+
+    private final Map<String, Modelo> porNome = new HashMap<>();
+
+    private ColecaoPostman() {
+    }
+
+    static ColecaoPostman ler(ObjectMapper mapper, Path arquivo) throws IOException {
+        ColecaoPostman colecao = new ColecaoPostman();
+        colecao.adicionar(mapper.readTree(arquivo.toFile()).path("item"));
+        return colecao;
+    }
+
+    // a coleção tem pastas (Pet, Tutor, ...) com os itens dentro
+    private void adicionar(JsonNode itens) {
+        for (JsonNode item : itens) {
+            if (item.has("item")) {
+                adicionar(item.get("item"));
+            } else if (item.path("request").has("url")) {
+                Modelo modelo = modelo(item.get("request"));
+                porNome.put(item.path("name").asText(), modelo);
+            }
+        }
+    }
+
+    Modelo requisicao(String nome) {
+        Modelo modelo = porNome.get(nome);
+        if (modelo == null) {
+            throw new IllegalStateException("Requisição não encontrada na coleção: " + nome);
+        }
+        return modelo;
+    }
+
+    private static Modelo modelo(JsonNode request) {
+        JsonNode url = request.get("url");
+        StringBuilder caminho = new StringBuilder();
+        String anterior = null;
+        for (JsonNode segmento : url.path("path")) {
+            String s = segmento.asText();
+            caminho.append('/');
+            if (anterior != null && ID_NO_CAMINHO.matcher(s).matches()) {
+                // pets/1 -> pets/{pet}
+                caminho.append('{').append(singular(anterior)).append('}');
+            } else {
+                caminho.append(s);
+            }
+            anterior = s;
+        }
+
+        String query = StreamSupport.stream(url.path("query").spliterator(), false)
+                .map(q -> {
+                    String chave = q.path("key").asText();
+                    // tutorId=3 -> tutorId={tutor}
+                    String valor = chave.endsWith("Id")
+                            ? "{" + chave.substring(0, chave.length() - 2) + "}"
+                            : q.path("value").asText();
+                    return chave + "=" + valor;
+                })
+                .collect(Collectors.joining("&"));
+        if (!query.isEmpty()) {
+            caminho.append('?').append(query);
+        }
+
+        String corpo = null;
+        if ("raw".equals(request.path("body").path("mode").asText())) {
+            corpo = request.path("body").path("raw").asText();
+            corpo = PET_NO_CORPO.matcher(corpo).replaceAll("$1{pet}");
+            corpo = DATA_NO_CORPO.matcher(corpo).replaceAll("$1{data}$2");
+        }
+
+        return new Modelo(request.path("method").asText("GET"), caminho.toString(), corpo);
+    }
+
+    private static String singular(String recurso) {
+        if (recurso.endsWith("es")) {
+            return recurso.substring(0, recurso.length() - 2); // tutores -> tutor
+        }
+        return recurso.endsWith("s") ? recurso.substring(0, recurso.length() - 1) : recurso;
+    }
+
+    /**
+     * Requisição da coleção com marcadores {nome} no caminho e no corpo.
+     */
+    record Modelo(String metodo, String caminho, String corpo) {
+
+        private static final Pattern MARCADOR = Pattern.compile("\\{(\\w+)}");
+
+        String caminho(Map<String, ?> valores) {
+            return preencher(caminho, valores);
+        }
+
+        String corpo(Map<String, ?> valores) {
+            return corpo == null ? null : preencher(corpo, valores);
+        }
+
+        private static String preencher(String texto, Map<String, ?> valores) {
+            Matcher m = MARCADOR.matcher(texto);
+            StringBuilder sb = new StringBuilder();
+            while (m.find()) {
+                Object valor = valores.get(m.group(1));
+                if (valor == null) {
+                    throw new IllegalArgumentException("Valor não informado para {" + m.group(1) + "} em " + texto);
+                }
+                m.appendReplacement(sb, Matcher.quoteReplacement(valor.toString()));
+            }
+            m.appendTail(sb);
+            return sb.toString();
+        }
+    }
+}
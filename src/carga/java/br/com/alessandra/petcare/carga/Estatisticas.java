@@ -0,0 +1,72 @@
+package br.com.alessandra.petcare.carga;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latência (HdrHistogram, em nanossegundos) e contagem de respostas de um cenário.
+ * Os clientes gravam no Recorder sem lock; o relatório drena por intervalo e acumula só depois do aquecimento.
+ */
+final class Estatisticas {
+
+    final String rotulo;
+
+    private final Recorder recorder = new Recorder(3);
+    private final Histogram total = new Histogram(3);
+    private Histogram intervalo;
+
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder recusadas = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+
+    Estatisticas(String rotulo) {
+        this.rotulo = rotulo;
+    }
+
+    // status < 0 = falha de rede/timeout
+    void registrar(long nanos, int status) {
+        recorder.recordValue(Math.max(nanos, 0));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status >= 400 && status < 500) {
+            recusadas.increment();
+        } else {
+            erros.increment();
+        }
+    }
+
+    // fecha o intervalo atual; medindo = false descarta (aquecimento)
+    synchronized Histogram drenar(boolean medindo) {
+        intervalo = recorder.getIntervalHistogram(intervalo);
+        if (medindo) {
+            total.add(intervalo);
+        }
+        return intervalo;
+    }
+
+    synchronized void zerar() {
+        drenar(false);
+        total.reset();
+        ok.reset();
+        recusadas.reset();
+        erros.reset();
+    }
+
+    synchronized Histogram total() {
+        return total.copy();
+    }
+
+    long ok() {
+        return ok.sum();
+    }
+
+    long recusadas() {
+        return recusadas.sum();
+    }
+
+    long erros() {
+        return erros.sum();
+    }
+}
@@ -0,0 +1,222 @@
+package br.com.alessandra.petcare.carga;
+
+import org.postgresql.PGConnection;
+
+import java.io.BufferedOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Popula tutor, pet, adocao e cuidado com uma massa sintética em volume de produção (distribuições em
+ * {@link MassaSintetica}), via COPY do PostgreSQL em paralelo: cada parte dos pets usa uma conexão e
+ * faz um COPY por tabela.
+ *
+ * As tabelas precisam existir (suba a aplicação uma vez contra o banco). Os ids continuam depois dos
+ * existentes e as sequences e os baldes de custo (custo_cuidado_mensal) são acertados no final.
+ * <pre>
+ * mvn -Pcarga test-compile exec:exec -Dcarga.classe=GeradorDeDados -Dcarga.args="escala=10"
+ * </pre>
+ * Opções: escala (1 = 50 mil tutores, 100 mil pets, ~2 milhões de cuidados), paralelo (conexões),
+ * semente, jdbc, usuario, senha e csv (pasta: grava os CSV em vez de carregar no banco).
+ *
+ * O linhas/s impresso no final mede a carga inteira (geração + COPY). Só com csv= ele mede a geração,
+ * que não é o gargalo: a vazão do COPY no PostgreSQL não foi medida (ver README).
+ */
+public class GeradorDeDados {
+
+    private static final int TUTORES_POR_ESCALA = 50_000;
+    private static final int PETS_POR_ESCALA = 100_000;
+
+    private final Opcoes opcoes;
+    private final Path pastaCsv;
+
+    private final LongAdder linhasTutor = new LongAdder();
+    private final LongAdder linhasPet = new LongAdder();
+    private final LongAdder linhasAdocao = new LongAdder();
+    private final LongAdder linhasCuidado = new LongAdder();
+
+    GeradorDeDados(Opcoes opcoes) {
+        this.opcoes = opcoes;
+        String csv = opcoes.texto("csv", "");
+        this.pastaCsv = csv.isBlank() ? null : Path.of(csv);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new GeradorDeDados(Opcoes.de(args)).executar();
+    }
+
+    void executar() throws Exception {
+        double escala = opcoes.decimal("escala", 1.0);
+        int tutores = (int) Math.max(1, Math.round(TUTORES_POR_ESCALA * escala));
+        int pets = (int) Math.max(1, Math.round(PETS_POR_ESCALA * escala));
+        int paralelo = opcoes.inteiro("paralelo", Runtime.getRuntime().availableProcessors());
+
+        long primeiroTutor = 1;
+        long primeiroPet = 1;
+        if (pastaCsv == null) {
+            try (Connection con = conectar()) {
+                primeiroTutor = proximoId(con, "tutor");
+                primeiroPet = proximoId(con, "pet");
+            }
+        } else {
+            Files.createDirectories(pastaCsv);
+        }
+
+        MassaSintetica massa = new MassaSintetica(opcoes.longo("semente", 42), LocalDate.now(),
+                primeiroTutor, tutores, primeiroPet);
+        System.out.printf("Gerando escala %s: %d tutores, %d pets, %d conexões%n", escala, tutores, pets, paralelo);
+        long inicio = System.nanoTime();
+
+        emPartes(tutores, paralelo, (con, de, ate, parte) -> {
+            try (SaidaCsv saida = saida(con, "tutor", MassaSintetica.COLUNAS_TUTOR, parte)) {
+                for (int i = de; i < ate; i++) {
+                    massa.tutor(i, saida);
+                }
+                linhasTutor.add(saida.linhas());
+            }
+        });
+
+        // adocao e cuidado referenciam pet: cada parte carrega os seus pets antes
+        emPartes(pets, paralelo, (con, de, ate, parte) -> {
+            try (SaidaCsv saida = saida(con, "pet", MassaSintetica.COLUNAS_PET, parte)) {
+                for (int i = de; i < ate; i++) {
+                    massa.pet(massa.historia(i), saida);
+                }
+                linhasPet.add(saida.linhas());
+            }
+            try (SaidaCsv saida = saida(con, "adocao", MassaSintetica.COLUNAS_ADOCAO, parte)) {
+                for (int i = de; i < ate; i++) {
+                    massa.adocoes(massa.historia(i), saida);
+                }
+                linhasAdocao.add(saida.linhas());
+            }
+            try (SaidaCsv saida = saida(con, "cuidado", MassaSintetica.COLUNAS_CUIDADO, parte)) {
+                for (int i = de; i < ate; i++) {
+                    massa.cuidados(massa.historia(i), saida);
+                }
+                linhasCuidado.add(saida.linhas());
+            }
+        });
+        double segundosCarga = (System.nanoTime() - inicio) / 1e9;
+
+        if (pastaCsv == null) {
+            try (Connection con = conectar()) {
+                acertarDepoisDaCarga(con, primeiroPet);
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        long total = linhasTutor.sum() + linhasPet.sum() + linhasAdocao.sum() + linhasCuidado.sum();
+        System.out.printf(Locale.ROOT, "tutor %d, pet %d, adocao %d, cuidado %d%n",
+                linhasTutor.sum(), linhasPet.sum(), linhasAdocao.sum(), linhasCuidado.sum());
+        System.out.printf(Locale.ROOT, "%d linhas em %.1f s (%.0f linhas/s); com sequences/baldes/ANALYZE: %.1f s%n",
+                total, segundosCarga, total / segundosCarga, segundos);
+        if (pastaCsv != null) {
+            System.out.println("CSV em " + pastaCsv.toAbsolutePath()
+                    + " (\\copy <tabela> (<colunas>) from '<arquivo>' with (format csv))");
+        }
+    }
+
+    // ==========================
+    // Partes em paralelo
+    // ==========================
+
+    @FunctionalInterface
+    private interface Parte {
+        void gerar(Connection con, int de, int ate, int parte) throws Exception;
+    }
+
+    private void emPartes(int quantidade, int paralelo, Parte parte) throws Exception {
+        int partes = Math.max(1, Math.min(paralelo, quantidade));
+        ExecutorService executor = Executors.newFixedThreadPool(partes);
+        try {
+            List<Future<?>> futuros = new ArrayList<>();
+            for (int p = 0; p < partes; p++) {
+                int numero = p;
+                int de = (int) ((long) quantidade * p / partes);
+                int ate = (int) ((long) quantidade * (p + 1) / partes);
+                futuros.add(executor.submit(() -> {
+                    try (Connection con = pastaCsv == null ? conectar() : null) {
+                        parte.gerar(con, de, ate, numero);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futuros) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SaidaCsv saida(Connection con, String tabela, String colunas, int parte) throws Exception {
+        if (con == null) {
+            return SaidaCsv.arquivo(new BufferedOutputStream(
+                    Files.newOutputStream(pastaCsv.resolve(tabela + "-" + parte + ".csv")), 1 << 16));
+        }
+        return SaidaCsv.copy(con.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("COPY " + tabela + " (" + colunas + ") FROM STDIN WITH (FORMAT csv)"));
+    }
+
+    // ==========================
+    // Banco
+    // ==========================
+
+    private Connection conectar() throws SQLException {
+        return DriverManager.getConnection(
+                opcoes.texto("jdbc", "jdbc:postgresql://localhost:5432/petcare"),
+                opcoes.texto("usuario", "postgres"),
+                opcoes.texto("senha", "admin"));
+    }
+
+    private static long proximoId(Connection con, String tabela) throws SQLException {
+        try (Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT coalesce(max(id), 0) + 1 FROM " + tabela)) {
+            rs.next();
+            return rs.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Tabela " + tabela + " indisponível. Suba a aplicação uma vez contra "
+                    + "este banco para o Hibernate criar o schema.", e);
+        }
+    }
+
+    private static void acertarDepoisDaCarga(Connection con, long primeiroPet) throws SQLException {
+        try (Statement st = con.createStatement()) {
+            // ids gravados explicitamente: as sequences precisam passar do maior id (pet_seq em blocos de 50)
+            st.execute("SELECT setval(pg_get_serial_sequence('tutor', 'id'), (SELECT max(id) FROM tutor))");
+            st.execute("SELECT setval('pet_seq', (SELECT max(id) FROM pet) + 50)");
+
+            // baldes de custo dos pets novos (o CuidadoService mantém os demais), com o tutor da adoção
+            // vigente na data do cuidado, mesma regra do CustoCuidadoMensalRepositoryCustomImpl
+            st.executeUpdate("""
+                    INSERT INTO custo_cuidado_mensal (id_pet, mes, tipo, id_tutor, total, quantidade)
+                    SELECT l.id_pet, l.mes, l.tipo, l.id_tutor, coalesce(sum(l.custo), 0), count(*)
+                      FROM (SELECT cu.id_pet, date_trunc('month', cu.data_cuidado)::date AS mes, cu.tipo, cu.custo,
+                                   coalesce((SELECT max(a.id_tutor) FROM adocao a
+                                              WHERE a.id_pet = cu.id_pet
+                                                AND a.data_adocao < cu.data_cuidado
+                                                AND (a.data_devolucao IS NULL
+                                                     OR cu.data_cuidado <= a.data_devolucao)), 0) AS id_tutor
+                              FROM cuidado cu
+                             WHERE cu.id_pet >= %d) l
+                     GROUP BY l.id_pet, l.mes, l.tipo, l.id_tutor
+                    """.formatted(primeiroPet));
+
+            st.execute("ANALYZE tutor, pet, adocao, cuidado, custo_cuidado_mensal");
+        }
+    }
+}
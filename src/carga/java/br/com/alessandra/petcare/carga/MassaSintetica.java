@@ -0,0 +1,251 @@
+package br.com.alessandra.petcare.carga;
+
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Distribuições da massa sintética. Tudo que é de um pet (dados, ciclos de adoção e cuidados) sai de um
+ * SplittableRandom semeado pelo índice do pet: cada tabela é gerada numa passada separada e as passadas
+ * enxergam a mesma história sem guardar nada em memória.
+ *
+ * - adoções: ~45% dos pets nunca foram adotados; os demais têm 1 a 5 ciclos, todos ENCERRADA com data de
+ *   devolução, menos talvez o último, que fica ATIVA (pet ADOTADO com id_tutor do ciclo); poucos tutores
+ *   concentram muitas adoções (abrigos/lares temporários);
+ * - cuidados por pet: log-normal (mediana ~12, cauda longa até 3000), tipos com pesos diferentes,
+ *   descrição quando o tipo exige (CuidadoService.precisaDescricao) e custo por faixa do tipo.
+ */
+final class MassaSintetica {
+
+    static final String COLUNAS_TUTOR = "id, nome, telefone, email, endereco, versao";
+    static final String COLUNAS_PET = "id, nome, especie, raca, idade, status, data_entrada, versao, excluido, id_tutor";
+    static final String COLUNAS_ADOCAO = "id_pet, id_tutor, data_adocao, data_devolucao, status, versao";
+    static final String COLUNAS_CUIDADO = "tipo, descricao, data_cuidado, custo, versao, id_pet";
+
+    private static final int ANOS_DE_HISTORICO = 5;
+    private static final int MAX_CICLOS = 5;
+    private static final int MAX_CUIDADOS = 3000;
+    private static final double CUIDADOS_MU = Math.log(12);
+    private static final double CUIDADOS_SIGMA = 1.1;
+
+    private static final String[] NOMES = {"Ana", "Bruno", "Carla", "Diego", "Eduarda", "Felipe", "Gabriela",
+            "Heitor", "Isabela", "João", "Juliana", "Lucas", "Mariana", "Nicolas", "Olívia", "Pedro", "Rafaela",
+            "Samuel", "Tatiana", "Vitor"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Rodrigues", "Ferreira",
+            "Alves", "Pereira", "Lima", "Gomes", "Costa", "Ribeiro", "Martins", "Carvalho", "Peglow"};
+    private static final String[] RUAS = {"Rua das Flores", "Av. Central", "Rua General Osório", "Rua Voluntários",
+            "Av. Brasil", "Rua XV de Novembro", "Rua Sete de Setembro"};
+    private static final String[] CIDADES = {"Porto Alegre", "Pelotas", "São Lourenço do Sul", "Canoas",
+            "Caxias do Sul", "Santa Maria"};
+    private static final String[] NOMES_PET = {"Bidu", "Mimi", "Thor", "Luna", "Mel", "Pipoca", "Bob", "Nina",
+            "Fred", "Amora", "Toby", "Lola", "Simba", "Belinha", "Paçoca", "Jade"};
+
+    // espécie -> raças, com peso por espécie
+    private static final String[] ESPECIES = {"Cachorro", "Gato", "Coelho", "Pássaro", "Hamster"};
+    private static final int[] PESO_ESPECIE = {60, 33, 3, 2, 2};
+    private static final String[][] RACAS = {
+            {"Vira-lata", "Vira-lata", "Vira-lata", "Labrador", "Poodle", "Golden Retriever", "Shih Tzu", "Pinscher"},
+            {"SRD", "SRD", "SRD", "Siamês", "Persa", "Maine Coon"},
+            {"Mini Lop", "Angorá"},
+            {"Calopsita", "Periquito"},
+            {"Sírio", "Anão Russo"}
+    };
+
+    private static final TipoCuidado[] TIPOS = TipoCuidado.values();
+    // BANHO, TOSA, VACINA, CONSULTA, MEDICACAO, VERMIFUGO, OUTRO
+    private static final int[] PESO_TIPO = {30, 14, 16, 14, 12, 9, 5};
+    private static final long[][] CUSTO_CENTAVOS = {
+            {4_000, 12_000}, {5_000, 15_000}, {6_000, 18_000}, {12_000, 35_000},
+            {2_000, 25_000}, {2_500, 9_000}, {1_000, 50_000}
+    };
+    private static final String[][] DESCRICOES = {
+            {"Banho completo com shampoo neutro", "Banho + secagem"},
+            {"Tosa higiênica", "Tosa completa"},
+            {"V10 anual", "Antirrábica", "Tríplice felina", "V8 reforço"},
+            {"Check-up anual", "Retorno veterinário", "Consulta dermatológica", "Avaliação pós-adoção"},
+            {"Antibiótico 7 dias", "Anti-inflamatório", "Colírio", "Antipulgas"},
+            {"Vermífugo oral", "Vermífugo trimestral"},
+            {"Microchip", "Castração", "Exame de sangue", "Hidratação"}
+    };
+
+    private final long semente;
+    private final LocalDate hoje;
+    private final long primeiroTutor;
+    private final int tutores;
+    private final long primeiroPet;
+
+    MassaSintetica(long semente, LocalDate hoje, long primeiroTutor, int tutores, long primeiroPet) {
+        this.semente = semente;
+        this.hoje = hoje;
+        this.primeiroTutor = primeiroTutor;
+        this.tutores = tutores;
+        this.primeiroPet = primeiroPet;
+    }
+
+    // ==========================
+    // Tutor
+    // ==========================
+
+    void tutor(int indice, SaidaCsv saida) throws IOException {
+        SplittableRandom r = new SplittableRandom(semente ^ (0x5DEECE66DL * (indice + 1)));
+        long id = primeiroTutor + indice;
+        String nome = um(NOMES, r);
+        String sobrenome = um(SOBRENOMES, r);
+        saida.numero(id)
+                .texto(nome + " " + sobrenome)
+                .texto("5" + (1 + r.nextInt(9)) + "9" + (10_000_000 + r.nextInt(90_000_000)))
+                .texto(semAcento(nome + "." + sobrenome).toLowerCase() + "." + id + "@exemplo.com.br")
+                .texto(um(RUAS, r) + ", " + (1 + r.nextInt(3000)) + " - " + um(CIDADES, r))
+                .numero(0);
+        saida.fimDaLinha();
+    }
+
+    // ==========================
+    // Pet e adoções
+    // ==========================
+
+    record Ciclo(long tutor, LocalDate adocao, LocalDate devolucao) {
+    }
+
+    /**
+     * Dados de um pet e seus ciclos de adoção. O gerador fica posicionado logo depois da história,
+     * de onde saem os cuidados.
+     */
+    record Historia(long id, SplittableRandom r, int especie, String raca, int idade, LocalDate entrada,
+                    List<Ciclo> ciclos) {
+
+        boolean adotado() {
+            return !ciclos.isEmpty() && ciclos.get(ciclos.size() - 1).devolucao() == null;
+        }
+    }
+
+    Historia historia(int indice) {
+        SplittableRandom r = new SplittableRandom(semente * 0x9E3779B97F4A7C15L + indice);
+        int especie = ponderado(PESO_ESPECIE, r);
+        String raca = um(RACAS[especie], r);
+        int idade = (int) Math.min(18, Math.abs(r.nextGaussian() * 4));
+        LocalDate entrada = hoje.minusDays(r.nextInt(ANOS_DE_HISTORICO * 365));
+
+        List<Ciclo> ciclos = new ArrayList<>(0);
+        if (r.nextInt(100) >= 45) {
+            int quantidade = 1;
+            while (quantidade < MAX_CICLOS && r.nextInt(100) < 35) {
+                quantidade++;
+            }
+            boolean ultimoAtivo = r.nextInt(100) < 70;
+            LocalDate cursor = entrada.plusDays(1 + r.nextInt(60));
+            for (int c = 0; c < quantidade && !cursor.isAfter(hoje); c++) {
+                long tutor = tutorConcentrado(r);
+                boolean ativo = c == quantidade - 1 && ultimoAtivo;
+                LocalDate devolucao = ativo ? null : cursor.plusDays(3 + (long) Math.exp(3 + r.nextGaussian()));
+                if (devolucao != null && devolucao.isAfter(hoje)) {
+                    devolucao = null; // ainda não voltou: este é o ciclo ativo
+                }
+                ciclos.add(new Ciclo(tutor, cursor, devolucao));
+                if (devolucao == null) {
+                    break;
+                }
+                cursor = devolucao.plusDays(1 + r.nextInt(60));
+            }
+        }
+        return new Historia(primeiroPet + indice, r, especie, raca, idade, entrada, ciclos);
+    }
+
+    void pet(Historia h, SaidaCsv saida) throws IOException {
+        boolean adotado = h.adotado();
+        // cada adoção e devolução incrementa a versão
+        long versao = 2L * h.ciclos().size() - (adotado ? 1 : 0);
+        saida.numero(h.id())
+                .texto(NOMES_PET[(int) (h.id() % NOMES_PET.length)])
+                .texto(ESPECIES[h.especie()])
+                .texto(h.raca())
+                .numero(h.idade())
+                .texto((adotado ? StatusPet.ADOTADO : StatusPet.DISPONIVEL).name())
+                .data(h.entrada())
+                .numero(versao)
+                .booleano(false);
+        if (adotado) {
+            saida.numero(h.ciclos().get(h.ciclos().size() - 1).tutor());
+        } else {
+            saida.nulo();
+        }
+        saida.fimDaLinha();
+    }
+
+    void adocoes(Historia h, SaidaCsv saida) throws IOException {
+        for (Ciclo c : h.ciclos()) {
+            boolean ativa = c.devolucao() == null;
+            saida.numero(h.id())
+                    .numero(c.tutor())
+                    .data(c.adocao())
+                    .data(c.devolucao())
+                    .texto((ativa ? StatusAdocao.ATIVA : StatusAdocao.ENCERRADA).name())
+                    .numero(ativa ? 0 : 1);
+            saida.fimDaLinha();
+        }
+    }
+
+    // ==========================
+    // Cuidados
+    // ==========================
+
+    int cuidados(Historia h, SaidaCsv saida) throws IOException {
+        SplittableRandom r = h.r();
+        int quantidade = (int) Math.min(MAX_CUIDADOS, Math.exp(CUIDADOS_MU + CUIDADOS_SIGMA * r.nextGaussian()));
+        int dias = (int) Math.max(1, hoje.toEpochDay() - h.entrada().toEpochDay() + 1);
+        for (int i = 0; i < quantidade; i++) {
+            int t = ponderado(PESO_TIPO, r);
+            TipoCuidado tipo = TIPOS[t];
+            boolean semDescricao = (tipo == TipoCuidado.BANHO || tipo == TipoCuidado.TOSA) && r.nextBoolean();
+            long[] faixa = CUSTO_CENTAVOS[t];
+            long custo = r.nextInt(100) < 3 ? -1 : faixa[0] + r.nextLong(faixa[1] - faixa[0]);
+            saida.texto(tipo.name())
+                    .texto(semDescricao ? null : um(DESCRICOES[t], r))
+                    .data(h.entrada().plusDays(r.nextInt(dias)))
+                    .dinheiro(custo)
+                    .numero(0)
+                    .numero(h.id());
+            saida.fimDaLinha();
+        }
+        return quantidade;
+    }
+
+    // ==========================
+    // Auxiliares
+    // ==========================
+
+    // u^2.5 concentra os sorteios nos primeiros tutores
+    private long tutorConcentrado(SplittableRandom r) {
+        return primeiroTutor + Math.min(tutores - 1, (long) (tutores * Math.pow(r.nextDouble(), 2.5)));
+    }
+
+    private static int ponderado(int[] pesos, SplittableRandom r) {
+        int total = 0;
+        for (int p : pesos) {
+            total += p;
+        }
+        int sorteio = r.nextInt(total);
+        for (int i = 0; i < pesos.length; i++) {
+            sorteio -= pesos[i];
+            if (sorteio < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    private static String um(String[] valores, SplittableRandom r) {
+        return valores[r.nextInt(valores.length)];
+    }
+
+    private static String semAcento(String s) {
+        return Normalizer.normalize(s, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.alessandra.petcare.carga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opções de linha de comando no formato chave=valor (-Dcarga.args="clientes=64 duracao=PT2M").
+ * Sem a chave nos argumentos, vale a propriedade de sistema carga.chave e depois o padrão.
+ */
+final class Opcoes {
+
+    private final Map<String, String> valores = new LinkedHashMap<>();
+
+    static Opcoes de(String[] args) {
+        Opcoes opcoes = new Opcoes();
+        for (String arg : args) {
+            int i = arg.indexOf('=');
+            if (i <= 0) {
+                throw new IllegalArgumentException("Opção inválida (use chave=valor): " + arg);
+            }
+            opcoes.valores.put(arg.substring(0, i), arg.substring(i + 1));
+        }
+        return opcoes;
+    }
+
+    String texto(String chave, String padrao) {
+        return valores.getOrDefault(chave, System.getProperty("carga." + chave, padrao));
+    }
+
+    int inteiro(String chave, int padrao) {
+        return Integer.parseInt(texto(chave, String.valueOf(padrao)));
+    }
+
+    long longo(String chave, long padrao) {
+        return Long.parseLong(texto(chave, String.valueOf(padrao)));
+    }
+
+    double decimal(String chave, double padrao) {
+        return Double.parseDouble(texto(chave, String.valueOf(padrao)));
+    }
+}
@@ -0,0 +1,149 @@
+package br.com.alessandra.petcare.carga;
+
+import org.postgresql.copy.CopyIn;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+/**
+ * Linhas CSV (formato do COPY ... WITH (FORMAT csv): campo vazio sem aspas = NULL) montadas num
+ * StringBuilder e descarregadas em blocos, para o COPY do PostgreSQL ou para um arquivo.
+ */
+abstract class SaidaCsv implements AutoCloseable {
+
+    private static final int BLOCO = 256 * 1024;
+
+    private final StringBuilder sb = new StringBuilder(BLOCO + 4096);
+    private long linhas;
+    private boolean primeiroCampo = true;
+
+    static SaidaCsv copy(CopyIn copyIn) {
+        return new SaidaCsv() {
+            @Override
+            protected void escrever(byte[] bytes) throws IOException {
+                try {
+                    copyIn.writeToCopy(bytes, 0, bytes.length);
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            @Override
+            protected void encerrar() throws IOException {
+                try {
+                    copyIn.endCopy();
+                } catch (SQLException e) {
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    static SaidaCsv arquivo(OutputStream out) {
+        return new SaidaCsv() {
+            @Override
+            protected void escrever(byte[] bytes) throws IOException {
+                out.write(bytes);
+            }
+
+            @Override
+            protected void encerrar() throws IOException {
+                out.close();
+            }
+        };
+    }
+
+    protected abstract void escrever(byte[] bytes) throws IOException;
+
+    protected abstract void encerrar() throws IOException;
+
+    private StringBuilder campo() {
+        if (!primeiroCampo) {
+            sb.append(',');
+        }
+        primeiroCampo = false;
+        return sb;
+    }
+
+    SaidaCsv numero(long valor) {
+        campo().append(valor);
+        return this;
+    }
+
+    // centavos -> 123.45 (null se negativo)
+    SaidaCsv dinheiro(long centavos) {
+        StringBuilder s = campo();
+        if (centavos >= 0) {
+            s.append(centavos / 100).append('.');
+            long resto = centavos % 100;
+            if (resto < 10) {
+                s.append('0');
+            }
+            s.append(resto);
+        }
+        return this;
+    }
+
+    SaidaCsv texto(String valor) {
+        StringBuilder s = campo();
+        if (valor != null) {
+            s.append('"');
+            for (int i = 0; i < valor.length(); i++) {
+                char c = valor.charAt(i);
+                if (c == '"') {
+                    s.append('"');
+                }
+                s.append(c);
+            }
+            s.append('"');
+        }
+        return this;
+    }
+
+    SaidaCsv data(LocalDate valor) {
+        StringBuilder s = campo();
+        if (valor != null) {
+            s.append(valor); // ISO yyyy-MM-dd
+        }
+        return this;
+    }
+
+    SaidaCsv nulo() {
+        campo();
+        return this;
+    }
+
+    SaidaCsv booleano(boolean valor) {
+        campo().append(valor ? 't' : 'f');
+        return this;
+    }
+
+    void fimDaLinha() throws IOException {
+        sb.append('\n');
+        primeiroCampo = true;
+        linhas++;
+        if (sb.length() >= BLOCO) {
+            descarregar();
+        }
+    }
+
+    long linhas() {
+        return linhas;
+    }
+
+    private void descarregar() throws IOException {
+        escrever(sb.toString().getBytes(StandardCharsets.UTF_8));
+        sb.setLength(0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (sb.length() > 0) {
+            descarregar();
+        }
+        encerrar();
+    }
+}
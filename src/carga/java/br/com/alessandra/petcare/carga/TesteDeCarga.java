@@ -0,0 +1,364 @@
+package br.com.alessandra.petcare.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga HTTP da API a partir dos cenários da coleção do Postman: listar disponíveis, adotar,
+ * devolver e registrar cuidado, sorteados por peso. Reporta vazão e p50/p99/p99.9 por endpoint.
+ *
+ * A API precisa estar rodando (use um banco descartável: o teste cadastra tutores e pets), ex. com H2 em memória:
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.profiles=carga,h2 -Dspring-boot.run.useTestClasspath=true
+ * mvn -Pcarga test-compile exec:exec -Dcarga.args="clientes=64 duracao=PT2M"
+ * </pre>
+ * Opções (chave=valor, ou -Dcarga.chave=valor na JVM):
+ * url, clientes, duracao, aquecimento, taxa (req/s no total; 0 = cada cliente dispara assim que recebe a resposta),
+ * pets, tutores, pesos (ex: disponiveis=60,adotar=15,devolver=10,cuidado=15), colecao e saida
+ * (pasta para os .hgrm de cada endpoint).
+ *
+ * Com taxa &gt; 0 a latência conta a partir do horário em que a requisição deveria ter saído, então fila
+ * no servidor aparece no percentil em vez de só baixar a vazão (omissão coordenada).
+ */
+public class TesteDeCarga {
+
+    private static final Duration INTERVALO_RELATORIO = Duration.ofSeconds(10);
+    private static final int LOTE = 1000; // LOTE_MAXIMO de /pets/batch e /tutores/batch
+
+    private final Opcoes opcoes;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http;
+    private final String url;
+    private final ColecaoPostman colecao;
+
+    private final Map<Cenario, ColecaoPostman.Modelo> modelos = new EnumMap<>(Cenario.class);
+    private final Map<Cenario, Estatisticas> estatisticas = new EnumMap<>(Cenario.class);
+    private final Cenario[] sorteio;
+
+    // ids cadastrados pelo teste; um pet fica fora das filas enquanto um cliente está adotando/devolvendo
+    private final LinkedBlockingDeque<Long> disponiveis = new LinkedBlockingDeque<>();
+    private final LinkedBlockingDeque<Long> adotados = new LinkedBlockingDeque<>();
+    private long[] pets;
+    private long[] tutores;
+
+    private volatile boolean parar;
+    private volatile boolean medindo;
+
+    TesteDeCarga(Opcoes opcoes) throws IOException {
+        this.opcoes = opcoes;
+        this.url = opcoes.texto("url", "http://localhost:8080").replaceAll("/+$", "");
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        this.colecao = ColecaoPostman.ler(mapper, Path.of(opcoes.texto("colecao", "petcare.postman_collection.json")));
+        for (Cenario c : Cenario.values()) {
+            ColecaoPostman.Modelo modelo = colecao.requisicao(c.itemColecao);
+            modelos.put(c, modelo);
+            estatisticas.put(c, new Estatisticas(modelo.metodo() + " " + modelo.caminho()));
+        }
+        this.sorteio = sorteio(opcoes.texto("pesos", ""));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new TesteDeCarga(Opcoes.de(args)).executar();
+    }
+
+    // tabela com cada cenário repetido pelo seu peso: sortear uma posição respeita a proporção
+    private static Cenario[] sorteio(String pesos) {
+        Map<Cenario, Integer> porCenario = new EnumMap<>(Cenario.class);
+        for (Cenario c : Cenario.values()) {
+            porCenario.put(c, c.pesoPadrao);
+        }
+        if (!pesos.isBlank()) {
+            porCenario.replaceAll((c, p) -> 0);
+            for (String par : pesos.split(",")) {
+                String[] kv = par.split("=");
+                porCenario.put(Cenario.porChave(kv[0]), Integer.parseInt(kv[1].trim()));
+            }
+        }
+        List<Cenario> tabela = new ArrayList<>();
+        porCenario.forEach((c, peso) -> tabela.addAll(Collections.nCopies(peso, c)));
+        if (tabela.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um cenário com peso maior que zero.");
+        }
+        return tabela.toArray(Cenario[]::new);
+    }
+
+    void executar() throws Exception {
+        int clientes = opcoes.inteiro("clientes", 32);
+        int taxa = opcoes.inteiro("taxa", 0);
+        Duration duracao = Duration.parse(opcoes.texto("duracao", "PT60S"));
+        Duration aquecimento = Duration.parse(opcoes.texto("aquecimento", "PT15S"));
+
+        cadastrarMassa(opcoes.inteiro("tutores", 200), Math.max(opcoes.inteiro("pets", 2000), clientes * 4));
+
+        System.out.printf("Carga: %d clientes, %s, aquecimento %s, %s, contra %s%n", clientes, duracao, aquecimento,
+                taxa > 0 ? taxa + " req/s" : "sem limite de taxa", url);
+
+        ExecutorService executor = Executors.newFixedThreadPool(clientes);
+        ScheduledExecutorService relogio = Executors.newSingleThreadScheduledExecutor();
+        long inicio = System.nanoTime();
+        long periodo = taxa > 0 ? TimeUnit.SECONDS.toNanos(1) * clientes / taxa : 0;
+        for (int i = 0; i < clientes; i++) {
+            long primeiro = inicio + (periodo * i / clientes); // espalha os clientes dentro do período
+            executor.execute(() -> cliente(primeiro, periodo));
+        }
+
+        relogio.schedule(() -> {
+            estatisticas.values().forEach(Estatisticas::zerar);
+            medindo = true;
+        }, aquecimento.toNanos(), TimeUnit.NANOSECONDS);
+        relogio.scheduleAtFixedRate(() -> relatorioIntervalo(inicio),
+                INTERVALO_RELATORIO.toNanos(), INTERVALO_RELATORIO.toNanos(), TimeUnit.NANOSECONDS);
+
+        Thread.sleep(aquecimento.plus(duracao).toMillis());
+        parar = true;
+        double segundos = (System.nanoTime() - inicio - aquecimento.toNanos()) / 1e9;
+        relogio.shutdownNow();
+        relogio.awaitTermination(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        estatisticas.values().forEach(e -> e.drenar(true));
+        relatorioFinal(segundos);
+    }
+
+    // ==========================
+    // Massa de dados
+    // ==========================
+
+    private void cadastrarMassa(int quantidadeTutores, int quantidadePets) throws IOException, InterruptedException {
+        // tutor no formato do "Criar Tutor" da coleção, com e-mail único por execução
+        JsonNode exemploTutor = mapper.readTree(colecao.requisicao("Criar Tutor").corpo());
+        String execucao = Long.toString(System.currentTimeMillis(), 36);
+
+        List<Long> idsTutores = new ArrayList<>();
+        for (int inicio = 0; inicio < quantidadeTutores; inicio += LOTE) {
+            ArrayNode lote = mapper.createArrayNode();
+            for (int i = inicio; i < Math.min(inicio + LOTE, quantidadeTutores); i++) {
+                ObjectNode t = exemploTutor.deepCopy();
+                t.put("nome", "Tutor carga " + i);
+                t.put("email", "carga-" + execucao + "-" + i + "@petcare.test");
+                lote.add(t);
+            }
+            idsTutores.addAll(criadosEmLote("/tutores/batch", lote));
+        }
+
+        List<Long> idsPets = new ArrayList<>();
+        String hoje = LocalDate.now().toString();
+        for (int inicio = 0; inicio < quantidadePets; inicio += LOTE) {
+            ArrayNode lote = mapper.createArrayNode();
+            for (int i = inicio; i < Math.min(inicio + LOTE, quantidadePets); i++) {
+                lote.addObject()
+                        .put("nome", "Pet carga " + i)
+                        .put("especie", i % 2 == 0 ? "Cachorro" : "Gato")
+                        .put("raca", "SRD")
+                        .put("idade", i % 15)
+                        .put("status", "DISPONIVEL")
+                        .put("dataEntrada", hoje);
+            }
+            idsPets.addAll(criadosEmLote("/pets/batch", lote));
+        }
+
+        if (idsTutores.isEmpty() || idsPets.isEmpty()) {
+            throw new IllegalStateException("Não foi possível cadastrar a massa de dados (tutores: "
+                    + idsTutores.size() + ", pets: " + idsPets.size() + ").");
+        }
+        tutores = idsTutores.stream().mapToLong(Long::longValue).toArray();
+        pets = idsPets.stream().mapToLong(Long::longValue).toArray();
+        Collections.shuffle(idsPets);
+        disponiveis.addAll(idsPets);
+        System.out.printf("Massa: %d tutores, %d pets%n", tutores.length, pets.length);
+    }
+
+    private List<Long> criadosEmLote(String caminho, ArrayNode lote) throws IOException, InterruptedException {
+        HttpResponse<String> resposta = http.send(requisicao("POST", caminho, mapper.writeValueAsString(lote)),
+                HttpResponse.BodyHandlers.ofString());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("POST " + caminho + " respondeu " + resposta.statusCode() + ": "
+                    + resposta.body());
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode resultado : mapper.readTree(resposta.body())) {
+            if ("CRIADO".equals(resultado.path("status").asText())) {
+                ids.add(resultado.path("id").asLong());
+            }
+        }
+        return ids;
+    }
+
+    // ==========================
+    // Clientes
+    // ==========================
+
+    private void cliente(long primeiro, long periodo) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        long proximo = primeiro;
+        while (!parar) {
+            long partida;
+            if (periodo > 0) {
+                long espera = proximo - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                partida = proximo;
+                proximo += periodo;
+            } else {
+                partida = System.nanoTime();
+            }
+            executar(sorteio[rnd.nextInt(sorteio.length)], rnd, partida);
+        }
+    }
+
+    private void executar(Cenario cenario, ThreadLocalRandom rnd, long partida) {
+        switch (cenario) {
+            case ADOTAR -> {
+                Long pet = disponiveis.pollFirst();
+                if (pet == null) {
+                    executar(adotados.isEmpty() ? Cenario.DISPONIVEIS : Cenario.DEVOLVER, rnd, partida);
+                    return;
+                }
+                long tutor = tutores[rnd.nextInt(tutores.length)];
+                boolean ok = chamar(cenario, Map.of("pet", pet, "tutor", tutor), partida);
+                (ok ? adotados : disponiveis).offerLast(pet);
+            }
+            case DEVOLVER -> {
+                Long pet = adotados.pollFirst();
+                if (pet == null) {
+                    executar(disponiveis.isEmpty() ? Cenario.DISPONIVEIS : Cenario.ADOTAR, rnd, partida);
+                    return;
+                }
+                boolean ok = chamar(cenario, Map.of("pet", pet), partida);
+                (ok ? disponiveis : adotados).offerLast(pet);
+            }
+            case CUIDADO -> chamar(cenario, Map.of(
+                    "pet", pets[rnd.nextInt(pets.length)],
+                    "data", LocalDate.now().minusDays(rnd.nextInt(30))), partida);
+            case DISPONIVEIS -> chamar(cenario, Map.of(), partida);
+        }
+    }
+
+    // true quando a resposta é 2xx
+    private boolean chamar(Cenario cenario, Map<String, ?> valores, long partida) {
+        ColecaoPostman.Modelo modelo = modelos.get(cenario);
+        int status;
+        try {
+            HttpResponse<Void> resposta = http.send(
+                    requisicao(modelo.metodo(), modelo.caminho(valores), modelo.corpo(valores)),
+                    HttpResponse.BodyHandlers.discarding());
+            status = resposta.statusCode();
+        } catch (IOException e) {
+            status = -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            parar = true;
+            return false;
+        }
+        estatisticas.get(cenario).registrar(System.nanoTime() - partida, status);
+        return status >= 200 && status < 300;
+    }
+
+    private HttpRequest requisicao(String metodo, String caminho, String corpo) {
+        return HttpRequest.newBuilder(URI.create(url + caminho))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(metodo, corpo == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(corpo))
+                .build();
+    }
+
+    // ==========================
+    // Relatório
+    // ==========================
+
+    private void relatorioIntervalo(long inicio) {
+        long requisicoes = 0;
+        double p99 = 0;
+        for (Estatisticas e : estatisticas.values()) {
+            Histogram h = e.drenar(medindo);
+            requisicoes += h.getTotalCount();
+            p99 = Math.max(p99, ms(h.getValueAtPercentile(99)));
+        }
+        System.out.printf(Locale.ROOT, "[%5ds] %8.1f req/s   maior p99 %8.2f ms%s%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio),
+                requisicoes / (double) INTERVALO_RELATORIO.toSeconds(), p99, medindo ? "" : "   (aquecimento)");
+    }
+
+    private void relatorioFinal(double segundos) throws IOException {
+        String saida = opcoes.texto("saida", "");
+        Path pasta = saida.isBlank() ? null : Files.createDirectories(Path.of(saida));
+
+        System.out.println();
+        System.out.printf(Locale.ROOT, "Medição: %.1f s%n", segundos);
+        String formato = "%-40s %9s %9s %9s %9s %9s %9s %7s %7s%n";
+        System.out.printf(Locale.ROOT, formato,
+                "endpoint", "req", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "4xx", "erros");
+
+        Histogram geral = new Histogram(3);
+        long recusadas = 0;
+        long erros = 0;
+        for (Map.Entry<Cenario, Estatisticas> entrada : estatisticas.entrySet()) {
+            Estatisticas e = entrada.getValue();
+            Histogram h = e.total();
+            geral.add(h);
+            recusadas += e.recusadas();
+            erros += e.erros();
+            linha(formato, e.rotulo, h, segundos, e.recusadas(), e.erros());
+            if (pasta != null) {
+                try (PrintStream out = new PrintStream(
+                        Files.newOutputStream(pasta.resolve(entrada.getKey().chave + ".hgrm")))) {
+                    h.outputPercentileDistribution(out, 1_000_000.0); // em ms
+                }
+            }
+        }
+        linha(formato, "total", geral, segundos, recusadas, erros);
+        if (pasta != null) {
+            System.out.println("Distribuições (.hgrm, em ms) em " + pasta.toAbsolutePath());
+        }
+    }
+
+    private static void linha(String formato, String rotulo, Histogram h, double segundos, long recusadas, long erros) {
+        System.out.printf(Locale.ROOT, formato, rotulo,
+                h.getTotalCount(),
+                String.format(Locale.ROOT, "%.1f", h.getTotalCount() / segundos),
+                String.format(Locale.ROOT, "%.2f", ms(h.getValueAtPercentile(50))),
+                String.format(Locale.ROOT, "%.2f", ms(h.getValueAtPercentile(99))),
+                String.format(Locale.ROOT, "%.2f", ms(h.getValueAtPercentile(99.9))),
+                String.format(Locale.ROOT, "%.2f", ms(h.getMaxValue())),
+                recusadas, erros);
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
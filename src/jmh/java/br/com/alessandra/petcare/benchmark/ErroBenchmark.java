@@ -0,0 +1,83 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.exception.ApiErrorResponse;
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.exception.GlobalExceptionHandler;
+import br.com.alessandra.petcare.exception.NotFoundException;
+import br.com.alessandra.petcare.model.Pet;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Respostas de erro do GlobalExceptionHandler: montar o ApiErrorResponse (400/404 e validação com erros
+ * por campo) e escrever o JSON, que é o que uma requisição recusada custa além da própria regra.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ErroBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest requisicao;
+    private ObjectWriter writer;
+
+    private BusinessException negocio;
+    private NotFoundException naoEncontrado;
+    private MethodArgumentNotValidException validacao;
+
+    @Setup
+    public void preparar() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        requisicao = new MockHttpServletRequest("POST", "/pets");
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        negocio = new BusinessException("Não é permitido criar pet como ADOTADO. Use o endpoint de adoção.");
+        naoEncontrado = new NotFoundException("Pet não encontrado com id: 42");
+
+        BeanPropertyBindingResult erros = new BeanPropertyBindingResult(new Pet(), "pet");
+        erros.addError(new FieldError("pet", "nome", "O nome do pet é obrigatório"));
+        erros.addError(new FieldError("pet", "especie", "A espécie é obrigatória"));
+        erros.addError(new FieldError("pet", "dataEntrada", "A data de entrada é obrigatória"));
+        MethodParameter parametro = new MethodParameter(
+                ErroBenchmark.class.getDeclaredMethod("alvo", Pet.class), 0);
+        validacao = new MethodArgumentNotValidException(parametro, erros);
+    }
+
+    // só para o MethodParameter da exceção de validação
+    @SuppressWarnings("unused")
+    private void alvo(Pet pet) {
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> negocio() {
+        return handler.handleBusiness(negocio, requisicao);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> naoEncontrado() {
+        return handler.handleNotFound(naoEncontrado, requisicao);
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiErrorResponse> validacao() {
+        return handler.handleValidation(validacao, requisicao);
+    }
+
+    @Benchmark
+    public byte[] validacaoComJson() throws JsonProcessingException {
+        return writer.writeValueAsBytes(handler.handleValidation(validacao, requisicao).getBody());
+    }
+}
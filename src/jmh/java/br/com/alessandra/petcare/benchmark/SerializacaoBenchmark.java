@@ -0,0 +1,130 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.model.Adocao;
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON das respostas de listagem (o que o Jackson do Spring MVC escreve): páginas de pets com tutor,
+ * cuidados com pet e adoções com pet e tutor, em listas de 100 e 10 mil itens.
+ * Escreve num stream descartável para medir só a serialização (sem o crescimento de um buffer).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacaoBenchmark {
+
+    @Param({"100", "10000"})
+    public int tamanho;
+
+    // não usa OutputStream.nullOutputStream(): o Jackson fecha o destino e aquele passa a recusar escrita
+    private final OutputStream descarte = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private ObjectWriter writer;
+    private PaginaCursor<Pet> pets;
+    private List<Cuidado> cuidados;
+    private List<Adocao> adocoes;
+
+    @Setup
+    public void preparar() {
+        // mesma base do ObjectMapper do Spring Boot (JavaTimeModule, datas ISO)
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+
+        List<Tutor> tutores = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, tamanho / 10); i++) {
+            Tutor t = new Tutor();
+            t.setId((long) i + 1);
+            t.setNome("Tutor " + i);
+            t.setEmail("tutor" + i + "@email.com");
+            t.setTelefone("99999-" + String.format("%04d", i % 10_000));
+            t.setEndereco("Rua " + i + ", " + (i * 7 % 500));
+            tutores.add(t);
+        }
+
+        List<Pet> listaPets = new ArrayList<>(tamanho);
+        cuidados = new ArrayList<>(tamanho);
+        adocoes = new ArrayList<>(tamanho);
+        LocalDate hoje = LocalDate.now();
+        TipoCuidado[] tipos = TipoCuidado.values();
+        for (int i = 0; i < tamanho; i++) {
+            boolean adotado = i % 3 == 0;
+            Tutor tutor = tutores.get(i % tutores.size());
+
+            Pet p = new Pet();
+            p.setId((long) i + 1);
+            p.setNome("Pet " + i);
+            p.setEspecie(i % 2 == 0 ? "Cachorro" : "Gato");
+            p.setRaca("SRD");
+            p.setIdade(i % 15);
+            p.setStatus(adotado ? StatusPet.ADOTADO : StatusPet.DISPONIVEL);
+            p.setDataEntrada(hoje.minusDays(i % 365));
+            p.setVersao((long) (i % 4));
+            p.setTutor(adotado ? tutor : null);
+            listaPets.add(p);
+
+            Cuidado c = new Cuidado();
+            c.setId((long) i + 1);
+            c.setTipo(tipos[i % tipos.length]);
+            c.setDescricao(i % 2 == 0 ? null : "Aplicação de rotina");
+            c.setData(hoje.minusDays(i % 90));
+            c.setCusto(new BigDecimal(50 + i % 200).setScale(2));
+            c.setPet(p);
+            cuidados.add(c);
+
+            Adocao a = new Adocao();
+            a.setId((long) i + 1);
+            a.setPet(p);
+            a.setTutor(tutor);
+            a.setDataAdocao(hoje.minusDays(i % 180));
+            a.setStatus(adotado ? StatusAdocao.ATIVA : StatusAdocao.ENCERRADA);
+            a.setDataDevolucao(adotado ? null : hoje.minusDays(i % 30));
+            a.setVersao(0L);
+            adocoes.add(a);
+        }
+        pets = new PaginaCursor<>(listaPets, String.valueOf(tamanho));
+    }
+
+    @Benchmark
+    public void paginaDePets() throws IOException {
+        writer.writeValue(descarte, pets);
+    }
+
+    @Benchmark
+    public void cuidados() throws IOException {
+        writer.writeValue(descarte, cuidados);
+    }
+
+    @Benchmark
+    public void adocoes() throws IOException {
+        writer.writeValue(descarte, adocoes);
+    }
+}
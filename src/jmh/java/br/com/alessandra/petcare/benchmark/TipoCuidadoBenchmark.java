@@ -0,0 +1,111 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TipoCuidado.from: resolver antigo (NFD + regex + exceção para desconhecido) contra a tabela pré-calculada.
+ *
+ * Entradas parecidas com as do front: nomes canônicos, minúsculas, aliases com acento/espaço e alguns inválidos.
+ * Rodar com o perfil jmh (com -prof gc para ver alocação por operação):
+ * <pre>
+ * mvn -Pjmh test-compile exec:exec -Djmh.args="TipoCuidadoBenchmark -prof gc"
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TipoCuidadoBenchmark {
+
+    @Param({"canonico", "minusculo", "alias", "invalido"})
+    public String entrada;
+
+    private String[] valores;
+    private int proximo;
+
+    @Setup
+    public void preparar() {
+        valores = switch (entrada) {
+            case "canonico" -> new String[]{"BANHO", "TOSA", "VACINA", "CONSULTA", "MEDICACAO", "VERMIFUGO"};
+            case "minusculo" -> new String[]{"banho", "tosa", "vacina", "consulta", "medicamento", "vermifugo"};
+            case "alias" -> new String[]{"Remédio", "vermifugação", "Consulta Veterinária", "banho e tosa",
+                    "tosa-higiênica", " Vacina "};
+            case "invalido" -> new String[]{"hidroterapia", "massagem", "spa", "acupuntura", "x", "??"};
+            default -> throw new IllegalArgumentException(entrada);
+        };
+    }
+
+    private String valor() {
+        String v = valores[proximo];
+        proximo = (proximo + 1) % valores.length;
+        return v;
+    }
+
+    @Benchmark
+    public void antigo(Blackhole bh) {
+        try {
+            bh.consume(fromAntigo(valor()));
+        } catch (IllegalArgumentException e) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public void tabela(Blackhole bh) {
+        bh.consume(TipoCuidado.resolver(valor()));
+    }
+
+    // ==========================
+    // Implementação anterior (cópia para comparação)
+    // ==========================
+
+    static TipoCuidado fromAntigo(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Tipo de cuidado inválido.");
+        }
+        String v = normalizeAntigo(value);
+        switch (v) {
+            case "MEDICAMENTO":
+            case "REMEDIO":
+                return TipoCuidado.MEDICACAO;
+            case "VERMIFUGACAO":
+            case "VERMIFUGA":
+                return TipoCuidado.VERMIFUGO;
+            case "VETERINARIO":
+            case "VETERINARIA":
+            case "CONSULTA_VET":
+            case "CONSULTA_VETERINARIA":
+                return TipoCuidado.CONSULTA;
+            case "BANHO_E_TOSA":
+            case "BANHO_TOSA":
+            case "BANHO+TOSA":
+                return TipoCuidado.OUTRO;
+            case "TOSA_HIGIENICA":
+            case "TOSA_HIGIENICA_COMPLETA":
+                return TipoCuidado.TOSA;
+            default:
+                try {
+                    return TipoCuidado.valueOf(v);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Tipo de cuidado inválido: " + value);
+                }
+        }
+    }
+
+    private static String normalizeAntigo(String value) {
+        String v = value.trim();
+        v = Normalizer.normalize(v, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        return v.toUpperCase(Locale.ROOT)
+                .replace('-', '_')
+                .replace(' ', '_')
+                .replaceAll("_+", "_");
+    }
+}
@@ -0,0 +1,104 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validação de entidades por item: Bean Validation de Pet/Cuidado/Tutor e as regras dos services
+ * (ValidacaoItem + PetService.validarNovoPet, usados no POST /pets/batch; CuidadoService.validarENormalizar).
+ *
+ * Fica no pacote dos services (fonte em src/jmh) para chamar as regras package-private como o service chama,
+ * sem reflexão e sem montar services sem repositórios.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidacaoBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+
+    private ValidacaoItem validacaoItem;
+
+    private Pet pet;
+    private Tutor tutor;
+
+    @Setup
+    public void preparar() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+
+        validacaoItem = new ValidacaoItem(validator);
+
+        pet = new Pet();
+        pet.setNome("Mel");
+        pet.setEspecie("Gato");
+        pet.setRaca("SRD");
+        pet.setIdade(3);
+        pet.setStatus(StatusPet.DISPONIVEL);
+        pet.setDataEntrada(LocalDate.now().minusDays(10));
+
+        tutor = new Tutor();
+        tutor.setNome("Ana Souza");
+        tutor.setEmail("ana@email.com");
+        tutor.setTelefone("99999-9999");
+    }
+
+    @TearDown
+    public void encerrar() {
+        fabrica.close();
+    }
+
+    // validarENormalizar mexe na descrição: um cuidado novo por chamada, como numa requisição
+    private static Cuidado cuidado() {
+        Cuidado c = new Cuidado();
+        c.setTipo(TipoCuidado.VACINA);
+        c.setDescricao("  V10 anual  ");
+        c.setData(LocalDate.now().minusDays(1));
+        c.setCusto(new BigDecimal("120.00"));
+        return c;
+    }
+
+    @Benchmark
+    public void beanValidationPet(Blackhole bh) {
+        bh.consume(validator.validate(pet));
+    }
+
+    @Benchmark
+    public void beanValidationTutor(Blackhole bh) {
+        bh.consume(validator.validate(tutor));
+    }
+
+    @Benchmark
+    public void beanValidationCuidado(Blackhole bh) {
+        bh.consume(validator.validate(cuidado()));
+    }
+
+    @Benchmark
+    public void petServiceLoteItem() {
+        validacaoItem.validar(pet, "Pet");
+        PetService.validarNovoPet(pet);
+    }
+
+    @Benchmark
+    public Cuidado cuidadoServiceValidarENormalizar() {
+        Cuidado c = cuidado();
+        CuidadoService.validarENormalizar(c);
+        return c;
+    }
+}
@@ -0,0 +1,268 @@
+package br.com.alessandra.petcare.cache;
+
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.roteamento.LeituraNoPrimario;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Índice em memória dos pets DISPONIVEL, ordenado por id, que atende o GET /pets/disponiveis
+ * (mesma paginação por cursor da consulta no banco).
+ *
+ * Atualizado depois do commit de cada alteração de pet com o estado que vem no próprio
+ * {@link PetAlteradoEvent} (sem consulta nem conexão extra na requisição que alterou) e reconstruído
+ * por inteiro na subida e periodicamente. Os listeners AFTER_COMMIT de requisições concorrentes não
+ * rodam na ordem dos commits: evento com versão menor ou igual à que o índice já conhece do pet é ignorado.
+ * Quando não dá para confiar no conteúdo (ainda não carregado ou acima do limite de itens) o índice sai
+ * do ar e as leituras voltam para o banco; a reconstrução periódica tenta de novo e o põe de volta no ar
+ * quando a carga couber no limite.
+ *
+ * Métricas: petcare_cache_disponiveis_consultas_total{resultado="acerto"|"falta"},
+ * petcare_cache_disponiveis_itens (0 fora do ar) e petcare_cache_disponiveis_ativo (1 no ar, 0 fora).
+ */
+@Component
+public class DisponibilidadeIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DisponibilidadeIndex.class);
+
+    private final PetRepository petRepository;
+    private final int maxItens;
+
+    // null = fora do ar (as leituras vão ao banco)
+    private volatile Indice disponiveis;
+
+    // escritas no índice passam pela trava; alterações que chegam durante uma reconstrução são
+    // reaplicadas, na ordem, no índice novo antes de ele entrar no ar
+    private final Object trava = new Object();
+    private boolean reconstruindo;
+    private final List<PetAlteradoEvent> alteradosDuranteReconstrucao = new ArrayList<>();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder faltas = new LongAdder();
+
+    public DisponibilidadeIndex(PetRepository petRepository, MeterRegistry registry,
+                                @Value("${petcare.cache.disponiveis.max-itens:10000}") int maxItens) {
+        this.petRepository = petRepository;
+        this.maxItens = maxItens;
+
+        FunctionCounter.builder("petcare.cache.disponiveis.consultas", acertos, LongAdder::sum)
+                .description("Páginas de GET /pets/disponiveis servidas pelo índice (acerto) ou pelo banco (falta)")
+                .tag("resultado", "acerto")
+                .register(registry);
+        FunctionCounter.builder("petcare.cache.disponiveis.consultas", faltas, LongAdder::sum)
+                .description("Páginas de GET /pets/disponiveis servidas pelo índice (acerto) ou pelo banco (falta)")
+                .tag("resultado", "falta")
+                .register(registry);
+        Gauge.builder("petcare.cache.disponiveis.itens", this, DisponibilidadeIndex::tamanho)
+                .description("Pets no índice de disponíveis (0 fora do ar)")
+                .register(registry);
+        Gauge.builder("petcare.cache.disponiveis.ativo", this, index -> index.noAr() ? 1 : 0)
+                .description("1 quando o índice de disponíveis está no ar, 0 quando as leituras vão ao banco")
+                .register(registry);
+    }
+
+    // Página a partir do índice; vazio quando o índice está fora do ar (quem chamou consulta o banco)
+    public Optional<PaginaCursor<Pet>> pagina(long after, int limite) {
+        Indice atual = disponiveis;
+        if (atual == null) {
+            faltas.increment();
+            return Optional.empty();
+        }
+        List<Pet> linhas = new ArrayList<>(limite + 1);
+        for (Pet pet : atual.pets.tailMap(after, false).values()) {
+            linhas.add(pet);
+            if (linhas.size() > limite) {
+                break;
+            }
+        }
+        acertos.increment();
+        return Optional.of(PaginaCursor.of(linhas, limite, Pet::getId));
+    }
+
+    // Depois do commit (ou na hora, se a alteração rodou sem transação): só memória, nada de banco
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarPet(PetAlteradoEvent evento) {
+        synchronized (trava) {
+            if (reconstruindo) {
+                alteradosDuranteReconstrucao.add(evento);
+            }
+            aplicar(evento, disponiveis);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        reconstruir();
+    }
+
+    // Reconstrução completa: também corrige qualquer divergência que tenha escapado dos eventos
+    // e, fora do ar (acima do limite ou falha na carga), é a nova tentativa de voltar
+    @Scheduled(
+            fixedDelayString = "${petcare.cache.disponiveis.reconstruir-a-cada:PT10M}",
+            initialDelayString = "${petcare.cache.disponiveis.reconstruir-a-cada:PT10M}"
+    )
+    public void reconstruir() {
+        synchronized (trava) {
+            if (reconstruindo) {
+                return;
+            }
+            reconstruindo = true;
+            alteradosDuranteReconstrucao.clear();
+        }
+
+        long inicio = System.nanoTime();
+        Indice novo = null;
+        try {
+            // do primário: as consultas do repositório são readOnly e, com réplica, leriam um estado atrasado
+            // que ficaria no índice até a próxima reconstrução (os eventos já aplicados não voltam)
+            novo = LeituraNoPrimario.executar(this::carregar);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao reconstruir o índice de pets disponíveis; leituras vão ao banco", e);
+        }
+
+        boolean noAr;
+        boolean voltou;
+        synchronized (trava) {
+            Indice anterior = disponiveis;
+            if (novo != null && anterior != null) {
+                novo.removidosAntes = anterior.removidos;
+            }
+            for (PetAlteradoEvent evento : alteradosDuranteReconstrucao) {
+                aplicar(evento, novo);
+            }
+            alteradosDuranteReconstrucao.clear();
+            reconstruindo = false;
+            noAr = novo != null && novo.pets.size() <= maxItens;
+            voltou = noAr && anterior == null;
+            disponiveis = noAr ? novo : null;
+        }
+
+        if (noAr) {
+            log.info("Índice de pets disponíveis {}: {} pets em {} ms (acertos={}, faltas={})",
+                    voltou ? "no ar" : "reconstruído", novo.pets.size(),
+                    (System.nanoTime() - inicio) / 1_000_000, acertos.sum(), faltas.sum());
+        }
+    }
+
+    // null quando há mais disponíveis que o limite (o índice fica fora do ar até a próxima reconstrução)
+    private Indice carregar() {
+        long total = petRepository.countByStatus(StatusPet.DISPONIVEL);
+        if (total > maxItens) {
+            log.warn("Índice de pets disponíveis fora do ar: {} pets acima do limite de {}", total, maxItens);
+            return null;
+        }
+        Indice novo = new Indice();
+        for (Pet pet : petRepository.findByStatus(StatusPet.DISPONIVEL)) {
+            novo.pets.put(pet.getId(), copia(pet));
+        }
+        return novo;
+    }
+
+    // chamado com a trava; o estado do pet é lido agora, depois do commit (versão já incrementada)
+    private void aplicar(PetAlteradoEvent evento, Indice indice) {
+        if (indice == null) {
+            return; // fora do ar: a próxima reconstrução lê tudo
+        }
+        for (Pet pet : evento.pets()) {
+            if (pet.getVersao() != null && pet.getVersao() <= indice.versaoConhecida(pet.getId())) {
+                continue; // commit mais antigo que chegou depois: o índice já tem um estado mais novo
+            }
+            if (!pet.isExcluido() && pet.getStatus() == StatusPet.DISPONIVEL) {
+                indice.colocar(copia(pet));
+            } else {
+                indice.tirar(pet.getId(), pet.getVersao()); // adotado
+            }
+        }
+        for (Long id : evento.excluidos()) {
+            indice.tirar(id, Long.MAX_VALUE); // marcado para purga: nenhum evento traz de volta
+        }
+        if (indice == disponiveis && indice.pets.size() > maxItens) {
+            log.warn("Índice de pets disponíveis fora do ar até a próxima reconstrução: passou do limite de {} pets",
+                    maxItens);
+            disponiveis = null;
+        }
+    }
+
+    // cópia desligada do contexto de persistência (só os campos serializados de um pet disponível)
+    private static Pet copia(Pet pet) {
+        Pet copia = new Pet();
+        copia.setId(pet.getId());
+        copia.setNome(pet.getNome());
+        copia.setEspecie(pet.getEspecie());
+        copia.setRaca(pet.getRaca());
+        copia.setIdade(pet.getIdade());
+        copia.setStatus(pet.getStatus());
+        copia.setDataEntrada(pet.getDataEntrada());
+        copia.setVersao(pet.getVersao());
+        return copia;
+    }
+
+    public boolean noAr() {
+        return disponiveis != null;
+    }
+
+    public int tamanho() {
+        Indice atual = disponiveis;
+        return atual == null ? 0 : atual.pets.size();
+    }
+
+    public long acertos() {
+        return acertos.sum();
+    }
+
+    public long faltas() {
+        return faltas.sum();
+    }
+
+    // Uma geração do índice (de uma reconstrução até a próxima). Os mapas de versão só são usados com a trava.
+    private static final class Indice {
+
+        private final ConcurrentSkipListMap<Long, Pet> pets = new ConcurrentSkipListMap<>();
+
+        // versão com que cada pet saiu do índice: sem ela, a edição atrasada de um pet já adotado o traria de volta
+        private final Map<Long, Long> removidos = new HashMap<>();
+
+        // os da geração anterior, para evento atrasado que cruza a reconstrução (descartados na seguinte)
+        private Map<Long, Long> removidosAntes = Map.of();
+
+        private long versaoConhecida(Long id) {
+            Pet atual = pets.get(id);
+            long versao = atual != null && atual.getVersao() != null ? atual.getVersao() : -1L;
+            versao = Math.max(versao, removidos.getOrDefault(id, -1L));
+            return Math.max(versao, removidosAntes.getOrDefault(id, -1L));
+        }
+
+        private void colocar(Pet pet) {
+            pets.put(pet.getId(), pet);
+            removidos.remove(pet.getId());
+        }
+
+        private void tirar(Long id, Long versao) {
+            pets.remove(id);
+            if (versao != null) {
+                removidos.merge(id, versao, Math::max);
+            }
+        }
+    }
+}
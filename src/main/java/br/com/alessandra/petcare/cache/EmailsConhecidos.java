@@ -0,0 +1,92 @@
+package br.com.alessandra.petcare.cache;
+
+import br.com.alessandra.petcare.repository.TutorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * E-mails de tutores já cadastrados, num {@link FiltroBloom} (em minúsculas).
+ * Usado no cadastro em lote: e-mail que o filtro diz que "com certeza não existe" dispensa a consulta ao banco.
+ * O índice único em lower(email) continua sendo a garantia; o filtro só evita idas ao banco.
+ *
+ * Carregado na subida. Enquanto não carrega, responde "talvez" para tudo (todo e-mail vai ao banco).
+ * E-mails trocados/removidos continuam no filtro até a próxima subida: só geram uma consulta a mais.
+ */
+@Component
+public class EmailsConhecidos {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailsConhecidos.class);
+
+    private final TutorRepository tutorRepository;
+    private final long capacidade;
+    private final double taxaFalsoPositivo;
+
+    private volatile FiltroBloom filtro;   // null enquanto não carregou
+    private volatile FiltroBloom emCarga;  // recebe os cadastros feitos durante a carga
+
+    public EmailsConhecidos(TutorRepository tutorRepository,
+                            @Value("${petcare.tutores.bloom.capacidade:1000000}") long capacidade,
+                            @Value("${petcare.tutores.bloom.taxa-falso-positivo:0.01}") double taxaFalsoPositivo) {
+        this.tutorRepository = tutorRepository;
+        this.capacidade = capacidade;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+    }
+
+    // Transação de escrita de propósito: com réplica (ReplicaConfig) readOnly iria para ela, e um e-mail
+    // cadastrado que ainda não chegou lá ficaria fora do filtro ("com certeza não existe") até a próxima subida
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void carregar() {
+        long inicio = System.nanoTime();
+        FiltroBloom novo = new FiltroBloom(capacidade, taxaFalsoPositivo);
+        emCarga = novo;
+        long total = 0;
+        try (Stream<String> emails = tutorRepository.streamEmails()) {
+            Iterator<String> iterator = emails.iterator();
+            while (iterator.hasNext()) {
+                novo.adicionar(chave(iterator.next()));
+                total++;
+            }
+        } finally {
+            emCarga = null;
+        }
+        filtro = novo;
+        log.info("Filtro de e-mails de tutores carregado: {} e-mails, {} KB, em {} ms",
+                total, novo.numeroBits() / 8 / 1024, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public void adicionar(String email) {
+        if (email == null) {
+            return;
+        }
+        String chave = chave(email);
+        FiltroBloom atual = filtro;
+        if (atual != null) {
+            atual.adicionar(chave);
+        }
+        FiltroBloom carregando = emCarga;
+        if (carregando != null) {
+            carregando.adicionar(chave);
+        }
+    }
+
+    // false = com certeza não tem tutor com esse e-mail; true = precisa conferir no banco
+    public boolean talvezExista(String email) {
+        FiltroBloom atual = filtro;
+        return atual == null || atual.talvezContenha(chave(email));
+    }
+
+    // mesma regra do índice único: lower(email)
+    private static String chave(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.alessandra.petcare.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom para strings: responde "com certeza não está" ou "talvez esteja".
+ * Nunca tem falso negativo; a taxa de falso positivo é a pedida no construtor enquanto a
+ * quantidade de itens não passar da capacidade. Não remove itens. Seguro para uso concorrente.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+
+    public FiltroBloom(long capacidade, double taxaFalsoPositivo) {
+        if (capacidade < 1 || taxaFalsoPositivo <= 0 || taxaFalsoPositivo >= 1) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva e taxa entre 0 e 1.");
+        }
+        // dimensionamento clássico: m = -n ln(p) / ln(2)^2, k = m/n ln(2)
+        long m = (long) Math.ceil(-capacidade * Math.log(taxaFalsoPositivo) / (Math.log(2) * Math.log(2)));
+        this.numeroBits = Math.max(64, m);
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidade * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((numeroBits + 63) / 64));
+    }
+
+    public void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1);
+        for (int i = 0; i < numeroHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numeroBits);
+            int palavra = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual;
+            do {
+                atual = bits.get(palavra);
+                if ((atual & mascara) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(palavra, atual, atual | mascara));
+        }
+    }
+
+    public boolean talvezContenha(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1);
+        for (int i = 0; i < numeroHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numeroBits);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long numeroBits() {
+        return numeroBits;
+    }
+
+    public int numeroHashes() {
+        return numeroHashes;
+    }
+
+    // FNV-1a de 64 bits sobre os chars; o segundo hash sai da mistura do primeiro (Kirsch-Mitzenmacher)
+    private static long hash(String valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return misturar(h);
+    }
+
+    // finalizador do MurmurHash3 (espalha os bits)
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h | 1; // nunca zero: h1 + i * h2 muda a cada i
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.alessandra.petcare.cache;
+
+import br.com.alessandra.petcare.model.Pet;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Publicado pelo PetService quando pets são criados, alterados, adotados, devolvidos ou deletados.
+ * Leva o próprio estado depois da alteração, para quem consome não precisar reler o banco:
+ * {@code pets} são as entidades salvas (lidas só depois do commit, já com a versão final, que ordena
+ * eventos que chegam fora da ordem dos commits) e {@code excluidos} os ids marcados para purga por
+ * UPDATE em massa (não voltam mais).
+ */
+public record PetAlteradoEvent(Collection<Pet> pets, Collection<Long> excluidos) {
+
+    public static PetAlteradoEvent de(Pet pet) {
+        return new PetAlteradoEvent(List.of(pet), List.of());
+    }
+
+    public static PetAlteradoEvent de(Collection<Pet> pets) {
+        return new PetAlteradoEvent(List.copyOf(pets), List.of());
+    }
+
+    public static PetAlteradoEvent excluido(Long id) {
+        return new PetAlteradoEvent(List.of(), List.of(id));
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.alessandra.petcare.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas periódicas (ex: reconstrução do índice de pets disponíveis).
+// Fica fora da classe principal para não ligar o agendamento nos testes de fatia (@WebMvcTest/@DataJpaTest).
+@Configuration
+@EnableScheduling
+public class AgendamentoConfig {
+}
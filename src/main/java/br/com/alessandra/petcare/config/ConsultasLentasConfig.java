@@ -0,0 +1,48 @@
+package br.com.alessandra.petcare.config;
+
+import br.com.alessandra.petcare.metrica.LogDeConsultasLentas;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Log de consultas lentas (perfil prod): embrulha o DataSource com o datasource-proxy, ex:
+//   petcare.sql.lento.habilitado=true
+//   petcare.sql.lento.limite=200ms
+//   petcare.sql.lento.amostra=0.001   (fração das consultas rápidas que também vai pro log)
+// O proxy repassa unwrap(): as métricas do HikariCP continuam achando o pool. Com réplica (ReplicaConfig)
+// embrulha cada pool e pula o roteamento, que só delega (senão cada comando sairia duas vezes).
+@Configuration
+@ConditionalOnProperty(name = "petcare.sql.lento.habilitado", havingValue = "true")
+public class ConsultasLentasConfig {
+
+    // static: BeanPostProcessor precisa existir antes dos beans que ele processa
+    @Bean
+    public static BeanPostProcessor logDeConsultasLentas(Environment environment) {
+        Binder binder = Binder.get(environment);
+        LogDeConsultasLentas listener = new LogDeConsultasLentas(
+                binder.bind("petcare.sql.lento.limite", Duration.class).orElse(Duration.ofMillis(200)),
+                binder.bind("petcare.sql.lento.amostra", Double.class).orElse(0.0));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)
+                        && !(bean instanceof DelegatingDataSource)) {
+                    return ProxyDataSourceBuilder.create(nome, dataSource)
+                            .listener(listener)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.alessandra.petcare.config;
+
+import br.com.alessandra.petcare.metrica.ContadorSql;
+import br.com.alessandra.petcare.metrica.ConvencaoRequisicoesHttp;
+import br.com.alessandra.petcare.metrica.OrcamentoSql;
+import br.com.alessandra.petcare.metrica.SqlPorRequisicaoInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.observation.ServerRequestObservationConvention;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+// Métricas expostas em /actuator/prometheus (latência por handler, SQL por requisição) e orçamento de SQL
+// por handler, ex:
+//   petcare.sql.orcamento.padrao=10
+//   petcare.sql.orcamento.handlers[PetController.listarAdotados]=1
+//   petcare.sql.orcamento.ao-exceder=log (ou falhar)
+// Não implementa WebMvcConfigurer direto: assim o @WebMvcTest não carrega esta configuração.
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorSqlNoHibernate(ContadorSql contadorSql) {
+        return propriedades -> propriedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorSql);
+    }
+
+    @Bean
+    public ServerRequestObservationConvention convencaoRequisicoesHttp() {
+        return new ConvencaoRequisicoesHttp();
+    }
+
+    @Bean
+    public OrcamentoSql orcamentoSql(Environment environment) {
+        Binder binder = Binder.get(environment);
+        return new OrcamentoSql(
+                binder.bind("petcare.sql.orcamento.padrao", Integer.class).orElse(OrcamentoSql.PADRAO),
+                binder.bind("petcare.sql.orcamento.handlers", Bindable.mapOf(String.class, Integer.class))
+                        .orElse(Map.of()),
+                binder.bind("petcare.sql.orcamento.ao-exceder", OrcamentoSql.AoExceder.class)
+                        .orElse(OrcamentoSql.AoExceder.LOG));
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlPorRequisicao(ContadorSql contadorSql, MeterRegistry registry,
+                                             OrcamentoSql orcamentoSql) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(new SqlPorRequisicaoInterceptor(contadorSql, registry, orcamentoSql));
+            }
+        };
+    }
+}
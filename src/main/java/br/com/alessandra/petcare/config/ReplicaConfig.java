@@ -0,0 +1,84 @@
+package br.com.alessandra.petcare.config;
+
+import br.com.alessandra.petcare.roteamento.LeituraNoPrimarioInterceptor;
+import br.com.alessandra.petcare.roteamento.RoteamentoDataSource;
+import br.com.alessandra.petcare.roteamento.RoteamentoJpaDialect;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Leituras (@Transactional(readOnly = true)) numa réplica, escritas no primário. Liga quando a réplica
+// é configurada, ex:
+//   petcare.datasource.replica.jdbc-url=jdbc:postgresql://replica:5432/petcare
+//   petcare.datasource.replica.username=... / password=... / maximum-pool-size=20
+//   petcare.datasource.leitura-do-primario-apos-escrita=5s
+// O primário continua vindo de spring.datasource.* (e spring.datasource.hikari.*).
+// Não implementa WebMvcConfigurer direto: assim o @WebMvcTest não carrega esta configuração.
+@Configuration
+@ConditionalOnProperty(name = "petcare.datasource.replica.jdbc-url")
+public class ReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("petcare.datasource.replica")
+    public HikariDataSource replica() {
+        return new HikariDataSource();
+    }
+
+    // Lazy: a conexão real só é escolhida no primeiro comando, quando a transação já está marcada readOnly
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primario") DataSource primario,
+                                 @Qualifier("replica") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new RoteamentoDataSource(primario, replica));
+    }
+
+    // Leitura da réplica não grava no cache de 2º nível (ver RoteamentoJpaDialect). Antes da inicialização:
+    // sem dialeto próprio a fábrica usaria o do HibernateJpaVendorAdapter, e o JpaTransactionManager pega o dela.
+    // static: BeanPostProcessor precisa existir antes dos beans que ele processa
+    @Bean
+    public static BeanPostProcessor roteamentoJpaDialect() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean fabrica) {
+                    fabrica.setJpaDialect(new RoteamentoJpaDialect());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public WebMvcConfigurer leituraNoPrimario(Environment environment) {
+        Duration janela = Binder.get(environment)
+                .bind("petcare.datasource.leitura-do-primario-apos-escrita", Duration.class)
+                .orElse(Duration.ofSeconds(5));
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry interceptors) {
+                interceptors.addInterceptor(new LeituraNoPrimarioInterceptor(janela));
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package br.com.alessandra.petcare.config;
+
+import br.com.alessandra.petcare.model.AliasesTipoCuidado;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Map;
+
+// Aliases extras de tipo de cuidado vindos da configuração, ex:
+//   petcare.cuidados.aliases[HIDRATACAO]=BANHO
+//   petcare.cuidados.aliases[ANTIPULGAS]=MEDICACAO
+// Somam-se aos aliases padrão do TipoCuidado. Alias ou destino inválido impede a subida.
+// Usados pelo CuidadoService (filtro por tipo) e pelo TipoCuidadoJson (corpo das requisições).
+@Configuration
+public class TipoCuidadoAliasesConfig {
+
+    @Bean
+    public AliasesTipoCuidado aliasesTipoCuidado(Environment environment) {
+        Map<String, String> aliases = Binder.get(environment)
+                .bind("petcare.cuidados.aliases", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        return new AliasesTipoCuidado(aliases);
+    }
+}
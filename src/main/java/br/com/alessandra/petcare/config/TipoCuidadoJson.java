@@ -0,0 +1,28 @@
+package br.com.alessandra.petcare.config;
+
+import br.com.alessandra.petcare.model.AliasesTipoCuidado;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+// "tipo" no JSON resolvido pelos aliases do contexto (no lugar do @JsonCreator do TipoCuidado, que só conhece
+// os padrão). Sem o bean (ex: @WebMvcTest) vale a tabela padrão.
+@JsonComponent
+public class TipoCuidadoJson extends JsonDeserializer<TipoCuidado> {
+
+    private final ObjectProvider<AliasesTipoCuidado> aliases;
+
+    public TipoCuidadoJson(ObjectProvider<AliasesTipoCuidado> aliases) {
+        this.aliases = aliases;
+    }
+
+    @Override
+    public TipoCuidado deserialize(JsonParser parser, DeserializationContext contexto) throws IOException {
+        return aliases.getIfAvailable(() -> AliasesTipoCuidado.PADRAO).from(parser.getValueAsString());
+    }
+}
@@ -1,19 +1,29 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.CustoMensal;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.ApiErrorResponse;
 import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.service.LeituraConsistente;
 import br.com.alessandra.petcare.service.CuidadoService;
+import br.com.alessandra.petcare.service.CustoCuidadoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "Cuidados", description = "Registro e consulta de cuidados (banho, tosa, vacina, etc.)")
 @RestController
@@ -21,9 +31,14 @@ import java.util.List;
 public class CuidadoController {
 
     private final CuidadoService cuidadoService;
+    private final CustoCuidadoService custoCuidadoService;
+    private final LeituraConsistente leituraConsistente;
 
-    public CuidadoController(CuidadoService cuidadoService) {
+    public CuidadoController(CuidadoService cuidadoService, CustoCuidadoService custoCuidadoService,
+                             LeituraConsistente leituraConsistente) {
         this.cuidadoService = cuidadoService;
+        this.custoCuidadoService = custoCuidadoService;
+        this.leituraConsistente = leituraConsistente;
     }
 
     @Operation(summary = "Criar cuidado")
@@ -44,11 +59,88 @@ public class CuidadoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(criado);
     }
 
-    @Operation(summary = "Listar todos os cuidados")
+    @Operation(
+            summary = "Listar todos os cuidados",
+            description = "Mais recente primeiro. Período opcional (de/ate, inclusivo) e paginação por cursor: "
+                    + "repasse o campo next da resposta no parâmetro after para buscar a próxima página."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Período, cursor ou limit inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping
-    public ResponseEntity<List<Cuidado>> listarTodos() {
-        return ResponseEntity.ok(cuidadoService.listarTodos());
+    public ResponseEntity<PaginaCursor<Cuidado>> listarTodos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarTodos(de, ate, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
+    }
+
+    @Operation(
+            summary = "Custos por mês e tipo",
+            description = "Total gasto com cuidados de todos os pets, por mês e tipo. Período em meses (de/ate, formato "
+                    + "yyyy-MM, inclusivo); sem período, os últimos 12 meses."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Período inválido",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @GetMapping("/custos")
+    public ResponseEntity<List<CustoMensal>> custosPorMesETipo(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth de,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate) {
+        return ResponseEntity.ok(custoCuidadoService.porMesETipo(de, ate));
+    }
+
+    @Operation(summary = "Custos de um pet por mês e tipo", description = "Mesmo período do GET /cuidados/custos.")
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Período inválido",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Pet não encontrado",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @GetMapping("/custos/pet/{idPet}")
+    public ResponseEntity<List<CustoMensal>> custosPorPet(
+            @PathVariable Long idPet,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth de,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate) {
+        return ResponseEntity.ok(custoCuidadoService.porPet(idPet, de, ate));
+    }
+
+    @Operation(
+            summary = "Custos dos pets de um tutor por mês e tipo",
+            description = "Soma os cuidados feitos enquanto cada pet estava adotado pelo tutor, inclusive pets "
+                    + "já devolvidos; o período no abrigo não entra. Mesmo período do GET /cuidados/custos."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Período inválido",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(
+            responseCode = "404",
+            description = "Tutor não encontrado",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @GetMapping("/custos/tutor/{idTutor}")
+    public ResponseEntity<List<CustoMensal>> custosPorTutor(
+            @PathVariable Long idTutor,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth de,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth ate) {
+        return ResponseEntity.ok(custoCuidadoService.porTutor(idTutor, de, ate));
     }
 
     @Operation(summary = "Buscar cuidado por ID")
@@ -58,21 +150,48 @@ public class CuidadoController {
             description = "Cuidado não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/{id}")
-    public ResponseEntity<Cuidado> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(cuidadoService.buscarPorId(id));
+    public ResponseEntity<Cuidado> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                Optional<VersaoItem> versao = cuidadoService.versao(id);
+                if (versao.isPresent() && request.checkNotModified(Etags.deItem(versao.get()))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags); sem versão, no mesmo snapshot, é 404
+                return ResponseEntity.ok(cuidadoService.buscarPorId(id));
+            });
+        }
+        Cuidado cuidado = cuidadoService.buscarPorId(id);
+        return ResponseEntity.ok().eTag(Etags.deItem(VersaoItem.de(cuidado))).body(cuidado);
     }
 
-    @Operation(summary = "Listar cuidados por pet")
+    @Operation(
+            summary = "Listar cuidados por pet",
+            description = "Mais recente primeiro, com período opcional (de/ate) e paginação por cursor (after/limit)."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Período, cursor ou limit inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
     @ApiResponse(
             responseCode = "404",
             description = "Pet não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/pet/{idPet}")
-    public ResponseEntity<List<Cuidado>> listarPorPet(@PathVariable Long idPet) {
-        return ResponseEntity.ok(cuidadoService.listarPorPet(idPet));
+    public ResponseEntity<PaginaCursor<Cuidado>> listarPorPet(
+            @PathVariable Long idPet,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarPorPet(idPet, de, ate, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 
     @Operation(summary = "Atualizar cuidado")
@@ -105,23 +224,36 @@ public class CuidadoController {
         return ResponseEntity.noContent().build();
     }
 
-    @Operation(summary = "Listar cuidados por tipo")
+    @Operation(
+            summary = "Listar cuidados por tipo",
+            description = "Mais recente primeiro, com período opcional (de/ate) e paginação por cursor (after/limit)."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
     @ApiResponse(
             responseCode = "400",
-            description = "Tipo inválido",
+            description = "Tipo, período, cursor ou limit inválidos",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/tipo/{tipo}")
-    public ResponseEntity<List<Cuidado>> listarPorTipo(@PathVariable String tipo) {
-        return ResponseEntity.ok(cuidadoService.listarPorTipo(tipo));
+    public ResponseEntity<PaginaCursor<Cuidado>> listarPorTipo(
+            @PathVariable String tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarPorTipo(tipo, de, ate, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 
-    @Operation(summary = "Listar cuidados por pet e tipo")
+    @Operation(
+            summary = "Listar cuidados por pet e tipo",
+            description = "Mais recente primeiro, com período opcional (de/ate) e paginação por cursor (after/limit)."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
     @ApiResponse(
             responseCode = "400",
-            description = "Tipo inválido",
+            description = "Tipo, período, cursor ou limit inválidos",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
     @ApiResponse(
@@ -129,8 +261,16 @@ public class CuidadoController {
             description = "Pet não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/pet/{idPet}/tipo/{tipo}")
-    public ResponseEntity<List<Cuidado>> listarPorPetETipo(@PathVariable Long idPet, @PathVariable String tipo) {
-        return ResponseEntity.ok(cuidadoService.listarPorPetETipo(idPet, tipo));
+    public ResponseEntity<PaginaCursor<Cuidado>> listarPorPetETipo(
+            @PathVariable Long idPet,
+            @PathVariable String tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarPorPetETipo(idPet, tipo, de, ate, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 }
@@ -0,0 +1,69 @@
+package br.com.alessandra.petcare.controller;
+
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.VersaoItem;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * ETags fortes dos GETs a partir da coluna versao: um item vira "versao" (ou "versao.versaoDoRelacionado"),
+ * uma lista vira o hash dos (id, versões) dos itens mais o cursor next.
+ *
+ * Com If-None-Match o controller pede só as versões ao service (uma consulta, sem montar entidade) e
+ * responde 304 se bater. Se não bater, esse ETag é o da resposta: o checkNotModified já o escreveu no
+ * cabeçalho, então o 200 sai sem .eTag() (um segundo ETag, calculado de outra leitura, poderia divergir),
+ * e versões e corpo são lidos na mesma transação (LeituraConsistente) para o ETag descrever o corpo.
+ * Sem If-None-Match, carrega normalmente e devolve o ETag calculado da resposta; nas buscas e listagens
+ * sem consulta de versões o Spring responde 304 com esse ETag quando bate, sem serializar o corpo.
+ */
+final class Etags {
+
+    private Etags() {
+    }
+
+    // só vale consultar as versões antes quando o cliente mandou um ETag para comparar
+    static boolean condicional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    static String deItem(VersaoItem item) {
+        StringBuilder etag = new StringBuilder("\"").append(versao(item.versao()));
+        if (item.versaoRelacionada() != null) {
+            etag.append('.').append(item.versaoRelacionada());
+        }
+        return etag.append('"').toString();
+    }
+
+    static String dePagina(PaginaCursor<VersaoItem> pagina) {
+        return deVersoes(pagina.itens(), pagina.next());
+    }
+
+    static <T> String dePagina(PaginaCursor<T> pagina, Function<T, VersaoItem> versao) {
+        return deVersoes(pagina.itens().stream().map(versao).toList(), pagina.next());
+    }
+
+    static <T> String deLista(List<T> itens, Function<T, VersaoItem> versao) {
+        return deVersoes(itens.stream().map(versao).toList(), null);
+    }
+
+    private static String deVersoes(List<VersaoItem> itens, String next) {
+        StringBuilder conteudo = new StringBuilder();
+        for (VersaoItem item : itens) {
+            conteudo.append(item.id()).append(':')
+                    .append(versao(item.versao())).append(':')
+                    .append(item.versaoRelacionada()).append(';');
+        }
+        conteudo.append(next);
+        return "\"" + DigestUtils.md5DigestAsHex(conteudo.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // linha gravada antes da coluna existir (ou objeto ainda não persistido)
+    private static long versao(Long versao) {
+        return versao == null ? 0L : versao;
+    }
+}
@@ -1,7 +1,15 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.StatusPurga;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.ApiErrorResponse;
 import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.service.LeituraConsistente;
+import br.com.alessandra.petcare.service.PetExportService;
+import br.com.alessandra.petcare.service.PetPurgaService;
 import br.com.alessandra.petcare.service.PetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -9,11 +17,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "Pets", description = "Cadastro, listagens e operações de adoção/devolução")
 @RestController
@@ -21,30 +34,123 @@ import java.util.List;
 public class PetController {
 
     private final PetService petService;
+    private final PetExportService petExportService;
+    private final PetPurgaService petPurgaService;
+    private final LeituraConsistente leituraConsistente;
 
-    public PetController(PetService petService) {
+    public PetController(PetService petService, PetExportService petExportService, PetPurgaService petPurgaService,
+                         LeituraConsistente leituraConsistente) {
         this.petService = petService;
+        this.petExportService = petExportService;
+        this.petPurgaService = petPurgaService;
+        this.leituraConsistente = leituraConsistente;
     }
 
-    @Operation(summary = "Listar todos os pets")
+    @Operation(
+            summary = "Listar todos os pets",
+            description = "Paginado por cursor: repasse o campo next da resposta no parâmetro after para buscar a próxima página."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping
-    public ResponseEntity<List<Pet>> listarTodos() {
-        return ResponseEntity.ok(petService.listarTodos());
+    public ResponseEntity<PaginaCursor<Pet>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                if (request.checkNotModified(Etags.dePagina(petService.versoes(after, limit)))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags)
+                return ResponseEntity.ok(petService.listarTodos(after, limit));
+            });
+        }
+        PaginaCursor<Pet> pagina = petService.listarTodos(after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 
-    @Operation(summary = "Listar pets disponíveis")
+    @Operation(summary = "Listar pets disponíveis", description = "Paginado por cursor (after/limit).")
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/disponiveis")
-    public ResponseEntity<List<Pet>> listarDisponiveis() {
-        return ResponseEntity.ok(petService.listarDisponiveis());
+    public ResponseEntity<PaginaCursor<Pet>> listarDisponiveis(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        // a página sai do índice em memória: o ETag já é calculado sem ir ao banco
+        PaginaCursor<Pet> pagina = petService.listarDisponiveis(after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 
-    @Operation(summary = "Listar pets adotados")
+    @Operation(summary = "Listar pets adotados", description = "Paginado por cursor (after/limit).")
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/adotados")
-    public ResponseEntity<List<Pet>> listarAdotados() {
-        return ResponseEntity.ok(petService.listarAdotados());
+    public ResponseEntity<PaginaCursor<Pet>> listarAdotados(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                if (request.checkNotModified(Etags.dePagina(petService.versoesAdotados(after, limit)))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags)
+                return ResponseEntity.ok(petService.listarAdotados(after, limit));
+            });
+        }
+        PaginaCursor<Pet> pagina = petService.listarAdotados(after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
+    }
+
+    @Operation(
+            summary = "Buscar pets por filtros",
+            description = "Filtros opcionais e combináveis (espécie, raça, faixa de idade, status, faixa de data de entrada), "
+                    + "aplicados no banco. Paginado por cursor (after/limit), em ordem de id."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Filtros ou parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
+    @GetMapping("/search")
+    public ResponseEntity<PaginaCursor<Pet>> buscar(
+            @ParameterObject FiltroPet filtro,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Pet> pagina = petService.buscar(filtro, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
+    }
+
+    @Operation(
+            summary = "Exportar catálogo completo",
+            description = "NDJSON (um pet por linha, com o tutor), em ordem de id. A resposta é escrita conforme "
+                    + "os pets são lidos do banco: use este endpoint para sincronizar o catálogo inteiro em vez de GET /pets."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody corpo = petExportService::exportar;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(corpo);
     }
 
     @Operation(
@@ -62,9 +168,22 @@ public class PetController {
             description = "Pet não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/{id}")
-    public ResponseEntity<Pet> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(petService.buscarPorId(id));
+    public ResponseEntity<Pet> buscarPorId(@PathVariable Long id, WebRequest request) {
+        // If-None-Match: compara só as versões (pet e tutor) antes de carregar o pet
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                Optional<VersaoItem> versao = petService.versao(id);
+                if (versao.isPresent() && request.checkNotModified(Etags.deItem(versao.get()))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags); sem versão, no mesmo snapshot, é 404
+                return ResponseEntity.ok(petService.buscarPorId(id));
+            });
+        }
+        Pet pet = petService.buscarPorId(id);
+        return ResponseEntity.ok().eTag(Etags.deItem(VersaoItem.de(pet))).body(pet);
     }
 
     @Operation(
@@ -82,9 +201,11 @@ public class PetController {
             description = "Tutor não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/tutor/{idTutor}")
     public ResponseEntity<List<Pet>> listarPorTutor(@PathVariable Long idTutor) {
-        return ResponseEntity.ok(petService.listarPorTutor(idTutor));
+        List<Pet> pets = petService.listarPorTutor(idTutor);
+        return ResponseEntity.ok().eTag(Etags.deLista(pets, VersaoItem::de)).body(pets);
     }
 
     @Operation(
@@ -103,6 +224,22 @@ public class PetController {
         return ResponseEntity.status(HttpStatus.CREATED).body(criado);
     }
 
+    @Operation(
+            summary = "Criar pets em lote",
+            description = "Entrada de ninhadas/transferências. Cada item passa pelas mesmas regras do POST /pets; "
+                    + "os válidos são gravados juntos e a resposta traz o resultado de cada item, na ordem enviada."
+    )
+    @ApiResponse(responseCode = "200", description = "Lote processado (ver o status de cada item)")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Lote vazio ou acima do limite",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<ResultadoLote>> criarEmLote(@RequestBody List<Pet> pets) {
+        return ResponseEntity.ok(petService.criarEmLote(pets));
+    }
+
     @Operation(
             summary = "Atualizar dados cadastrais do pet",
             description = "Não altera status/tutor (use /adotar ou /devolver)."
@@ -160,7 +297,20 @@ public class PetController {
         return ResponseEntity.ok(petService.devolverPet(idPet));
     }
 
-    @Operation(summary = "Deletar pet")
+    @Operation(
+            summary = "Andamento da purga de pets deletados",
+            description = "Pets aguardando purga e totais apagados (cuidados, adoções) desde a subida da aplicação."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @GetMapping("/purga")
+    public ResponseEntity<StatusPurga> statusPurga() {
+        return ResponseEntity.ok(petPurgaService.status());
+    }
+
+    @Operation(
+            summary = "Deletar pet",
+            description = "O pet some das listagens na hora; cuidados, adoções e o cadastro são apagados em segundo plano."
+    )
     @ApiResponse(responseCode = "204", description = "Sem conteúdo")
     @ApiResponse(
             responseCode = "400",
@@ -1,7 +1,12 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.ApiErrorResponse;
 import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.service.LeituraConsistente;
 import br.com.alessandra.petcare.service.TutorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,8 +17,10 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @Tag(name = "Tutores", description = "Cadastro e manutenção de tutores")
 @RestController
@@ -21,16 +28,61 @@ import java.util.List;
 public class TutorController {
 
     private final TutorService tutorService;
+    private final LeituraConsistente leituraConsistente;
 
-    public TutorController(TutorService tutorService) {
+    public TutorController(TutorService tutorService, LeituraConsistente leituraConsistente) {
         this.tutorService = tutorService;
+        this.leituraConsistente = leituraConsistente;
     }
 
-    @Operation(summary = "Listar todos os tutores")
+    @Operation(
+            summary = "Listar todos os tutores",
+            description = "Paginado por cursor: repasse o campo next da resposta no parâmetro after para buscar a próxima página."
+    )
     @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping
-    public ResponseEntity<List<Tutor>> listarTodos() {
-        return ResponseEntity.ok(tutorService.listarTodos());
+    public ResponseEntity<PaginaCursor<Tutor>> listarTodos(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                if (request.checkNotModified(Etags.dePagina(tutorService.versoes(after, limit)))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags)
+                return ResponseEntity.ok(tutorService.listarTodos(after, limit));
+            });
+        }
+        PaginaCursor<Tutor> pagina = tutorService.listarTodos(after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
+    }
+
+    @Operation(
+            summary = "Buscar tutores por prefixo",
+            description = "Nome ou e-mail começando com q (sem diferenciar maiúsculas, mínimo de 2 caracteres). "
+                    + "Paginado por cursor (after/limit)."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Termo de busca ou parâmetros de paginação inválidos",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
+    @GetMapping("/search")
+    public ResponseEntity<PaginaCursor<Tutor>> buscar(
+            @RequestParam String q,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        PaginaCursor<Tutor> pagina = tutorService.buscar(q, after, limit);
+        return ResponseEntity.ok().eTag(Etags.dePagina(pagina, VersaoItem::de)).body(pagina);
     }
 
     @Operation(summary = "Buscar tutor por ID")
@@ -40,9 +92,37 @@ public class TutorController {
             description = "Tutor não encontrado",
             content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
     )
+    @ApiResponse(responseCode = "304", description = "Não modificado (If-None-Match com o ETag atual)")
     @GetMapping("/{id}")
-    public ResponseEntity<Tutor> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(tutorService.buscarPorId(id));
+    public ResponseEntity<Tutor> buscarPorId(@PathVariable Long id, WebRequest request) {
+        if (Etags.condicional(request)) {
+            return leituraConsistente.executar(() -> {
+                Optional<VersaoItem> versao = tutorService.versao(id);
+                if (versao.isPresent() && request.checkNotModified(Etags.deItem(versao.get()))) {
+                    return null; // 304
+                }
+                // ETag já escrito pelo checkNotModified (ver Etags); sem versão, no mesmo snapshot, é 404
+                return ResponseEntity.ok(tutorService.buscarPorId(id));
+            });
+        }
+        Tutor tutor = tutorService.buscarPorId(id);
+        return ResponseEntity.ok().eTag(Etags.deItem(VersaoItem.de(tutor))).body(tutor);
+    }
+
+    @Operation(
+            summary = "Resumo do tutor",
+            description = "Dados do tutor com pets atuais, adoções, devoluções e gasto total com cuidados feitos "
+                    + "enquanto cada pet estava com ele, calculados numa única consulta."
+    )
+    @ApiResponse(responseCode = "200", description = "OK")
+    @ApiResponse(
+            responseCode = "404",
+            description = "Tutor não encontrado",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @GetMapping("/{id}/resumo")
+    public ResponseEntity<ResumoTutor> resumo(@PathVariable Long id) {
+        return ResponseEntity.ok(tutorService.resumo(id));
     }
 
     @Operation(summary = "Criar tutor")
@@ -58,6 +138,22 @@ public class TutorController {
         return ResponseEntity.status(HttpStatus.CREATED).body(criado);
     }
 
+    @Operation(
+            summary = "Criar tutores em lote",
+            description = "Cada item passa pelas mesmas regras do POST /tutores (inclusive e-mail único, sem diferenciar "
+                    + "maiúsculas); os válidos são gravados juntos e a resposta traz o resultado de cada item, na ordem enviada."
+    )
+    @ApiResponse(responseCode = "200", description = "Lote processado (ver o status de cada item)")
+    @ApiResponse(
+            responseCode = "400",
+            description = "Lote vazio, acima do limite ou e-mail cadastrado por outra requisição durante o lote",
+            content = @Content(schema = @Schema(implementation = ApiErrorResponse.class))
+    )
+    @PostMapping("/batch")
+    public ResponseEntity<List<ResultadoLote>> criarEmLote(@RequestBody List<Tutor> tutores) {
+        return ResponseEntity.ok(tutorService.criarEmLote(tutores));
+    }
+
     @Operation(summary = "Atualizar tutor")
     @ApiResponse(responseCode = "200", description = "OK")
     @ApiResponse(
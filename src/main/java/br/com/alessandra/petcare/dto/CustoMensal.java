@@ -0,0 +1,33 @@
+package br.com.alessandra.petcare.dto;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Linha dos relatórios de custo (GET /cuidados/custos/...): gasto de um tipo de cuidado num mês.
+ */
+@Schema(name = "CustoMensal", description = "Gasto com um tipo de cuidado num mês")
+public record CustoMensal(
+
+        @Schema(description = "Mês", example = "2025-03", type = "string")
+        YearMonth mes,
+
+        @Schema(description = "Tipo de cuidado", example = "VACINA")
+        TipoCuidado tipo,
+
+        @Schema(description = "Total gasto", example = "240.00")
+        BigDecimal total,
+
+        @Schema(description = "Quantidade de cuidados", example = "3")
+        long quantidade
+) {
+
+    // usado pelas consultas (o balde guarda o mês como o primeiro dia)
+    public CustoMensal(LocalDate mes, TipoCuidado tipo, BigDecimal total, Long quantidade) {
+        this(YearMonth.from(mes), tipo, total, quantidade);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.alessandra.petcare.dto;
+
+import br.com.alessandra.petcare.model.StatusPet;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionais do GET /pets/search (vêm da query string).
+ * Faixas são inclusivas e podem ser abertas em qualquer ponta.
+ */
+@Schema(name = "FiltroPet", description = "Filtros da busca de pets")
+public record FiltroPet(
+
+        @Schema(description = "Espécie (sem diferenciar maiúsculas)", example = "gato")
+        String especie,
+
+        @Schema(description = "Raça (sem diferenciar maiúsculas)", example = "SRD")
+        String raca,
+
+        @Schema(description = "Idade mínima", example = "1")
+        Integer idadeMin,
+
+        @Schema(description = "Idade máxima", example = "5")
+        Integer idadeMax,
+
+        @Schema(description = "Status do pet", example = "DISPONIVEL")
+        StatusPet status,
+
+        @Schema(description = "Entrada a partir de (yyyy-MM-dd)", example = "2024-01-01")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dataEntradaDe,
+
+        @Schema(description = "Entrada até (yyyy-MM-dd)", example = "2024-12-31")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+        LocalDate dataEntradaAte
+) {
+}
@@ -0,0 +1,53 @@
+package br.com.alessandra.petcare.dto;
+
+import br.com.alessandra.petcare.exception.BusinessException;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de uma listagem paginada por cursor (keyset).
+ * O cliente pede a próxima página repassando o valor de {@code next} no parâmetro {@code after}.
+ */
+@Schema(name = "PaginaCursor", description = "Página de resultados paginada por cursor")
+public record PaginaCursor<T>(
+
+        @Schema(description = "Itens da página")
+        List<T> itens,
+
+        @Schema(description = "Cursor da próxima página (null quando não há mais itens)", example = "42")
+        String next
+) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    // valida o limit vindo da requisição (null = padrão)
+    public static int limite(Integer limit) {
+        if (limit == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limit < 1) {
+            throw new BusinessException("O parâmetro limit deve ser maior que zero.");
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    // ids começam em 1, então "depois de 0" é a primeira página
+    public static long depoisDe(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Monta a página a partir de uma consulta que buscou {@code limite + 1} linhas:
+     * a linha extra só serve para saber se existe próxima página.
+     */
+    public static <T> PaginaCursor<T> of(List<T> linhas, int limite, Function<T, ?> cursor) {
+        if (linhas.size() <= limite) {
+            return new PaginaCursor<>(linhas, null);
+        }
+        List<T> itens = linhas.subList(0, limite);
+        return new PaginaCursor<>(itens, String.valueOf(cursor.apply(itens.get(limite - 1))));
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.alessandra.petcare.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Resultado de um item de uma operação em lote (ex: POST /pets/batch).
+ * O índice é a posição do item na lista enviada.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(name = "ResultadoLote", description = "Resultado de cada item de um lote")
+public record ResultadoLote(
+
+        @Schema(description = "Posição do item na lista enviada", example = "0")
+        int indice,
+
+        @Schema(description = "CRIADO ou ERRO", example = "CRIADO")
+        String status,
+
+        @Schema(description = "Id gerado (quando CRIADO)", example = "101")
+        Long id,
+
+        @Schema(description = "Motivo da recusa (quando ERRO)", example = "nome: O nome do pet é obrigatório")
+        String erro
+) {
+
+    public static ResultadoLote criado(int indice, Long id) {
+        return new ResultadoLote(indice, "CRIADO", id, null);
+    }
+
+    public static ResultadoLote erro(int indice, String erro) {
+        return new ResultadoLote(indice, "ERRO", null, erro);
+    }
+}
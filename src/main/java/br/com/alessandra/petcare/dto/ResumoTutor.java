@@ -0,0 +1,49 @@
+package br.com.alessandra.petcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Cartão do tutor (GET /tutores/{id}/resumo): dados do tutor e totais, montados numa única consulta
+ * agregada (TutorRepository.buscarResumo) sem carregar as coleções de pets e adoções.
+ */
+@Schema(name = "ResumoTutor", description = "Dados do tutor com totais de pets, adoções e gastos com cuidados")
+public record ResumoTutor(
+
+        @Schema(description = "Id do tutor", example = "1")
+        Long id,
+
+        @Schema(description = "Nome", example = "Ana Souza")
+        String nome,
+
+        @Schema(description = "E-mail", example = "ana@email.com")
+        String email,
+
+        @Schema(description = "Telefone", example = "99999-9999")
+        String telefone,
+
+        @Schema(description = "Endereço", example = "Rua X, 123")
+        String endereco,
+
+        @Schema(description = "Pets atualmente com o tutor", example = "2")
+        Long petsAtuais,
+
+        @Schema(description = "Adoções feitas pelo tutor (ativas e encerradas)", example = "3")
+        Long adocoes,
+
+        @Schema(description = "Devoluções (adoções ENCERRADAS)", example = "1")
+        Long devolucoes,
+
+        @Schema(description = "Soma dos custos de cuidados feitos enquanto cada pet estava com o tutor "
+                + "(inclusive pets já devolvidos)", example = "350.00")
+        BigDecimal gastoCuidados
+) {
+
+    public ResumoTutor {
+        // sum() sem linhas volta null
+        if (gastoCuidados == null) {
+            gastoCuidados = BigDecimal.ZERO;
+        }
+    }
+}
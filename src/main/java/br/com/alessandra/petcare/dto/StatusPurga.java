@@ -0,0 +1,27 @@
+package br.com.alessandra.petcare.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Andamento da purga de pets deletados (GET /pets/purga).
+ * Totais desde a subida da aplicação.
+ */
+@Schema(name = "StatusPurga", description = "Andamento da purga em segundo plano de pets deletados")
+public record StatusPurga(
+
+        @Schema(description = "Pets marcados como excluídos aguardando purga", example = "3")
+        long petsPendentes,
+
+        @Schema(description = "Pets purgados", example = "120")
+        long petsPurgados,
+
+        @Schema(description = "Cuidados apagados", example = "48210")
+        long cuidadosApagados,
+
+        @Schema(description = "Adoções apagadas", example = "310")
+        long adocoesApagadas,
+
+        @Schema(description = "Linhas por segundo na última purga", example = "25000.0")
+        double linhasPorSegundo
+) {
+}
@@ -0,0 +1,31 @@
+package br.com.alessandra.petcare.dto;
+
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.Tutor;
+
+/**
+ * Versão de uma linha para o ETag (GET condicional): id, coluna versao e a versão do relacionamento que
+ * sai junto no JSON (tutor do pet, pet do cuidado; null quando não tem).
+ * As consultas de versão montam este record direto, sem carregar a entidade.
+ */
+public record VersaoItem(Long id, Long versao, Long versaoRelacionada) {
+
+    // usado pelas consultas de entidade sem relacionamento no JSON (tutor)
+    public VersaoItem(Long id, Long versao) {
+        this(id, versao, null);
+    }
+
+    public static VersaoItem de(Pet pet) {
+        Tutor tutor = pet.getTutor();
+        return new VersaoItem(pet.getId(), pet.getVersao(), tutor == null ? null : tutor.getVersao());
+    }
+
+    public static VersaoItem de(Tutor tutor) {
+        return new VersaoItem(tutor.getId(), tutor.getVersao());
+    }
+
+    public static VersaoItem de(Cuidado cuidado) {
+        return new VersaoItem(cuidado.getId(), cuidado.getVersao(), cuidado.getPet().getVersao());
+    }
+}
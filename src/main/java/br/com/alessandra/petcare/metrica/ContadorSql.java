@@ -0,0 +1,60 @@
+package br.com.alessandra.petcare.metrica;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Conta os comandos SQL que o Hibernate prepara na thread da requisição (registrado como
+ * hibernate.session_factory.statement_inspector pelo MetricasConfig).
+ * Um batch JDBC conta uma vez por comando preparado, não por linha.
+ *
+ * Fora de uma contagem iniciada (tarefas agendadas, purga, carga do índice) não faz nada.
+ */
+@Component
+public class ContadorSql implements StatementInspector {
+
+    private static final class Contagem {
+        private final String handler;
+        private final int limite;
+        private final boolean falhar;
+        private int comandos;
+
+        private Contagem(String handler, int limite, boolean falhar) {
+            this.handler = handler;
+            this.limite = limite;
+            this.falhar = falhar;
+        }
+    }
+
+    private final ThreadLocal<Contagem> contagem = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Contagem atual = contagem.get();
+        if (atual != null) {
+            atual.comandos++;
+            // só o primeiro comando acima do limite falha (o que vier depois, ex: rollback, passa)
+            if (atual.falhar && atual.comandos == atual.limite + 1) {
+                throw new OrcamentoSqlExcedidoException(atual.handler, atual.limite, sql);
+            }
+        }
+        return sql;
+    }
+
+    // falhar = lança OrcamentoSqlExcedidoException no comando que passar do limite
+    public void iniciar(String handler, int limite, boolean falhar) {
+        contagem.set(new Contagem(handler, limite, falhar));
+    }
+
+    // comandos desde o iniciar() (0 se não houve contagem nesta thread)
+    public int atual() {
+        Contagem atual = contagem.get();
+        return atual == null ? 0 : atual.comandos;
+    }
+
+    public int encerrar() {
+        int total = atual();
+        contagem.remove();
+        return total;
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.alessandra.petcare.metrica;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * http.server.requests com a tag handler (ex: PetController.adotarPet), além de uri/method/status:
+ * dá a latência por método de controller mesmo quando duas rotas caem no mesmo método.
+ */
+public class ConvencaoRequisicoesHttp extends DefaultServerRequestObservationConvention {
+
+    static final String SEM_HANDLER = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("handler", nomeHandler(context.getCarrier())));
+    }
+
+    static String nomeHandler(HttpServletRequest request) {
+        return nomeHandler(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+    }
+
+    static String nomeHandler(Object handler) {
+        if (handler instanceof HandlerMethod metodo) {
+            return metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        }
+        return SEM_HANDLER;
+    }
+}
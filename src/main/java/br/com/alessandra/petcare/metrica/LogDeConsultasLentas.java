@@ -0,0 +1,137 @@
+package br.com.alessandra.petcare.metrica;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Log estruturado de consultas no lugar do show-sql (perfil prod): comando acima do limite sai em WARN e,
+ * das rápidas, só uma amostra sai em INFO. Cada linha leva duração, SQL, tipos dos parâmetros, handler
+ * da requisição e o método da aplicação que disparou a consulta (campos sql.* e origem.* no JSON).
+ *
+ * Os valores dos parâmetros nunca vão para o log (e-mail, telefone e endereço de tutor passam por aqui).
+ * O custo fora do log é uma comparação por comando; a pilha só é percorrida quando a linha vai sair.
+ */
+public class LogDeConsultasLentas implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LogDeConsultasLentas.class);
+
+    private static final String PACOTE = "br.com.alessandra.petcare.";
+    private static final int TAMANHO_MAXIMO_SQL = 2000;
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final StackWalker PILHA = StackWalker.getInstance();
+
+    private final long limiteMs;
+    private final double amostra;
+
+    public LogDeConsultasLentas(Duration limite, double amostra) {
+        if (amostra < 0 || amostra > 1) {
+            throw new IllegalArgumentException("petcare.sql.lento.amostra deve ficar entre 0 e 1: " + amostra);
+        }
+        this.limiteMs = limite.toMillis();
+        this.amostra = amostra;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execucao, List<QueryInfo> consultas) {
+        long ms = execucao.getElapsedTime();
+        boolean lenta = ms >= limiteMs;
+        if (!deveRegistrar(lenta, ThreadLocalRandom.current().nextDouble())) {
+            return;
+        }
+        Level nivel = lenta ? Level.WARN : Level.INFO;
+        if (!log.isEnabledForLevel(nivel)) {
+            return;
+        }
+
+        String comando = sql(consultas);
+        String handler = handlerAtual();
+        String origem = origem();
+        log.atLevel(nivel)
+                .setMessage(lenta ? "Consulta lenta: {} ms em {} ({}): {}" : "Consulta amostrada: {} ms em {} ({}): {}")
+                .addArgument(ms)
+                .addArgument(origem)
+                .addArgument(handler)
+                .addArgument(comando)
+                .addKeyValue("sql.duracao_ms", ms)
+                .addKeyValue("sql.lenta", lenta)
+                .addKeyValue("sql.comando", comando)
+                .addKeyValue("sql.parametros", parametros(consultas))
+                .addKeyValue("sql.lote", execucao.isBatch() ? execucao.getBatchSize() : 0)
+                .addKeyValue("sql.sucesso", execucao.isSuccess())
+                .addKeyValue("origem.handler", handler)
+                .addKeyValue("origem.metodo", origem)
+                .log();
+    }
+
+    // lenta sempre; rápida só se cair na amostra (sorteio em [0, 1))
+    boolean deveRegistrar(boolean lenta, double sorteio) {
+        return lenta || sorteio < amostra;
+    }
+
+    // SQL numa linha só e com tamanho limitado (IN com milhares de ids)
+    static String sql(List<QueryInfo> consultas) {
+        StringJoiner sql = new StringJoiner("; ");
+        for (QueryInfo consulta : consultas) {
+            sql.add(ESPACOS.matcher(consulta.getQuery()).replaceAll(" ").trim());
+        }
+        String texto = sql.toString();
+        return texto.length() <= TAMANHO_MAXIMO_SQL ? texto : texto.substring(0, TAMANHO_MAXIMO_SQL) + "...";
+    }
+
+    // Só os tipos, na ordem dos parâmetros (ex: [Long, String, null]); em batch, a primeira linha e o total
+    static String parametros(List<QueryInfo> consultas) {
+        for (QueryInfo consulta : consultas) {
+            List<List<ParameterSetOperation>> linhas = consulta.getParametersList();
+            if (linhas.isEmpty()) {
+                continue;
+            }
+            StringJoiner tipos = new StringJoiner(", ", "[", "]");
+            for (ParameterSetOperation operacao : linhas.get(0)) {
+                Object[] args = operacao.getArgs();
+                boolean nulo = "setNull".equals(operacao.getMethod().getName()) || args.length < 2 || args[1] == null;
+                tipos.add(nulo ? "null" : args[1].getClass().getSimpleName());
+            }
+            return linhas.size() == 1 ? tipos.toString() : tipos + " x" + linhas.size();
+        }
+        return "[]";
+    }
+
+    private static String handlerAtual() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet) {
+            return ConvencaoRequisicoesHttp.nomeHandler(servlet.getRequest());
+        }
+        return ConvencaoRequisicoesHttp.SEM_HANDLER; // tarefa agendada, purga, stream da exportação
+    }
+
+    // primeiro método da aplicação na pilha (o service/repositório que disparou), fora proxies e este pacote
+    private static String origem() {
+        Optional<String> metodo = PILHA.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PACOTE)
+                        && !f.getClassName().startsWith(PACOTE + "metrica.")
+                        && !f.getClassName().contains("$$"))
+                .findFirst()
+                .map(f -> f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1)
+                        + "." + f.getMethodName() + ":" + f.getLineNumber()));
+        return metodo.orElse(ConvencaoRequisicoesHttp.SEM_HANDLER);
+    }
+}
@@ -0,0 +1,64 @@
+package br.com.alessandra.petcare.metrica;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Contadores de negócio (petcare_adocoes_total, petcare_devolucoes_total, petcare_cuidados_total{tipo}).
+ * Dentro de uma transação só contam depois do commit: adoção recusada por conflito não entra.
+ */
+@Component
+public class MetricasNegocio {
+
+    private final Counter adocoes;
+    private final Counter devolucoes;
+    private final Map<TipoCuidado, Counter> cuidados = new EnumMap<>(TipoCuidado.class);
+
+    public MetricasNegocio(MeterRegistry registry) {
+        this.adocoes = Counter.builder("petcare.adocoes")
+                .description("Adoções concluídas")
+                .register(registry);
+        this.devolucoes = Counter.builder("petcare.devolucoes")
+                .description("Devoluções concluídas")
+                .register(registry);
+        // todos os tipos registrados na subida: a série existe (com 0) antes do primeiro cuidado
+        for (TipoCuidado tipo : TipoCuidado.values()) {
+            cuidados.put(tipo, Counter.builder("petcare.cuidados")
+                    .description("Cuidados registrados")
+                    .tag("tipo", tipo.name())
+                    .register(registry));
+        }
+    }
+
+    public void adocao() {
+        aposCommit(adocoes);
+    }
+
+    public void devolucao() {
+        aposCommit(devolucoes);
+    }
+
+    public void cuidado(TipoCuidado tipo) {
+        aposCommit(cuidados.get(tipo));
+    }
+
+    private static void aposCommit(Counter contador) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contador.increment();
+                }
+            });
+        } else {
+            contador.increment();
+        }
+    }
+}
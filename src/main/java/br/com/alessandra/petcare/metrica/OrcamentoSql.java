@@ -0,0 +1,40 @@
+package br.com.alessandra.petcare.metrica;
+
+import java.util.Map;
+
+/**
+ * Quantos comandos SQL cada método de controller pode executar por requisição (chave no formato do
+ * handler das métricas, ex: PetController.listarAdotados), com um padrão para os demais.
+ *
+ * Passar do limite indica N+1 ou consulta a mais: em produção só loga (LOG); nos testes de
+ * integração a requisição falha no comando que estourou (FALHAR).
+ */
+public class OrcamentoSql {
+
+    public static final int PADRAO = 10;
+
+    public enum AoExceder {
+        LOG, FALHAR
+    }
+
+    private final int padrao;
+    private final Map<String, Integer> porHandler;
+    private final AoExceder aoExceder;
+
+    public OrcamentoSql(int padrao, Map<String, Integer> porHandler, AoExceder aoExceder) {
+        if (padrao < 0 || porHandler.values().stream().anyMatch(limite -> limite < 0)) {
+            throw new IllegalArgumentException("Orçamento de SQL não pode ser negativo: " + porHandler);
+        }
+        this.padrao = padrao;
+        this.porHandler = Map.copyOf(porHandler);
+        this.aoExceder = aoExceder;
+    }
+
+    public int limite(String handler) {
+        return porHandler.getOrDefault(handler, padrao);
+    }
+
+    public boolean falhar() {
+        return aoExceder == AoExceder.FALHAR;
+    }
+}
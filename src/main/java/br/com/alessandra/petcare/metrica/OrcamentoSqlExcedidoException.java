@@ -0,0 +1,10 @@
+package br.com.alessandra.petcare.metrica;
+
+// Requisição passou do orçamento de comandos SQL do handler (só com petcare.sql.orcamento.ao-exceder=falhar)
+public class OrcamentoSqlExcedidoException extends RuntimeException {
+
+    public OrcamentoSqlExcedidoException(String handler, int limite, String sql) {
+        super("Orçamento de SQL excedido em " + handler + ": mais de " + limite
+                + " comandos na requisição. Comando que estourou: " + sql);
+    }
+}
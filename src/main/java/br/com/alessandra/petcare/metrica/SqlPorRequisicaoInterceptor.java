@@ -0,0 +1,71 @@
+package br.com.alessandra.petcare.metrica;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra quantos comandos SQL cada requisição executou (petcare_sql_statements{handler}) e confere
+ * o orçamento do handler ({@link OrcamentoSql}).
+ * Conta o que roda na thread da requisição, inclusive carga lazy durante a escrita do JSON
+ * (open-in-view); a parte assíncrona de respostas em streaming (GET /pets/export) fica de fora.
+ */
+public class SqlPorRequisicaoInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlPorRequisicaoInterceptor.class);
+
+    // atributo da requisição com o total de comandos (lido pelos testes de integração)
+    public static final String COMANDOS_SQL = SqlPorRequisicaoInterceptor.class.getName() + ".comandos";
+
+    private final ContadorSql contadorSql;
+    private final MeterRegistry registry;
+    private final OrcamentoSql orcamento;
+    private final Map<String, DistributionSummary> porHandler = new ConcurrentHashMap<>();
+
+    public SqlPorRequisicaoInterceptor(ContadorSql contadorSql, MeterRegistry registry, OrcamentoSql orcamento) {
+        this.contadorSql = contadorSql;
+        this.registry = registry;
+        this.orcamento = orcamento;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String nome = ConvencaoRequisicoesHttp.nomeHandler(handler);
+        contadorSql.iniciar(nome, orcamento.limite(nome), orcamento.falhar());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int comandos = contadorSql.encerrar();
+        String nome = ConvencaoRequisicoesHttp.nomeHandler(handler);
+        request.setAttribute(COMANDOS_SQL, comandos);
+        porHandler.computeIfAbsent(nome, n ->
+                        DistributionSummary.builder("petcare.sql.statements")
+                                .description("Comandos SQL por requisição")
+                                .tag("handler", n)
+                                .register(registry))
+                .record(comandos);
+
+        int limite = orcamento.limite(nome);
+        if (comandos > limite && !orcamento.falhar()) {
+            log.warn("Orçamento de SQL excedido em {} ({} {}): {} comandos, limite {}",
+                    nome, request.getMethod(), request.getRequestURI(), comandos, limite);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // a thread volta para o pool: não deixa a contagem pendurada nela
+        contadorSql.encerrar();
+    }
+}
@@ -1,13 +1,21 @@
 package br.com.alessandra.petcare.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "adocao")
+@Table(name = "adocao", indexes = {
+        // históricos por pet e por tutor (mais recente primeiro)
+        @Index(name = "idx_adocao_pet_data", columnList = "id_pet, data_adocao desc"),
+        @Index(name = "idx_adocao_tutor_data", columnList = "id_tutor, data_adocao desc")
+})
+// Pet excluído (aguardando purga) leva junto o histórico: some das listagens e dos históricos do tutor
+@SQLRestriction("exists (select 1 from pet p where p.id = id_pet and p.excluido = false)")
 @Data
 public class Adocao {
 
@@ -36,4 +44,10 @@ public class Adocao {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private StatusAdocao status; // ATIVA ou ENCERRADA
+
+    // Lock otimista: evita duas devoluções concorrentes encerrando a mesma adoção
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
 }
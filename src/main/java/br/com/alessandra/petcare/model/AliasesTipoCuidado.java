@@ -0,0 +1,57 @@
+package br.com.alessandra.petcare.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Tabela de nomes e aliases de {@link TipoCuidado} consultada pelo resolver.
+ * {@link #PADRAO} tem só os aliases padrão; a da aplicação soma os de petcare.cuidados.aliases e é um bean
+ * (TipoCuidadoAliasesConfig), então cada contexto Spring tem a sua e nada muda o {@code TipoCuidado.from} estático.
+ */
+public class AliasesTipoCuidado {
+
+    public static final AliasesTipoCuidado PADRAO = new AliasesTipoCuidado(Map.of());
+
+    private final Map<String, TipoCuidado> tabela;
+
+    /**
+     * Chave = alias em qualquer grafia, valor = nome ou alias padrão de um tipo.
+     * Alias ou destino inválido lança IllegalArgumentException.
+     */
+    public AliasesTipoCuidado(Map<String, String> extras) {
+        Map<String, TipoCuidado> resolvidos = new HashMap<>();
+        extras.forEach((alias, destino) -> {
+            String chave = TipoCuidado.normalizar(alias);
+            TipoCuidado tipo = TipoCuidado.resolver(destino);
+            if (chave == null || tipo == null) {
+                throw new IllegalArgumentException("Alias de tipo de cuidado inválido: " + alias + "=" + destino);
+            }
+            resolvidos.put(chave, tipo);
+        });
+        this.tabela = TipoCuidado.montarTabela(resolvidos);
+    }
+
+    public TipoCuidado from(String value) {
+        TipoCuidado tipo = resolver(value);
+        if (tipo == null) {
+            throw new IllegalArgumentException("Tipo de cuidado inválido: " + value);
+        }
+        return tipo;
+    }
+
+    /**
+     * Nome ou alias → tipo; null quando não reconhece (sem exceção no caminho normal).
+     * O valor como veio é procurado direto na tabela; só se não achar é normalizado (uma passada pelos chars).
+     */
+    public TipoCuidado resolver(String value) {
+        if (value == null) {
+            return null;
+        }
+        TipoCuidado tipo = tabela.get(value);
+        if (tipo != null) {
+            return tipo;
+        }
+        String chave = TipoCuidado.normalizar(value);
+        return chave == null ? null : tabela.get(chave);
+    }
+}
@@ -1,15 +1,26 @@
 package br.com.alessandra.petcare.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "cuidado")
+@Table(name = "cuidado", indexes = {
+        // purga em blocos por pet (PetPurgaService)
+        @Index(name = "idx_cuidado_pet_id", columnList = "id_pet, id"),
+        // listagens mais recente primeiro, com período e cursor (data, id): por pet, por tipo e geral
+        @Index(name = "idx_cuidado_pet_data", columnList = "id_pet, data_cuidado desc, id desc"),
+        @Index(name = "idx_cuidado_tipo_data", columnList = "tipo, data_cuidado desc, id desc"),
+        @Index(name = "idx_cuidado_data", columnList = "data_cuidado desc, id desc")
+})
+// Pet excluído (aguardando purga) leva junto o histórico: some das listagens e dos históricos do tutor
+@SQLRestriction("exists (select 1 from pet p where p.id = id_pet and p.excluido = false)")
 @Data
 public class Cuidado {
 
@@ -31,6 +42,12 @@ public class Cuidado {
     @Column(precision = 10, scale = 2)
     private BigDecimal custo;
 
+    // Lock otimista e ETag do GET /cuidados/{id}: toda alteração incrementa
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "id_pet", nullable = false)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "tutor", "adocoes", "cuidados"})
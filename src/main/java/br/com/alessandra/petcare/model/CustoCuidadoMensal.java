@@ -0,0 +1,57 @@
+package br.com.alessandra.petcare.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Total gasto com cuidados por pet × mês × tipo × tutor (relatórios de custo em GET /cuidados/custos).
+ * Mantido de forma incremental pelo CustoCuidadoService a cada criação/alteração/exclusão de cuidado,
+ * então um relatório lê só os baldes do período, nunca os cuidados.
+ *
+ * id_pet não é FK: o histórico de gastos continua depois que a purga apaga o pet.
+ * O tutor é o da adoção vigente na data do cuidado, resolvido na gravação: devolver o pet não tira do tutor
+ * o que foi gasto enquanto estava com ele, e o que foi gasto no abrigo não vai para quem adotar depois.
+ */
+@Entity
+@Table(name = "custo_cuidado_mensal",
+        uniqueConstraints = @UniqueConstraint(name = "uq_custo_pet_mes_tipo_tutor",
+                columnNames = {"id_pet", "mes", "tipo", "id_tutor"}),
+        indexes = {
+                // relatório geral por mês/tipo
+                @Index(name = "idx_custo_mes_tipo", columnList = "mes, tipo"),
+                // relatório e resumo do tutor
+                @Index(name = "idx_custo_tutor_mes", columnList = "id_tutor, mes")
+        })
+@Data
+public class CustoCuidadoMensal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "id_pet", nullable = false)
+    private Long petId;
+
+    // primeiro dia do mês
+    @Column(nullable = false)
+    private LocalDate mes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TipoCuidado tipo;
+
+    // tutor com o pet na data dos cuidados; 0 = abrigo.
+    // -1 (default) só nos baldes da versão sem tutor, reatribuídos pelo db/indices.sql na subida
+    @Column(name = "id_tutor", nullable = false, columnDefinition = "bigint default -1")
+    private Long tutorId;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal total;
+
+    // cuidados no balde (com ou sem custo informado)
+    @Column(nullable = false)
+    private Long quantidade;
+}
@@ -3,23 +3,44 @@ package br.com.alessandra.petcare.model;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDate;
 import java.util.List;
 
 @Entity
-@Table(name = "pet")
+@Table(name = "pet", indexes = {
+        // paginação por cursor de /pets/disponiveis e /pets/adotados
+        @Index(name = "idx_pet_status_id", columnList = "status, id"),
+        // busca por faixa de data de entrada (GET /pets/search); os índices de espécie/raça estão em db/indices.sql
+        @Index(name = "idx_pet_data_entrada_id", columnList = "data_entrada, id"),
+        // pets de um tutor (GET /pets/tutor/{id}, resumo do tutor, checagem ao deletar tutor)
+        @Index(name = "idx_pet_tutor_id", columnList = "id_tutor, id")
+})
+// pet deletado fica só marcado até a purga em segundo plano (PetPurgaService) apagar as linhas: some de toda consulta
+@SQLRestriction("excluido = false")
+// cache de 2º nível (região "pet" em application.conf). UPDATE em massa (adoção, exclusão) esvazia a região inteira
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "pet")
+// a adoção devolve o pet que já está na sessão como referência (getReferenceById): o proxy vai direto pro JSON
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Data
 public class Pet {
 
+    // Sequence com alocação em blocos (otimizador pooled): o Hibernate não vai ao banco a cada id
+    // e consegue mandar os INSERTs em batch JDBC (com IDENTITY cada INSERT é uma ida ao banco).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pet_seq")
+    @SequenceGenerator(name = "pet_seq", sequenceName = "pet_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome do pet é obrigatório")
@@ -40,6 +61,17 @@ public class Pet {
     @Column(name = "data_entrada")
     private LocalDate dataEntrada;
 
+    // Lock otimista: duas requisições alterando o mesmo pet -> a segunda falha (409) em vez de sobrescrever.
+    // Também compõe o ETag do pet (GET condicional).
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
+    @Column(name = "excluido", nullable = false, columnDefinition = "boolean default false")
+    @JsonIgnore
+    private boolean excluido;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_tutor")
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
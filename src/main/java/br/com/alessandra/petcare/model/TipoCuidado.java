@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
 
 import java.text.Normalizer;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public enum TipoCuidado {
     BANHO,
@@ -15,70 +17,125 @@ public enum TipoCuidado {
     VERMIFUGO,
     OUTRO;
 
-    @JsonCreator
-    public static TipoCuidado from(String value) {
-        if (value == null || value.isBlank()) {
-            throw new IllegalArgumentException("Tipo de cuidado inválido.");
-        }
-
-        String v = normalize(value);
-
-        // Aliases (ajuda muito o front)
-        switch (v) {
+    // Aliases (ajuda muito o front), já na forma normalizada: sem acento, maiúsculas, separadores como "_"
+    private static final Map<String, TipoCuidado> ALIASES_PADRAO = Map.ofEntries(
             // Medicação
-            case "MEDICAMENTO":
-            case "REMEDIO":
-            case "REMÉDIO":
-                return MEDICACAO;
+            Map.entry("MEDICAMENTO", MEDICACAO),
+            Map.entry("REMEDIO", MEDICACAO),
 
             // Vermífugo
-            case "VERMIFUGACAO":
-            case "VERMIFUGAÇÃO":
-            case "VERMIFUGA":
-                return VERMIFUGO;
+            Map.entry("VERMIFUGACAO", VERMIFUGO),
+            Map.entry("VERMIFUGA", VERMIFUGO),
 
             // Consulta
-            case "VETERINARIO":
-            case "VETERINARIA":
-            case "CONSULTA_VET":
-            case "CONSULTA_VETERINARIA":
-            case "CONSULTA_VETERINÁRIO":
-                return CONSULTA;
+            Map.entry("VETERINARIO", CONSULTA),
+            Map.entry("VETERINARIA", CONSULTA),
+            Map.entry("CONSULTA_VET", CONSULTA),
+            Map.entry("CONSULTA_VETERINARIA", CONSULTA),
+            Map.entry("CONSULTA_VETERINARIO", CONSULTA),
 
             // Banho/Tosa (quando o front manda combinado)
-            case "BANHO_E_TOSA":
-            case "BANHO_TOSA":
-            case "BANHO+TOSA":
-                return OUTRO; // ou BANHO (se tu preferir “puxar” pra um)
+            Map.entry("BANHO_E_TOSA", OUTRO),
+            Map.entry("BANHO_TOSA", OUTRO),
+            Map.entry("BANHO+TOSA", OUTRO),
 
             // Tosa higienica (variações)
-            case "TOSA_HIGIENICA":
-            case "TOSA_HIGIENICA_COMPLETA":
-                return TOSA;
-
-            default:
-                try {
-                    return TipoCuidado.valueOf(v);
-                } catch (IllegalArgumentException e) {
-                    throw new IllegalArgumentException("Tipo de cuidado inválido: " + value);
-                }
+            Map.entry("TOSA_HIGIENICA", TOSA),
+            Map.entry("TOSA_HIGIENICA_COMPLETA", TOSA)
+    );
+
+    // Só nomes e aliases padrão; os aliases da configuração ficam no bean AliasesTipoCuidado
+    @JsonCreator
+    public static TipoCuidado from(String value) {
+        return AliasesTipoCuidado.PADRAO.from(value);
+    }
+
+    // Nome ou alias padrão → tipo; null quando não reconhece (ver AliasesTipoCuidado.resolver)
+    public static TipoCuidado resolver(String value) {
+        return AliasesTipoCuidado.PADRAO.resolver(value);
+    }
+
+    // Nomes, aliases padrão e os extras já resolvidos.
+    // Além da forma normalizada guarda a minúscula, para "banho"/"medicamento" acharem sem normalizar nada.
+    static Map<String, TipoCuidado> montarTabela(Map<String, TipoCuidado> extras) {
+        Map<String, TipoCuidado> nova = new HashMap<>();
+        for (TipoCuidado tipo : values()) {
+            nova.put(tipo.name(), tipo);
         }
+        nova.putAll(ALIASES_PADRAO);
+        nova.putAll(extras);
+        Map<String, TipoCuidado> comMinusculas = new HashMap<>(nova);
+        nova.forEach((chave, tipo) -> comMinusculas.putIfAbsent(chave.toLowerCase(Locale.ROOT), tipo));
+        return Map.copyOf(comMinusculas);
     }
 
-    private static String normalize(String value) {
-        String v = value.trim();
+    // Mesmo resultado do antigo NFD + regex: trim, sem acentos, maiúsculas, '-' e ' ' viram '_' e "__" vira "_".
+    // null quando sobra vazio.
+    static String normalizar(String value) {
+        int inicio = 0;
+        int fim = value.length();
+        while (inicio < fim && value.charAt(inicio) <= ' ') {
+            inicio++;
+        }
+        while (fim > inicio && value.charAt(fim - 1) <= ' ') {
+            fim--;
+        }
+        if (inicio == fim) {
+            return null;
+        }
+
+        char[] saida = new char[fim - inicio];
+        int n = 0;
+        for (int i = inicio; i < fim; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                if (c >= 0x0300 && c <= 0x036F) {
+                    continue; // acento já decomposto (combinante)
+                }
+                char base = semAcento(c);
+                if (base == 0) {
+                    return normalizarLento(value); // fora do Latin-1: caminho completo, raro
+                }
+                c = base;
+            }
+            if (c >= 'a' && c <= 'z') {
+                c = (char) (c - ('a' - 'A'));
+            } else if (c == '-' || c == ' ') {
+                c = '_';
+            }
+            if (c == '_' && n > 0 && saida[n - 1] == '_') {
+                continue;
+            }
+            saida[n++] = c;
+        }
+        return new String(saida, 0, n);
+    }
 
-        // remove acentos
-        v = Normalizer.normalize(v, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}+", "");
+    // letras acentuadas do Latin-1 → letra base maiúscula (0 = não sabe)
+    private static char semAcento(char c) {
+        if (c > 0xFF) {
+            return 0;
+        }
+        return switch (Character.toUpperCase(c)) {
+            case 'À', 'Á', 'Â', 'Ã', 'Ä', 'Å' -> 'A';
+            case 'Ç' -> 'C';
+            case 'È', 'É', 'Ê', 'Ë' -> 'E';
+            case 'Ì', 'Í', 'Î', 'Ï' -> 'I';
+            case 'Ñ' -> 'N';
+            case 'Ò', 'Ó', 'Ô', 'Õ', 'Ö' -> 'O';
+            case 'Ù', 'Ú', 'Û', 'Ü' -> 'U';
+            case 'Ý' -> 'Y';
+            default -> 0;
+        };
+    }
 
-        // padroniza separadores e caixa
+    private static String normalizarLento(String value) {
+        String v = Normalizer.normalize(value.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
         v = v.toUpperCase(Locale.ROOT)
                 .replace('-', '_')
                 .replace(' ', '_')
                 .replaceAll("_+", "_");
-
-        return v;
+        return v.isEmpty() ? null : v;
     }
 
     @JsonValue
@@ -1,17 +1,23 @@
 package br.com.alessandra.petcare.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "tutor")
+// cache de 2º nível (região "tutor" em application.conf): findById/getReferenceById do tutor não vão ao banco
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tutor")
 @Data
 public class Tutor {
 
@@ -31,6 +37,12 @@ public class Tutor {
 
     private String endereco;
 
+    // Lock otimista e ETag do GET /tutores/{id}: toda alteração incrementa
+    @Version
+    @Column(name = "versao", nullable = false, columnDefinition = "bigint default 0")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long versao;
+
     @OneToMany(mappedBy = "tutor")
     @JsonIgnore
     @ToString.Exclude
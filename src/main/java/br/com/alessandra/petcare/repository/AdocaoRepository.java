@@ -4,10 +4,14 @@ import br.com.alessandra.petcare.model.Adocao;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.StatusAdocao;
 import br.com.alessandra.petcare.model.Tutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,9 +22,12 @@ import java.util.Optional;
 public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
 
     // Histórico de um pet (ordenado do mais recente para o mais antigo)
+    // pet e tutor vêm no mesmo SELECT (senão o Jackson inicializa 2 proxies por linha)
+    @EntityGraph(attributePaths = {"pet", "tutor"})
     List<Adocao> findByPetOrderByDataAdocaoDesc(Pet pet);
 
     // Histórico de um tutor
+    @EntityGraph(attributePaths = {"pet", "tutor"})
     List<Adocao> findByTutorOrderByDataAdocaoDesc(Tutor tutor);
 
     // Adoção ativa de um pet (para devolução)
@@ -39,6 +46,17 @@ public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
     @Query("delete from Adocao a where a.pet.id = :petId")
     void deleteByPetId(@Param("petId") Long petId);
 
+    // Purga em blocos: cada chamada é uma transação curta que apaga no máximo "quantidade" linhas do pet.
+    // Retorna quantas apagou (0 = acabou).
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "adocao"))
+    @Query(value = """
+            delete from adocao
+             where id in (select id from adocao where id_pet = :petId limit :quantidade)
+            """, nativeQuery = true)
+    int deleteLoteByPetId(@Param("petId") Long petId, @Param("quantidade") int quantidade);
+
     // responde com true ou false se existe pelo menos uma adoção com: pet.id = petid e status = status(ex: ativa)
     boolean existsByPet_IdAndStatus(Long petId, StatusAdocao status);
 
@@ -1,34 +1,49 @@
 package br.com.alessandra.petcare.repository;
 
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.model.Cuidado;
-import br.com.alessandra.petcare.model.TipoCuidado;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Optional;
 
+// JpaSpecificationExecutor: listagens por pet/tipo/período paginadas por cursor (ver CuidadoSpecifications)
 @Repository
-public interface CuidadoRepository extends JpaRepository<Cuidado, Long> {
-
-    // Lista todos os cuidados de um pet específico (mais recente primeiro)
-    List<Cuidado> findByPetIdOrderByDataDesc(Long petId);
-
-    // Lista cuidados por tipo (mais recente primeiro)
-    List<Cuidado> findByTipoOrderByDataDesc(TipoCuidado tipo);
-
-    // Lista cuidados por pet e tipo (mais recente primeiro)
-    List<Cuidado> findByPetIdAndTipoOrderByDataDesc(Long petId, TipoCuidado tipo);
+public interface CuidadoRepository extends JpaRepository<Cuidado, Long>, JpaSpecificationExecutor<Cuidado> {
 
     void deleteByPet_Id(Long petId);
     boolean existsByPet_Id(Long petId);
 
+    // versões para o GET condicional (ETag): o pet sai junto no JSON do cuidado
+    @Query("""
+            select new br.com.alessandra.petcare.dto.VersaoItem(c.id, c.versao, p.versao)
+              from Cuidado c join c.pet p
+             where c.id = :id
+            """)
+    Optional<VersaoItem> findVersaoById(@Param("id") Long id);
+
     @Transactional
     @Modifying
     @Query("delete from Cuidado c where c.pet.id = :petId")
     void deleteByPetId(@Param("petId") Long petId);
 
+    // Purga em blocos: cada chamada é uma transação curta que apaga no máximo "quantidade" linhas do pet.
+    // Retorna quantas apagou (0 = acabou).
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "cuidado"))
+    @Query(value = """
+            delete from cuidado
+             where id in (select id from cuidado where id_pet = :petId limit :quantidade)
+            """, nativeQuery = true)
+    int deleteLoteByPetId(@Param("petId") Long petId, @Param("quantidade") int quantidade);
+
 }
@@ -0,0 +1,73 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+
+// Filtros das listagens de cuidados (GET /cuidados, /pet/{id}, /tipo/{tipo}, /pet/{id}/tipo/{tipo}).
+// Ordem: mais recente primeiro (data desc, id desc), atendida pelos índices (id_pet|tipo, data_cuidado desc, id desc).
+public final class CuidadoSpecifications {
+
+    public static final Sort ORDEM = Sort.by(Sort.Order.desc("data"), Sort.Order.desc("id"));
+
+    private CuidadoSpecifications() {
+    }
+
+    public static Specification<Cuidado> listagem(Long petId, TipoCuidado tipo, LocalDate de, LocalDate ate,
+                                                  LocalDate cursorData, Long cursorId) {
+        return Specification.allOf(
+                pet(petId),
+                tipo(tipo),
+                dataEntre(de, ate),
+                antesDe(cursorData, cursorId),
+                comPet()
+        );
+    }
+
+    public static Specification<Cuidado> pet(Long petId) {
+        return petId == null ? null : (root, query, cb) -> cb.equal(root.get("pet").get("id"), petId);
+    }
+
+    public static Specification<Cuidado> tipo(TipoCuidado tipo) {
+        return tipo == null ? null : (root, query, cb) -> cb.equal(root.get("tipo"), tipo);
+    }
+
+    public static Specification<Cuidado> dataEntre(LocalDate de, LocalDate ate) {
+        if (de == null && ate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (de == null) {
+                return cb.lessThanOrEqualTo(root.get("data"), ate);
+            }
+            if (ate == null) {
+                return cb.greaterThanOrEqualTo(root.get("data"), de);
+            }
+            return cb.between(root.get("data"), de, ate);
+        };
+    }
+
+    // cursor composto (data, id): próxima página = o que vem depois do último item na ordem data desc, id desc
+    public static Specification<Cuidado> antesDe(LocalDate data, Long id) {
+        if (data == null || id == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("data"), data),
+                cb.and(cb.equal(root.get("data"), data), cb.lessThan(root.get("id"), id))
+        );
+    }
+
+    // pet no mesmo SELECT (o JSON do cuidado traz o pet); em consulta de contagem não pode ter fetch
+    public static Specification<Cuidado> comPet() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("pet");
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.dto.CustoMensal;
+import br.com.alessandra.petcare.model.CustoCuidadoMensal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface CustoCuidadoMensalRepository extends JpaRepository<CustoCuidadoMensal, Long>,
+        CustoCuidadoMensalRepositoryCustom {
+
+    @Query("""
+            select new br.com.alessandra.petcare.dto.CustoMensal(c.mes, c.tipo, sum(c.total), sum(c.quantidade))
+              from CustoCuidadoMensal c
+             where c.petId = :petId and c.mes between :de and :ate
+             group by c.mes, c.tipo
+             order by c.mes, c.tipo
+            """)
+    List<CustoMensal> porPet(@Param("petId") Long petId, @Param("de") LocalDate de, @Param("ate") LocalDate ate);
+
+    // cuidados feitos enquanto cada pet estava com o tutor, inclusive pets já devolvidos
+    @Query("""
+            select new br.com.alessandra.petcare.dto.CustoMensal(c.mes, c.tipo, sum(c.total), sum(c.quantidade))
+              from CustoCuidadoMensal c
+             where c.tutorId = :tutorId and c.mes between :de and :ate
+             group by c.mes, c.tipo
+             order by c.mes, c.tipo
+            """)
+    List<CustoMensal> porTutor(@Param("tutorId") Long tutorId, @Param("de") LocalDate de, @Param("ate") LocalDate ate);
+
+    @Query("""
+            select new br.com.alessandra.petcare.dto.CustoMensal(c.mes, c.tipo, sum(c.total), sum(c.quantidade))
+              from CustoCuidadoMensal c
+             where c.mes between :de and :ate
+             group by c.mes, c.tipo
+             order by c.mes, c.tipo
+            """)
+    List<CustoMensal> porMesETipo(@Param("de") LocalDate de, @Param("ate") LocalDate ate);
+}
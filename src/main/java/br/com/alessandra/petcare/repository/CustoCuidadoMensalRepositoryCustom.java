@@ -0,0 +1,14 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// SQL que depende do banco (ver CustoCuidadoMensalRepositoryCustomImpl)
+public interface CustoCuidadoMensalRepositoryCustom {
+
+    // Soma no balde do pet × mês × tipo × tutor de um cuidado feito em "data", criando o balde se ainda não existe,
+    // numa instrução só e na transação de quem chama
+    void somar(Long petId, LocalDate data, TipoCuidado tipo, BigDecimal valor, long quantidade);
+}
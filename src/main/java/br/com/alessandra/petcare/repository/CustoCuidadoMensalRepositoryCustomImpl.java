@@ -0,0 +1,69 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+class CustoCuidadoMensalRepositoryCustomImpl implements CustoCuidadoMensalRepositoryCustom {
+
+    // Tutor da adoção vigente na data do cuidado (0 = abrigo). O dia da adoção ainda é do abrigo e o da devolução
+    // ainda é do tutor; como não há cuidado com data futura, o balde de um cuidado não muda depois de gravado
+    // e a remoção/alteração acha o mesmo balde
+    private static final String TUTOR_NA_DATA = """
+            coalesce((select max(a.id_tutor) from adocao a
+                       where a.id_pet = :petId and a.data_adocao < :data
+                         and (a.data_devolucao is null or :data <= a.data_devolucao)), 0)""";
+
+    // Duas requisições criando o mesmo balde: o ON CONFLICT espera a outra transação e soma no balde dela,
+    // sem violar o uq_custo_pet_mes_tipo_tutor (o que derrubaria a transação do cuidado)
+    private static final String UPSERT = """
+            insert into custo_cuidado_mensal (id_pet, mes, tipo, id_tutor, total, quantidade)
+            values (:petId, :mes, :tipo, %s, :valor, :quantidade)
+            on conflict (id_pet, mes, tipo, id_tutor) do update
+               set total = custo_cuidado_mensal.total + excluded.total,
+                   quantidade = custo_cuidado_mensal.quantidade + excluded.quantidade
+            """.formatted(TUTOR_NA_DATA);
+
+    // O H2 (testes e perfil h2) não tem ON CONFLICT ... DO UPDATE; o MERGE dá o mesmo resultado
+    private static final String MERGE_H2 = """
+            merge into custo_cuidado_mensal c
+            using (values (cast(:petId as bigint), cast(:mes as date), cast(:tipo as varchar), %s,
+                           cast(:valor as numeric(14, 2)), cast(:quantidade as bigint)))
+                  as n (id_pet, mes, tipo, id_tutor, total, quantidade)
+               on c.id_pet = n.id_pet and c.mes = n.mes and c.tipo = n.tipo and c.id_tutor = n.id_tutor
+             when matched then update
+                  set total = c.total + n.total, quantidade = c.quantidade + n.quantidade
+             when not matched then insert (id_pet, mes, tipo, id_tutor, total, quantidade)
+                  values (n.id_pet, n.mes, n.tipo, n.id_tutor, n.total, n.quantidade)
+            """.formatted(TUTOR_NA_DATA);
+
+    private final EntityManager em;
+    private final String sql;
+
+    CustoCuidadoMensalRepositoryCustomImpl(EntityManager em) {
+        this.em = em;
+        boolean h2 = em.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof H2Dialect;
+        this.sql = h2 ? MERGE_H2 : UPSERT;
+    }
+
+    @Override
+    public void somar(Long petId, LocalDate data, TipoCuidado tipo, BigDecimal valor, long quantidade) {
+        em.createNativeQuery(sql)
+                // native.spaces: SQL nativo sem tabela declarada faria o Hibernate esvaziar todo o cache de 2º nível
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "custo_cuidado_mensal")
+                .setParameter("petId", petId)
+                // primeiro dia do mês
+                .setParameter("mes", data.withDayOfMonth(1))
+                .setParameter("data", data)
+                .setParameter("tipo", tipo.name())
+                .setParameter("valor", valor)
+                .setParameter("quantidade", quantidade)
+                .executeUpdate();
+    }
+}
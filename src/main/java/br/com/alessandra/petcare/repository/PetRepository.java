@@ -1,24 +1,153 @@
 package br.com.alessandra.petcare.repository;
 
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.Tutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import br.com.alessandra.petcare.model.StatusPet;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PetRepository extends JpaRepository<Pet, Long> {
+// JpaSpecificationExecutor: busca com filtros dinâmicos (ver PetSpecifications)
+public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet> {
+
+    // O tutor é serializado junto com o pet: as listagens já trazem o tutor no mesmo SELECT (left join),
+    // senão o Jackson dispara um SELECT por pet adotado (N+1).
+
+    @Override
+    @EntityGraph(attributePaths = "tutor")
+    List<Pet> findAll();
+
+    // Pets marcados como excluídos aguardam a purga: para a aplicação eles já não existem.
+    // O @SQLRestriction da entidade vale também para a busca por id (findById herdado = em.find): ela não é
+    // sobrescrita com JPQL para passar pelo cache de 2º nível. Marcar como excluído esvazia a região do Pet.
+
+    @Override
+    @Query("select case when count(p) > 0 then true else false end from Pet p where p.id = :id and p.excluido = false")
+    boolean existsById(@Param("id") Long id);
 
     // listar pets de um tutor específico
+    @EntityGraph(attributePaths = "tutor")
     List<Pet> findByTutor(Tutor tutor);
 
     // Retorna todos os pets filtrados pelo status informado(disponivel ou adotado)
+    @EntityGraph(attributePaths = "tutor")
     List<Pet> findByStatus(StatusPet status);
 
+    long countByStatus(StatusPet status);
+
+    // Paginação por cursor: próximos pets depois do id informado (usa a PK, custo igual em qualquer página)
+    @EntityGraph(attributePaths = "tutor")
+    List<Pet> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
+
+    // Paginação por cursor filtrando por status (usa o índice status + id)
+    @EntityGraph(attributePaths = "tutor")
+    List<Pet> findByStatusAndIdGreaterThanOrderByIdAsc(StatusPet status, Long after, Limit limit);
+
+    // --- versões para o GET condicional (ETag): só id e versões, sem montar a entidade ---
+
+    @Query("""
+            select new br.com.alessandra.petcare.dto.VersaoItem(p.id, p.versao, t.versao)
+              from Pet p left join p.tutor t
+             where p.id = :id
+            """)
+    Optional<VersaoItem> findVersaoById(@Param("id") Long id);
+
+    // mesma página do findByIdGreaterThanOrderByIdAsc (limite + 1 linhas)
+    @Query("""
+            select new br.com.alessandra.petcare.dto.VersaoItem(p.id, p.versao, t.versao)
+              from Pet p left join p.tutor t
+             where p.id > :after
+             order by p.id
+             limit :linhas
+            """)
+    List<VersaoItem> findVersoes(@Param("after") Long after, @Param("linhas") int linhas);
+
+    // mesma página do findByStatusAndIdGreaterThanOrderByIdAsc (limite + 1 linhas)
+    @Query("""
+            select new br.com.alessandra.petcare.dto.VersaoItem(p.id, p.versao, t.versao)
+              from Pet p left join p.tutor t
+             where p.status = :status and p.id > :after
+             order by p.id
+             limit :linhas
+            """)
+    List<VersaoItem> findVersoesPorStatus(@Param("status") StatusPet status, @Param("after") Long after,
+                                          @Param("linhas") int linhas);
+
+    // Pet com o tutor já carregado (resposta da adoção)
+    @EntityGraph(attributePaths = "tutor")
+    Optional<Pet> findComTutorById(Long id);
+
     // descobre se existe(ou quantos existem) pets vinculados a um tutor
     boolean existsByTutor_Id(Long tutorId);
 
+    // Adoção condicional em um único UPDATE: só adota se o pet ainda estiver DISPONIVEL e o tutor existir.
+    // Retorna 1 quando adotou e 0 quando não (pet inexistente, já adotado ou tutor inexistente).
+    // O lock de linha do UPDATE serializa requisições concorrentes para o mesmo pet: só uma vê DISPONIVEL.
+    // A versão é incrementada à mão (UPDATE em massa não passa pelo @Version): quem tinha o pet carregado leva 409.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Pet p
+               set p.status = br.com.alessandra.petcare.model.StatusPet.ADOTADO,
+                   p.tutor = :tutor,
+                   p.versao = p.versao + 1
+             where p.id = :idPet
+               and p.status = br.com.alessandra.petcare.model.StatusPet.DISPONIVEL
+               and p.excluido = false
+               and exists (select t.id from Tutor t where t = :tutor)
+            """)
+    int adotarSeDisponivel(@Param("idPet") Long idPet, @Param("tutor") Tutor tutor);
 
+    // Catálogo inteiro para o GET /pets/export, lido aos poucos por cursor no servidor (fetch size).
+    // Precisa rodar dentro de transação (no PostgreSQL o driver só usa cursor com autocommit desligado)
+    // e o Stream tem que ser fechado por quem consome.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select p from Pet p left join fetch p.tutor order by p.id")
+    Stream<Pet> streamTodosComTutor();
 
-}
+    // Deleção imediata: só marca (some das listagens na hora); as linhas saem depois, na purga.
+    // Condicional como a adoção: só marca se ainda estiver DISPONIVEL, então uma adoção que chegue
+    // entre a requisição e o UPDATE não deixa adoção ATIVA apontando para pet excluído (retorna 0).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Pet p
+               set p.excluido = true,
+                   p.versao = p.versao + 1
+             where p.id = :id
+               and p.status = br.com.alessandra.petcare.model.StatusPet.DISPONIVEL
+               and p.excluido = false
+            """)
+    int marcarExcluido(@Param("id") Long id);
 
+    // --- purga (SQL nativo: o @SQLRestriction esconde os excluídos das consultas JPQL) ---
+
+    // keyset: a purga segue a partir do último id tentado, sem voltar sempre aos menores
+    @Query(value = "select id from pet where excluido = true and id > :apos order by id limit :quantidade",
+            nativeQuery = true)
+    List<Long> findIdsExcluidos(@Param("apos") long apos, @Param("quantidade") int quantidade);
+
+    @Query(value = "select count(*) from pet where excluido = true", nativeQuery = true)
+    long countExcluidos();
+
+    // native.spaces: SQL nativo sem tabela declarada faria o Hibernate esvaziar todo o cache de 2º nível
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pet"))
+    @Query(value = "delete from pet where id = :id and excluido = true", nativeQuery = true)
+    int deleteExcluido(@Param("id") Long id);
+}
@@ -0,0 +1,96 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+// Filtros da busca de pets (GET /pets/search). Cada filtro vazio vira null e some do WHERE;
+// espécie e raça comparam em minúsculas (casam com os índices em lower(...) do db/indices.sql).
+public final class PetSpecifications {
+
+    private PetSpecifications() {
+    }
+
+    public static Specification<Pet> busca(FiltroPet filtro, long after) {
+        return Specification.allOf(
+                especie(filtro.especie()),
+                raca(filtro.raca()),
+                status(filtro.status()),
+                idadeEntre(filtro.idadeMin(), filtro.idadeMax()),
+                dataEntradaEntre(filtro.dataEntradaDe(), filtro.dataEntradaAte()),
+                idDepoisDe(after),
+                comTutor()
+        );
+    }
+
+    public static Specification<Pet> especie(String especie) {
+        String valor = normalizar(especie);
+        return valor == null ? null : (root, query, cb) -> cb.equal(cb.lower(root.get("especie")), valor);
+    }
+
+    public static Specification<Pet> raca(String raca) {
+        String valor = normalizar(raca);
+        return valor == null ? null : (root, query, cb) -> cb.equal(cb.lower(root.get("raca")), valor);
+    }
+
+    public static Specification<Pet> status(StatusPet status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Pet> idadeEntre(Integer min, Integer max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get("idade"), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get("idade"), min);
+            }
+            return cb.between(root.get("idade"), min, max);
+        };
+    }
+
+    public static Specification<Pet> dataEntradaEntre(LocalDate de, LocalDate ate) {
+        if (de == null && ate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (de == null) {
+                return cb.lessThanOrEqualTo(root.get("dataEntrada"), ate);
+            }
+            if (ate == null) {
+                return cb.greaterThanOrEqualTo(root.get("dataEntrada"), de);
+            }
+            return cb.between(root.get("dataEntrada"), de, ate);
+        };
+    }
+
+    // cursor: mesma paginação por id das listagens
+    public static Specification<Pet> idDepoisDe(long after) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+    }
+
+    // tutor no mesmo SELECT (sem N+1); em consulta de contagem não pode ter fetch
+    public static Specification<Pet> comTutor() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                root.fetch("tutor", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+
+    private static String normalizar(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        return valor.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,22 +1,76 @@
 package br.com.alessandra.petcare.repository;
 
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.model.Tutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TutorRepository extends JpaRepository<Tutor, Long> {
 
-    // Busca tutor pelo email (para validar e-mail único)
-    Optional<Tutor> findByEmail(String email);
+    // E-mail único (sem diferenciar maiúsculas) é garantido pelo índice uq_tutor_email_lower (db/indices.sql)
     Optional<Tutor> findByEmailIgnoreCase(String email);
     boolean existsByEmailIgnoreCase(String email);
 
-    // Lista todos os tutores ordenados por ID crescente
-    List<Tutor> findAllByOrderByIdAsc();
+    // todos os e-mails, lidos por cursor (carga do filtro de e-mails conhecidos); precisa de transação
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select t.email from Tutor t")
+    Stream<String> streamEmails();
 
+    // Paginação por cursor: próximos tutores depois do id informado
+    List<Tutor> findByIdGreaterThanOrderByIdAsc(Long after, Limit limit);
 
+    // --- versões para o GET condicional (ETag): só id e versão, sem montar a entidade ---
+
+    @Query("select new br.com.alessandra.petcare.dto.VersaoItem(t.id, t.versao) from Tutor t where t.id = :id")
+    Optional<VersaoItem> findVersaoById(@Param("id") Long id);
+
+    // mesma página do findByIdGreaterThanOrderByIdAsc (limite + 1 linhas)
+    @Query("""
+            select new br.com.alessandra.petcare.dto.VersaoItem(t.id, t.versao)
+              from Tutor t
+             where t.id > :after
+             order by t.id
+             limit :linhas
+            """)
+    List<VersaoItem> findVersoes(@Param("after") Long after, @Param("linhas") int linhas);
+
+    // Busca por prefixo de nome ou e-mail, sem diferenciar maiúsculas (balcão de atendimento).
+    // O prefixo já chega em minúsculas, com !/%/_ escapados por ! e terminado em %; os índices
+    // lower(...) text_pattern_ops do db/indices.sql atendem o LIKE 'abc%'.
+    @Query("""
+            select t from Tutor t
+             where (lower(t.nome) like :prefixo escape '!'
+                    or lower(t.email) like :prefixo escape '!')
+               and t.id > :after
+             order by t.id
+            """)
+    List<Tutor> buscarPorPrefixo(@Param("prefixo") String prefixo, @Param("after") Long after, Limit limit);
+
+    // Cartão do tutor: dados + totais numa única consulta (subconsultas escalares por índice:
+    // idx_pet_tutor_id, idx_adocao_tutor_data e idx_custo_tutor_mes). Gasto com cuidados = baldes do tutor
+    // (cuidados feitos enquanto cada pet estava com ele, mesma conta do GET /cuidados/custos/tutor/{id}).
+    @Query("""
+            select new br.com.alessandra.petcare.dto.ResumoTutor(
+                   t.id, t.nome, t.email, t.telefone, t.endereco,
+                   (select count(p) from Pet p where p.tutor = t and p.excluido = false),
+                   (select count(a) from Adocao a where a.tutor = t),
+                   (select count(d) from Adocao d
+                     where d.tutor = t and d.status = br.com.alessandra.petcare.model.StatusAdocao.ENCERRADA),
+                   (select sum(g.total) from CustoCuidadoMensal g where g.tutorId = t.id))
+              from Tutor t
+             where t.id = :id
+            """)
+    Optional<ResumoTutor> buscarResumo(@Param("id") Long id);
 }
@@ -0,0 +1,41 @@
+package br.com.alessandra.petcare.roteamento;
+
+import java.util.function.Supplier;
+
+/**
+ * Marca a thread da requisição para ler do primário mesmo em transação readOnly (read-your-writes):
+ * ligado pelo {@link LeituraNoPrimarioInterceptor} em escritas e logo depois delas, e por
+ * {@link #executar} em cargas que não podem ler uma réplica atrasada.
+ */
+public final class LeituraNoPrimario {
+
+    private static final ThreadLocal<Boolean> ATIVA = new ThreadLocal<>();
+
+    private LeituraNoPrimario() {
+    }
+
+    public static void ativar() {
+        ATIVA.set(Boolean.TRUE);
+    }
+
+    public static void desativar() {
+        ATIVA.remove();
+    }
+
+    public static boolean ativa() {
+        return ATIVA.get() != null;
+    }
+
+    // Roda a leitura no primário (cada transação readOnly aberta dentro dela) e devolve a thread como estava
+    public static <T> T executar(Supplier<T> leitura) {
+        boolean jaAtiva = ativa();
+        ativar();
+        try {
+            return leitura.get();
+        } finally {
+            if (!jaAtiva) {
+                desativar();
+            }
+        }
+    }
+}
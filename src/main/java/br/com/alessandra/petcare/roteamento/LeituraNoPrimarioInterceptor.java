@@ -0,0 +1,74 @@
+package br.com.alessandra.petcare.roteamento;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Read-your-writes com réplica atrasada: requisição que escreve (POST/PUT/PATCH/DELETE) lê do primário
+ * e devolve o cookie petcare-primario; enquanto o cookie valer (janela de alguns segundos, maior que o
+ * atraso típico da réplica) as leituras do mesmo cliente também vão para o primário.
+ * Ex: POST /adocoes seguido de GET /pets/{id} mostra o pet já ADOTADO.
+ */
+public class LeituraNoPrimarioInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String COOKIE = "petcare-primario";
+
+    private static final Set<String> METODOS_SEGUROS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration janela;
+
+    public LeituraNoPrimarioInterceptor(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!METODOS_SEGUROS.contains(request.getMethod())) {
+            LeituraNoPrimario.ativar();
+            // antes do handler: depois dele a resposta pode já ter sido enviada
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, "1")
+                    .maxAge(janela)
+                    .path("/")
+                    .httpOnly(true)
+                    .sameSite("Lax")
+                    .build()
+                    .toString());
+        } else if (temCookie(request)) {
+            LeituraNoPrimario.ativar();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        LeituraNoPrimario.desativar();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        // a thread volta para o pool; o dispatch assíncrono passa pelo preHandle de novo
+        LeituraNoPrimario.desativar();
+    }
+
+    private static boolean temCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+package br.com.alessandra.petcare.roteamento;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Manda a conexão para a réplica quando a transação corrente é @Transactional(readOnly = true) e a
+ * requisição não pediu leitura no primário ({@link LeituraNoPrimario}); o resto vai para o primário.
+ *
+ * A decisão precisa acontecer no primeiro comando, não no begin: por isso o ReplicaConfig embrulha este
+ * DataSource num LazyConnectionDataSourceProxy (o flag de readOnly da transação só fica visível depois
+ * que o JpaTransactionManager pede a conexão).
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino { PRIMARIO, REPLICA }
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return vaiParaReplica(TransactionSynchronizationManager.isCurrentTransactionReadOnly())
+                ? Destino.REPLICA
+                : Destino.PRIMARIO;
+    }
+
+    // mesma regra usada pelo RoteamentoJpaDialect para decidir o modo de cache da sessão
+    static boolean vaiParaReplica(boolean transacaoReadOnly) {
+        return transacaoReadOnly && !LeituraNoPrimario.ativa();
+    }
+}
@@ -0,0 +1,30 @@
+package br.com.alessandra.petcare.roteamento;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Sessão cuja transação vai para a réplica só lê do cache de 2º nível (CacheMode.GET), não grava nele.
+ * Os UPDATEs em massa (adoção, exclusão) despejam a região "pet"; sem isso o próximo findById readOnly
+ * leria a linha da réplica ainda atrasada e a deixaria no cache até o TTL vencer. Quem grava no cache
+ * passa a ser só quem lê do primário (escritas e {@link LeituraNoPrimario}).
+ *
+ * Decide pela definição da transação: o flag readOnly do TransactionSynchronizationManager só é ligado
+ * depois do begin. Roda em todo begin (e volta para NORMAL) porque com open-in-view a sessão é a mesma
+ * para as transações da requisição.
+ */
+public class RoteamentoJpaDialect extends HibernateJpaDialect {
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        getSession(entityManager).setCacheMode(
+                RoteamentoDataSource.vaiParaReplica(definition.isReadOnly()) ? CacheMode.GET : CacheMode.NORMAL);
+        return super.beginTransaction(entityManager, definition);
+    }
+}
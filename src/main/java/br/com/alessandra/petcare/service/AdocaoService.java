@@ -8,6 +8,7 @@ import br.com.alessandra.petcare.repository.AdocaoRepository;
 import br.com.alessandra.petcare.repository.PetRepository;
 import br.com.alessandra.petcare.repository.TutorRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -27,6 +28,7 @@ public class AdocaoService {
     }
 
     // Histórico de adoções de um PET (mais recente primeiro)
+    @Transactional(readOnly = true)
     public List<Adocao> listarPorPet(Long idPet) {
         Pet pet = petRepository.findById(idPet)
                 .orElseThrow(() -> new NotFoundException("Pet não encontrado com id: " + idPet));
@@ -35,6 +37,7 @@ public class AdocaoService {
     }
 
     // Histórico de adoções de um TUTOR (mais recente primeiro)
+    @Transactional(readOnly = true)
     public List<Adocao> listarPorTutor(Long idTutor) {
         Tutor tutor = tutorRepository.findById(idTutor)
                 .orElseThrow(() -> new NotFoundException("Tutor não encontrado com id: " + idTutor));
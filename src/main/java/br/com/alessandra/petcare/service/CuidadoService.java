@@ -1,77 +1,142 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.NotFoundException;
+import br.com.alessandra.petcare.metrica.MetricasNegocio;
+import br.com.alessandra.petcare.model.AliasesTipoCuidado;
 import br.com.alessandra.petcare.model.Cuidado;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.TipoCuidado;
 import br.com.alessandra.petcare.repository.CuidadoRepository;
+import br.com.alessandra.petcare.repository.CuidadoSpecifications;
 import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.service.CustoCuidadoService.Lancamento;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CuidadoService {
 
     private final CuidadoRepository cuidadoRepository;
     private final PetRepository petRepository;
+    private final CustoCuidadoService custoCuidadoService;
+    private final MetricasNegocio metricasNegocio;
+    private final AliasesTipoCuidado aliasesTipoCuidado;
 
     public CuidadoService(CuidadoRepository cuidadoRepository,
-                          PetRepository petRepository) {
+                          PetRepository petRepository,
+                          CustoCuidadoService custoCuidadoService,
+                          MetricasNegocio metricasNegocio,
+                          AliasesTipoCuidado aliasesTipoCuidado) {
         this.cuidadoRepository = cuidadoRepository;
         this.petRepository = petRepository;
+        this.custoCuidadoService = custoCuidadoService;
+        this.metricasNegocio = metricasNegocio;
+        this.aliasesTipoCuidado = aliasesTipoCuidado;
     }
 
+    // criar/atualizar/deletar mexem no cuidado e no balde de custo (custo_cuidado_mensal) na mesma transação
+    @Transactional
     public Cuidado criar(Cuidado cuidado) {
         Pet pet = validarEPegarPet(cuidado);
         cuidado.setPet(pet);
 
         validarENormalizar(cuidado);
 
-        return cuidadoRepository.save(cuidado);
+        Cuidado salvo = cuidadoRepository.save(cuidado);
+        custoCuidadoService.registrar(Lancamento.de(salvo));
+        metricasNegocio.cuidado(salvo.getTipo());
+        return salvo;
     }
 
-    public List<Cuidado> listarTodos() {
-        return cuidadoRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaCursor<Cuidado> listarTodos(LocalDate de, LocalDate ate, String after, Integer limit) {
+        return listar(null, null, de, ate, after, limit);
     }
 
+    @Transactional(readOnly = true)
     public Cuidado buscarPorId(Long id) {
         return cuidadoRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Cuidado não encontrado com id: " + id));
     }
 
-    public List<Cuidado> listarPorPet(Long idPet) {
-        if (!petRepository.existsById(idPet)) {
-            throw new NotFoundException("Pet não encontrado com id: " + idPet);
-        }
-        return cuidadoRepository.findByPetIdOrderByDataDesc(idPet);
+    // GET condicional (If-None-Match): versão do cuidado e do pet, sem carregar entidades
+    @Transactional(readOnly = true)
+    public Optional<VersaoItem> versao(Long id) {
+        return cuidadoRepository.findVersaoById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<Cuidado> listarPorPet(Long idPet, LocalDate de, LocalDate ate, String after, Integer limit) {
+        validarPetExiste(idPet);
+        return listar(idPet, null, de, ate, after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<Cuidado> listarPorTipo(String tipo, LocalDate de, LocalDate ate, String after, Integer limit) {
+        TipoCuidado tipoEnum = parseTipo(tipo);
+        return listar(null, tipoEnum, de, ate, after, limit);
     }
 
-    public List<Cuidado> listarPorTipo(String tipo) {
+    @Transactional(readOnly = true)
+    public PaginaCursor<Cuidado> listarPorPetETipo(Long idPet, String tipo, LocalDate de, LocalDate ate,
+                                                   String after, Integer limit) {
+        validarPetExiste(idPet);
         TipoCuidado tipoEnum = parseTipo(tipo);
-        return cuidadoRepository.findByTipoOrderByDataDesc(tipoEnum);
+        return listar(idPet, tipoEnum, de, ate, after, limit);
     }
 
-    public List<Cuidado> listarPorPetETipo(Long idPet, String tipo) {
+    // Mais recente primeiro, paginado por cursor composto "data_id" (ex: 2025-03-10_42): a data sozinha
+    // não serve de cursor porque vários cuidados caem no mesmo dia.
+    private PaginaCursor<Cuidado> listar(Long idPet, TipoCuidado tipo, LocalDate de, LocalDate ate,
+                                         String after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        if (de != null && ate != null && de.isAfter(ate)) {
+            throw new BusinessException("de não pode ser depois de ate.");
+        }
+
+        LocalDate cursorData = null;
+        Long cursorId = null;
+        if (after != null && !after.isBlank()) {
+            String[] partes = after.split("_", 2);
+            try {
+                cursorData = LocalDate.parse(partes[0]);
+                cursorId = Long.valueOf(partes[1]);
+            } catch (RuntimeException e) {
+                throw new BusinessException("Cursor inválido: " + after);
+            }
+        }
+
+        List<Cuidado> linhas = cuidadoRepository.findBy(
+                CuidadoSpecifications.listagem(idPet, tipo, de, ate, cursorData, cursorId),
+                q -> q.sortBy(CuidadoSpecifications.ORDEM).limit(limite + 1).all());
+        return PaginaCursor.of(linhas, limite, c -> c.getData() + "_" + c.getId());
+    }
+
+    private void validarPetExiste(Long idPet) {
         if (!petRepository.existsById(idPet)) {
             throw new NotFoundException("Pet não encontrado com id: " + idPet);
         }
-        TipoCuidado tipoEnum = parseTipo(tipo);
-        return cuidadoRepository.findByPetIdAndTipoOrderByDataDesc(idPet, tipoEnum);
     }
 
     private TipoCuidado parseTipo(String tipo) {
-        try {
-            return TipoCuidado.from(tipo);
-        } catch (Exception e) {
+        TipoCuidado tipoEnum = aliasesTipoCuidado.resolver(tipo);
+        if (tipoEnum == null) {
             throw new BusinessException("Tipo de cuidado inválido: " + tipo);
         }
+        return tipoEnum;
     }
 
+    @Transactional
     public Cuidado atualizar(Long id, Cuidado dadosAtualizados) {
         Cuidado cuidado = buscarPorId(id);
+        Lancamento antes = Lancamento.de(cuidado);
 
         // mantém pet atual se não vier no body
         if (dadosAtualizados.getPet() != null && dadosAtualizados.getPet().getId() != null) {
@@ -95,11 +160,15 @@ public class CuidadoService {
 
         validarENormalizar(cuidado);
 
-        return cuidadoRepository.save(cuidado);
+        Cuidado salvo = cuidadoRepository.save(cuidado);
+        custoCuidadoService.mover(antes, Lancamento.de(salvo));
+        return salvo;
     }
 
+    @Transactional
     public void deletar(Long id) {
         Cuidado cuidado = buscarPorId(id);
+        custoCuidadoService.remover(Lancamento.de(cuidado));
         cuidadoRepository.delete(cuidado);
     }
 
@@ -117,7 +186,8 @@ public class CuidadoService {
                         "Pet não encontrado com id: " + cuidado.getPet().getId()));
     }
 
-    private void validarENormalizar(Cuidado cuidado) {
+    // sem estado nem banco: o ValidacaoBenchmark chama direto
+    static void validarENormalizar(Cuidado cuidado) {
         // tipo obrigatório
         if (cuidado.getTipo() == null) {
             throw new BusinessException("O tipo de cuidado é obrigatório.");
@@ -150,7 +220,7 @@ public class CuidadoService {
         }
     }
 
-    private boolean precisaDescricao(TipoCuidado tipo) {
+    private static boolean precisaDescricao(TipoCuidado tipo) {
         return switch (tipo) {
             case VACINA, MEDICACAO, VERMIFUGO, CONSULTA, OUTRO -> true;
             default -> false; // BANHO, TOSA podem ser sem descrição
@@ -0,0 +1,132 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.dto.CustoMensal;
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.exception.NotFoundException;
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.repository.CustoCuidadoMensalRepository;
+import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.repository.TutorRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Totais de custo por pet × mês × tipo × tutor (tabela custo_cuidado_mensal).
+ *
+ * O CuidadoService chama {@link #registrar}/{@link #remover} dentro da mesma transação em que grava o cuidado,
+ * então os baldes andam junto com os cuidados; os relatórios só somam baldes.
+ */
+@Service
+public class CustoCuidadoService {
+
+    // período padrão dos relatórios e maior período aceito
+    static final int MESES_PADRAO = 12;
+    static final int MESES_MAXIMO = 60;
+
+    private final CustoCuidadoMensalRepository custoRepository;
+    private final PetRepository petRepository;
+    private final TutorRepository tutorRepository;
+
+    public CustoCuidadoService(CustoCuidadoMensalRepository custoRepository,
+                               PetRepository petRepository,
+                               TutorRepository tutorRepository) {
+        this.custoRepository = custoRepository;
+        this.petRepository = petRepository;
+        this.tutorRepository = tutorRepository;
+    }
+
+    // Foto do que o cuidado soma num balde; tirar antes de alterar o cuidado (ver CuidadoService.atualizar)
+    public record Lancamento(Long petId, LocalDate data, TipoCuidado tipo, BigDecimal custo) {
+
+        public static Lancamento de(Cuidado cuidado) {
+            return new Lancamento(
+                    cuidado.getPet().getId(),
+                    cuidado.getData(),
+                    cuidado.getTipo(),
+                    cuidado.getCusto() == null ? BigDecimal.ZERO : cuidado.getCusto());
+        }
+
+        // mesma data: mesmo mês e mesmo tutor (a data decide a adoção vigente)
+        boolean mesmoBalde(Lancamento outro) {
+            return petId.equals(outro.petId) && data.equals(outro.data) && tipo == outro.tipo;
+        }
+    }
+
+    public void registrar(Lancamento lancamento) {
+        somar(lancamento, lancamento.custo(), 1);
+    }
+
+    public void remover(Lancamento lancamento) {
+        somar(lancamento, lancamento.custo().negate(), -1);
+    }
+
+    // Cuidado alterado: se mudou de pet, data ou tipo o custo sai do balde antigo e entra no novo
+    public void mover(Lancamento antes, Lancamento depois) {
+        if (antes.mesmoBalde(depois)) {
+            BigDecimal diferenca = depois.custo().subtract(antes.custo());
+            if (diferenca.signum() != 0) {
+                somar(depois, diferenca, 0);
+            }
+            return;
+        }
+        remover(antes);
+        registrar(depois);
+    }
+
+    private void somar(Lancamento balde, BigDecimal valor, long quantidade) {
+        custoRepository.somar(balde.petId(), balde.data(), balde.tipo(), valor, quantidade);
+    }
+
+    // ==========================
+    // Relatórios
+    // ==========================
+
+    @Transactional(readOnly = true)
+    public List<CustoMensal> porPet(Long idPet, YearMonth de, YearMonth ate) {
+        if (!petRepository.existsById(idPet)) {
+            throw new NotFoundException("Pet não encontrado com id: " + idPet);
+        }
+        YearMonth fim = fim(ate);
+        YearMonth inicio = inicio(de, fim);
+        return custoRepository.porPet(idPet, inicio.atDay(1), fim.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustoMensal> porTutor(Long idTutor, YearMonth de, YearMonth ate) {
+        if (!tutorRepository.existsById(idTutor)) {
+            throw new NotFoundException("Tutor não encontrado com id: " + idTutor);
+        }
+        YearMonth fim = fim(ate);
+        YearMonth inicio = inicio(de, fim);
+        return custoRepository.porTutor(idTutor, inicio.atDay(1), fim.atDay(1));
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustoMensal> porMesETipo(YearMonth de, YearMonth ate) {
+        YearMonth fim = fim(ate);
+        YearMonth inicio = inicio(de, fim);
+        return custoRepository.porMesETipo(inicio.atDay(1), fim.atDay(1));
+    }
+
+    private static YearMonth fim(YearMonth ate) {
+        return ate == null ? YearMonth.now() : ate;
+    }
+
+    // sem "de": os últimos 12 meses até "ate"
+    private static YearMonth inicio(YearMonth de, YearMonth fim) {
+        YearMonth inicio = de == null ? fim.minusMonths(MESES_PADRAO - 1) : de;
+        if (inicio.isAfter(fim)) {
+            throw new BusinessException("de não pode ser depois de ate.");
+        }
+        if (inicio.plusMonths(MESES_MAXIMO).isBefore(fim.plusMonths(1))) {
+            throw new BusinessException("O período aceita no máximo " + MESES_MAXIMO + " meses.");
+        }
+        return inicio;
+    }
+}
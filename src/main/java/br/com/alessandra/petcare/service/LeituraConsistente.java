@@ -0,0 +1,21 @@
+package br.com.alessandra.petcare.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.function.Supplier;
+
+/**
+ * GET condicional (If-None-Match): a consulta de versões, que vira o ETag, e a carga do corpo quando o
+ * ETag não bate rodam numa transação só. Em REPEATABLE_READ o PostgreSQL lê as duas do mesmo snapshot;
+ * em READ COMMITTED uma escrita commitada entre elas faria o ETag descrever outra versão do corpo.
+ */
+@Component
+public class LeituraConsistente {
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T executar(Supplier<T> leitura) {
+        return leitura.get();
+    }
+}
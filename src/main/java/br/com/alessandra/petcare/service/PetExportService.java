@@ -0,0 +1,62 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.repository.PetRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exportação do catálogo completo (sync noturno com o site parceiro) em NDJSON: um pet por linha.
+// Lê do banco por cursor e escreve direto na resposta, sem montar a lista nem o array JSON em memória.
+@Service
+public class PetExportService {
+
+    // a cada quantos pets o contexto de persistência é limpo (e a saída é descarregada)
+    static final int LIMPAR_A_CADA = 500;
+
+    private final PetRepository petRepository;
+    private final ObjectWriter writer;
+    private final EntityManager entityManager;
+
+    public PetExportService(PetRepository petRepository, ObjectMapper objectMapper, EntityManager entityManager) {
+        this.petRepository = petRepository;
+        // o flush fica por nossa conta (em blocos), não a cada pet
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.entityManager = entityManager;
+    }
+
+    // Retorna quantos pets foram exportados. Não fecha a saída (é de quem chamou).
+    @Transactional(readOnly = true)
+    public long exportar(OutputStream saida) throws IOException {
+        long total = 0;
+        try (Stream<Pet> pets = petRepository.streamTodosComTutor();
+             JsonGenerator gerador = writer.getFactory().createGenerator(saida)) {
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null); // separador entre linhas é o '\n' abaixo
+
+            Iterator<Pet> iterator = pets.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(gerador, iterator.next());
+                gerador.writeRaw('\n');
+                total++;
+
+                if (total % LIMPAR_A_CADA == 0) {
+                    // pets já escritos não precisam ficar no contexto: memória constante em qualquer tamanho de catálogo
+                    entityManager.clear();
+                    gerador.flush();
+                }
+            }
+            gerador.flush();
+        }
+        return total;
+    }
+}
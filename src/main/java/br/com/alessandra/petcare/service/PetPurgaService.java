@@ -0,0 +1,126 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.dto.StatusPurga;
+import br.com.alessandra.petcare.repository.AdocaoRepository;
+import br.com.alessandra.petcare.repository.CuidadoRepository;
+import br.com.alessandra.petcare.repository.PetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+// Purga em segundo plano dos pets deletados (PetService.deletar só marca como excluído).
+// Apaga cuidados e adoções em blocos, cada bloco na sua transação curta, e por último a linha do pet:
+// nenhuma requisição espera e nenhum lock fica preso pelo histórico inteiro de um pet.
+@Service
+public class PetPurgaService {
+
+    private static final Logger log = LoggerFactory.getLogger(PetPurgaService.class);
+
+    // pets processados por rodada
+    static final int PETS_POR_RODADA = 20;
+
+    private final PetRepository petRepository;
+    private final CuidadoRepository cuidadoRepository;
+    private final AdocaoRepository adocaoRepository;
+    private final int tamanhoLote;
+
+    private final LongAdder petsPurgados = new LongAdder();
+    private final LongAdder cuidadosApagados = new LongAdder();
+    private final LongAdder adocoesApagadas = new LongAdder();
+    private final AtomicLong ultimaTaxa = new AtomicLong(); // Double.doubleToLongBits
+
+    // último id tentado: a rodada seguinte continua depois dele, então um pet que falha sempre
+    // não trava os de id maior. Ao chegar no fim volta para o começo e tenta de novo os que falharam.
+    private long cursor;
+
+    public PetPurgaService(PetRepository petRepository,
+                           CuidadoRepository cuidadoRepository,
+                           AdocaoRepository adocaoRepository,
+                           @Value("${petcare.purga.tamanho-lote:1000}") int tamanhoLote) {
+        this.petRepository = petRepository;
+        this.cuidadoRepository = cuidadoRepository;
+        this.adocaoRepository = adocaoRepository;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    @Scheduled(
+            fixedDelayString = "${petcare.purga.intervalo:PT5S}",
+            initialDelayString = "${petcare.purga.intervalo:PT5S}"
+    )
+    public synchronized void processar() {
+        List<Long> ids = petRepository.findIdsExcluidos(cursor, PETS_POR_RODADA);
+        if (ids.isEmpty() && cursor > 0) {
+            cursor = 0; // fim da fila: recomeça do primeiro
+            ids = petRepository.findIdsExcluidos(cursor, PETS_POR_RODADA);
+        }
+        for (Long idPet : ids) {
+            cursor = idPet;
+            try {
+                purgar(idPet);
+            } catch (RuntimeException e) {
+                // fica marcado e volta quando a fila der a volta
+                log.warn("Falha na purga do pet {}; nova tentativa na próxima volta da fila", idPet, e);
+            }
+        }
+    }
+
+    // Retorna true quando a linha do pet foi apagada
+    boolean purgar(Long idPet) {
+        long inicio = System.nanoTime();
+
+        long cuidados = apagarEmLotes(idPet, "cuidados", cuidadosApagados,
+                () -> cuidadoRepository.deleteLoteByPetId(idPet, tamanhoLote));
+        long adocoes = apagarEmLotes(idPet, "adoções", adocoesApagadas,
+                () -> adocaoRepository.deleteLoteByPetId(idPet, tamanhoLote));
+
+        int pets;
+        try {
+            pets = petRepository.deleteExcluido(idPet);
+        } catch (DataIntegrityViolationException e) {
+            // filho gravado depois dos lotes (ex: cuidado criado no meio da purga): próxima rodada apaga
+            log.info("Purga do pet {} adiada: ainda há registros vinculados", idPet);
+            return false;
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double taxa = segundos > 0 ? (cuidados + adocoes + pets) / segundos : 0;
+        ultimaTaxa.set(Double.doubleToLongBits(taxa));
+        petsPurgados.add(pets);
+
+        log.info("Purga do pet {} concluída: {} cuidados e {} adoções em {} ms ({} linhas/s)",
+                idPet, cuidados, adocoes, Math.round(segundos * 1000), Math.round(taxa));
+        return pets == 1;
+    }
+
+    private long apagarEmLotes(Long idPet, String tabela, LongAdder contador, IntSupplier lote) {
+        long total = 0;
+        int apagadas;
+        do {
+            apagadas = lote.getAsInt();
+            total += apagadas;
+            if (apagadas > 0) {
+                contador.add(apagadas);
+                log.debug("Purga do pet {}: {} {} apagados até agora", idPet, total, tabela);
+            }
+        } while (apagadas == tamanhoLote);
+        return total;
+    }
+
+    public StatusPurga status() {
+        return new StatusPurga(
+                petRepository.countExcluidos(),
+                petsPurgados.sum(),
+                cuidadosApagados.sum(),
+                adocoesApagadas.sum(),
+                Double.longBitsToDouble(ultimaTaxa.get())
+        );
+    }
+}
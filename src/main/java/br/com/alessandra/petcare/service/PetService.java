@@ -1,18 +1,31 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.cache.DisponibilidadeIndex;
+import br.com.alessandra.petcare.cache.PetAlteradoEvent;
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.NotFoundException;
+import br.com.alessandra.petcare.metrica.MetricasNegocio;
 import br.com.alessandra.petcare.model.*;
 import br.com.alessandra.petcare.repository.AdocaoRepository;
-import br.com.alessandra.petcare.repository.CuidadoRepository;
 import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.repository.PetSpecifications;
 import br.com.alessandra.petcare.repository.TutorRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import br.com.alessandra.petcare.model.StatusAdocao;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class PetService {
@@ -20,39 +33,103 @@ public class PetService {
     private final PetRepository petRepository;
     private final TutorRepository tutorRepository;
     private final AdocaoRepository adocaoRepository;
-    private final CuidadoRepository cuidadoRepository;
+    private final ValidacaoItem validacaoItem;
+    private final DisponibilidadeIndex disponibilidadeIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MetricasNegocio metricasNegocio;
+
+    // limite por requisição do POST /pets/batch
+    static final int LOTE_MAXIMO = 1000;
 
     public PetService(PetRepository petRepository,
                       TutorRepository tutorRepository,
                       AdocaoRepository adocaoRepository,
-                      CuidadoRepository cuidadoRepository){
+                      ValidacaoItem validacaoItem,
+                      DisponibilidadeIndex disponibilidadeIndex,
+                      ApplicationEventPublisher eventPublisher,
+                      MetricasNegocio metricasNegocio){
         this.petRepository = petRepository;
         this.tutorRepository = tutorRepository;
         this.adocaoRepository = adocaoRepository;
-        this.cuidadoRepository = cuidadoRepository;
+        this.validacaoItem = validacaoItem;
+        this.disponibilidadeIndex = disponibilidadeIndex;
+        this.eventPublisher = eventPublisher;
+        this.metricasNegocio = metricasNegocio;
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<Pet> listarTodos(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        List<Pet> linhas = petRepository.findByIdGreaterThanOrderByIdAsc(
+                PaginaCursor.depoisDe(after), Limit.of(limite + 1));
+        return PaginaCursor.of(linhas, limite, Pet::getId);
     }
 
-    public List<Pet> listarTodos() {
-        return petRepository.findAll();
+    @Transactional(readOnly = true)
+    public PaginaCursor<Pet> listarPorStatus(StatusPet status, Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        List<Pet> linhas = petRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                status, PaginaCursor.depoisDe(after), Limit.of(limite + 1));
+        return PaginaCursor.of(linhas, limite, Pet::getId);
     }
 
-    public List<Pet> listarPorStatus(StatusPet status) {
-        return petRepository.findByStatus(status);
+    // Endpoint mais acessado (página de adoção): sai do índice em memória; banco só se o índice estiver fora do ar
+    public PaginaCursor<Pet> listarDisponiveis(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        return disponibilidadeIndex.pagina(PaginaCursor.depoisDe(after), limite)
+                .orElseGet(() -> listarPorStatus(StatusPet.DISPONIVEL, after, limit));
     }
 
-    public List<Pet> listarDisponiveis() {
-        return listarPorStatus(StatusPet.DISPONIVEL);
+    @Transactional(readOnly = true)
+    public PaginaCursor<Pet> listarAdotados(Long after, Integer limit) {
+        return listarPorStatus(StatusPet.ADOTADO, after, limit);
     }
 
-    public List<Pet> listarAdotados() {
-        return listarPorStatus(StatusPet.ADOTADO);
+    // Busca com filtros opcionais, resolvida no banco (só as linhas que casam) e paginada por cursor
+    @Transactional(readOnly = true)
+    public PaginaCursor<Pet> buscar(FiltroPet filtro, Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        if (filtro.idadeMin() != null && filtro.idadeMax() != null && filtro.idadeMin() > filtro.idadeMax()) {
+            throw new BusinessException("idadeMin não pode ser maior que idadeMax.");
+        }
+        if (filtro.dataEntradaDe() != null && filtro.dataEntradaAte() != null
+                && filtro.dataEntradaDe().isAfter(filtro.dataEntradaAte())) {
+            throw new BusinessException("dataEntradaDe não pode ser depois de dataEntradaAte.");
+        }
+
+        List<Pet> linhas = petRepository.findBy(
+                PetSpecifications.busca(filtro, PaginaCursor.depoisDe(after)),
+                q -> q.sortBy(Sort.by("id")).limit(limite + 1).all());
+        return PaginaCursor.of(linhas, limite, Pet::getId);
     }
 
+    @Transactional(readOnly = true)
     public Pet buscarPorId(Long id) {
         return petRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Pet não encontrado com id: " + id));
     }
 
+    // GET condicional (If-None-Match): versões da mesma página/pet, sem carregar entidades
+    @Transactional(readOnly = true)
+    public Optional<VersaoItem> versao(Long id) {
+        return petRepository.findVersaoById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<VersaoItem> versoes(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        return PaginaCursor.of(petRepository.findVersoes(PaginaCursor.depoisDe(after), limite + 1),
+                limite, VersaoItem::id);
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<VersaoItem> versoesAdotados(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        return PaginaCursor.of(petRepository.findVersoesPorStatus(
+                StatusPet.ADOTADO, PaginaCursor.depoisDe(after), limite + 1), limite, VersaoItem::id);
+    }
+
+    @Transactional(readOnly = true)
     public List<Pet> listarPorTutor(Long idTutor) {
         Tutor tutor = tutorRepository.findById(idTutor)
                 .orElseThrow(() -> new NotFoundException("Tutor não encontrado com id: " + idTutor));
@@ -60,18 +137,69 @@ public class PetService {
     }
 
     public Pet criar(Pet pet) {
-        // Regra: Pet NÃO nasce adotado e NÃO nasce com tutor.
+        validarNovoPet(pet);
+
+        pet.setStatus(StatusPet.DISPONIVEL);
+        pet.setTutor(null);
+
+        Pet salvo = petRepository.save(pet);
+        eventPublisher.publishEvent(PetAlteradoEvent.de(salvo));
+        return salvo;
+    }
+
+    // Entrada em lote (ninhadas, transferências): cada item passa pelas mesmas regras do criar.
+    // Os válidos são persistidos juntos; com ids da sequence em blocos, os INSERTs saem em batch JDBC.
+    @Transactional
+    public List<ResultadoLote> criarEmLote(List<Pet> pets) {
+        if (pets == null || pets.isEmpty()) {
+            throw new BusinessException("Informe ao menos um pet no lote.");
+        }
+        if (pets.size() > LOTE_MAXIMO) {
+            throw new BusinessException("O lote aceita no máximo " + LOTE_MAXIMO + " pets por requisição.");
+        }
+
+        ResultadoLote[] resultados = new ResultadoLote[pets.size()];
+        List<Pet> validos = new ArrayList<>(pets.size());
+        List<Integer> indicesValidos = new ArrayList<>(pets.size());
+
+        for (int i = 0; i < pets.size(); i++) {
+            Pet pet = pets.get(i);
+            try {
+                validacaoItem.validar(pet, "Pet");
+                validarNovoPet(pet);
+            } catch (BusinessException e) {
+                resultados[i] = ResultadoLote.erro(i, e.getMessage());
+                continue;
+            }
+            pet.setStatus(StatusPet.DISPONIVEL);
+            pet.setTutor(null);
+            validos.add(pet);
+            indicesValidos.add(i);
+        }
+
+        List<Pet> salvos = petRepository.saveAll(validos);
+        for (int i = 0; i < salvos.size(); i++) {
+            int indice = indicesValidos.get(i);
+            resultados[indice] = ResultadoLote.criado(indice, salvos.get(i).getId());
+        }
+        if (!salvos.isEmpty()) {
+            eventPublisher.publishEvent(PetAlteradoEvent.de(salvos));
+        }
+
+        return List.of(resultados);
+    }
+
+    // Regra: Pet NÃO nasce adotado e NÃO nasce com tutor. Sem estado: o ValidacaoBenchmark chama direto.
+    static void validarNovoPet(Pet pet) {
+        if (pet == null) {
+            throw new BusinessException("Pet não informado.");
+        }
         if (pet.getStatus() == StatusPet.ADOTADO) {
             throw new BusinessException("Não é permitido criar pet como ADOTADO. Use o endpoint de adoção.");
         }
         if (pet.getTutor() != null) {
             throw new BusinessException("Não é permitido criar pet já vinculado a tutor. Use o endpoint de adoção.");
         }
-
-        pet.setStatus(StatusPet.DISPONIVEL);
-        pet.setTutor(null);
-
-        return petRepository.save(pet);
     }
 
     public Pet atualizar(Long id, Pet dadosAtualizados) {
@@ -98,60 +226,65 @@ public class PetService {
         pet.setIdade(dadosAtualizados.getIdade());
         pet.setDataEntrada(dadosAtualizados.getDataEntrada());
 
-        return petRepository.save(pet);
+        Pet salvo = petRepository.save(pet);
+        eventPublisher.publishEvent(PetAlteradoEvent.de(salvo));
+        return salvo;
     }
+    // Só marca o pet como excluído (some de todas as listagens na hora) e devolve a requisição.
+    // Cuidados, adoções e a linha do pet são apagados em blocos pelo PetPurgaService, fora da requisição.
     @Transactional
     public void deletar(Long id) {
-        Pet pet = buscarPorId(id);
-
-        // (opcional mas recomendado) não deixa deletar se tiver adoção ativa
-        if (adocaoRepository.existsByPet_IdAndStatus(id, StatusAdocao.ATIVA)) {
+        // Mesmo esquema da adoção: o UPDATE condicional decide (pet ADOTADO = adoção ATIVA),
+        // e só quando ele recusa é que se consulta o motivo.
+        if (petRepository.marcarExcluido(id) == 0) {
+            buscarPorId(id); // inexistente ou já excluído: 404
             throw new BusinessException("Não é possível deletar: pet possui adoção ATIVA.");
         }
-
-        // apaga "filhos" primeiro
-        cuidadoRepository.deleteByPetId(id);
-        adocaoRepository.deleteByPetId(id);
-
-        // garante que foi pro banco antes do delete do pet
-        cuidadoRepository.flush();
-        adocaoRepository.flush();
-
-        petRepository.delete(pet);
+        eventPublisher.publishEvent(PetAlteradoEvent.excluido(id));
     }
 
-
-
     @Transactional
     public Pet adotarPet(Long idPet, Long idTutor) {
-        Pet pet = buscarPorId(idPet);
-
-        // Regra: se o pet já está ADOTADO, não deixa adotar de novo
-        if (pet.getStatus() == StatusPet.ADOTADO) {
-            throw new BusinessException("Este pet já está marcado como ADOTADO.");
+        // A decisão sai do próprio UPDATE condicional (sem ler o pet antes): não tem corrida
+        // entre duas requisições adotando o mesmo pet, e o caminho feliz fica em UPDATE + INSERT.
+        int adotados = petRepository.adotarSeDisponivel(idPet, tutorRepository.getReferenceById(idTutor));
+        if (adotados == 0) {
+            throw motivoAdocaoRecusada(idPet, idTutor);
         }
 
-        // Garantia: 1 adoção ATIVA por pet (pela tabela adocao)
-        adocaoRepository.findFirstByPetAndStatusOrderByDataAdocaoDesc(pet, StatusAdocao.ATIVA)
-                .ifPresent(a -> {
-                    throw new BusinessException("Este pet já possui uma adoção ATIVA (adoção id: " + a.getId() + ").");
-                });
-
-        Tutor tutor = tutorRepository.findById(idTutor)
-                .orElseThrow(() -> new NotFoundException("Tutor não encontrado com id: " + idTutor));
-
-        pet.setTutor(tutor);
-        pet.setStatus(StatusPet.ADOTADO);
-        petRepository.save(pet);
-
+        // referências (sem SELECT): só os ids vão pro INSERT
         Adocao adocao = new Adocao();
-        adocao.setPet(pet);
-        adocao.setTutor(tutor);
+        adocao.setPet(petRepository.getReferenceById(idPet));
+        adocao.setTutor(tutorRepository.getReferenceById(idTutor));
         adocao.setDataAdocao(LocalDate.now());
         adocao.setStatus(StatusAdocao.ATIVA);
-        adocaoRepository.save(adocao);
+        try {
+            adocaoRepository.save(adocao);
+        } catch (DataIntegrityViolationException e) {
+            // índice único parcial: no máximo 1 adoção ATIVA por pet
+            throw new BusinessException("Este pet já possui uma adoção ATIVA.");
+        }
+        metricasNegocio.adocao();
 
-        return pet;
+        // pet já adotado, com o tutor, para a resposta; vai também no evento (versão nova, depois do UPDATE)
+        Pet adotado = petRepository.findComTutorById(idPet)
+                .orElseThrow(() -> new NotFoundException("Pet não encontrado com id: " + idPet));
+        eventPublisher.publishEvent(PetAlteradoEvent.de(adotado));
+        return adotado;
+    }
+
+    // Só roda quando o UPDATE da adoção não afetou nenhuma linha: descobre o motivo pra devolver o erro certo
+    private RuntimeException motivoAdocaoRecusada(Long idPet, Long idTutor) {
+        Pet pet = buscarPorId(idPet);
+
+        if (pet.getStatus() == StatusPet.ADOTADO) {
+            return new BusinessException("Este pet já está marcado como ADOTADO.");
+        }
+        if (!tutorRepository.existsById(idTutor)) {
+            return new NotFoundException("Tutor não encontrado com id: " + idTutor);
+        }
+        // pet mudou de estado entre o UPDATE e a leitura (ex: adotado e devolvido por outra requisição)
+        return new BusinessException("Não foi possível adotar o pet agora. Tente novamente.");
     }
 
     @Transactional
@@ -173,6 +306,9 @@ public class PetService {
         pet.setStatus(StatusPet.DISPONIVEL);
         pet.setTutor(null);
 
-        return petRepository.save(pet);
+        Pet salvo = petRepository.save(pet);
+        eventPublisher.publishEvent(PetAlteradoEvent.de(salvo));
+        metricasNegocio.devolucao();
+        return salvo;
     }
 }
@@ -1,63 +1,197 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.cache.EmailsConhecidos;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.NotFoundException;
 import br.com.alessandra.petcare.model.Tutor;
 import br.com.alessandra.petcare.repository.PetRepository;
 import br.com.alessandra.petcare.repository.TutorRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class TutorService {
 
     private final TutorRepository tutorRepository;
     private final PetRepository petRepository;
+    private final ValidacaoItem validacaoItem;
+    private final EmailsConhecidos emailsConhecidos;
 
-    public TutorService(TutorRepository tutorRepository, PetRepository petRepository) {
+    static final String EMAIL_DUPLICADO = "Já existe um tutor cadastrado com este e-mail.";
+
+    // limite por requisição do POST /tutores/batch
+    static final int LOTE_MAXIMO = 1000;
+
+    public TutorService(TutorRepository tutorRepository,
+                        PetRepository petRepository,
+                        ValidacaoItem validacaoItem,
+                        EmailsConhecidos emailsConhecidos) {
         this.tutorRepository = tutorRepository;
         this.petRepository = petRepository;
+        this.validacaoItem = validacaoItem;
+        this.emailsConhecidos = emailsConhecidos;
+    }
+
+    // busca com 1 letra casaria boa parte da base; a partir de 2 o índice de prefixo já filtra bem
+    static final int BUSCA_TAMANHO_MINIMO = 2;
+
+    @Transactional(readOnly = true)
+    public PaginaCursor<Tutor> listarTodos(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        List<Tutor> linhas = tutorRepository.findByIdGreaterThanOrderByIdAsc(
+                PaginaCursor.depoisDe(after), Limit.of(limite + 1));
+        return PaginaCursor.of(linhas, limite, Tutor::getId);
     }
 
-    public List<Tutor> listarTodos() {
-        return tutorRepository.findAllByOrderByIdAsc();
+    // Prefixo de nome ou e-mail, sem diferenciar maiúsculas; paginado por cursor (id)
+    @Transactional(readOnly = true)
+    public PaginaCursor<Tutor> buscar(String q, Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        String termo = q == null ? "" : q.trim();
+        if (termo.length() < BUSCA_TAMANHO_MINIMO) {
+            throw new BusinessException("O parâmetro q deve ter ao menos " + BUSCA_TAMANHO_MINIMO + " caracteres.");
+        }
+        List<Tutor> linhas = tutorRepository.buscarPorPrefixo(
+                prefixoLike(termo), PaginaCursor.depoisDe(after), Limit.of(limite + 1));
+        return PaginaCursor.of(linhas, limite, Tutor::getId);
+    }
+
+    // o que o usuário digitou é literal: escapa os curingas do LIKE (escape '!') e fecha com %
+    static String prefixoLike(String termo) {
+        String escapado = termo.toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escapado + "%";
     }
 
+    @Transactional(readOnly = true)
     public Tutor buscarPorId(Long id) {
         return tutorRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Tutor não encontrado com id: " + id));
     }
 
-    public Tutor criar(Tutor tutor) {
-        if (tutorRepository.findByEmail(tutor.getEmail()).isPresent()) {
-            throw new BusinessException("Já existe um tutor cadastrado com este e-mail.");
-        }
-        return tutorRepository.save(tutor);
+    // GET condicional (If-None-Match): versões do mesmo tutor/página, sem carregar entidades
+    @Transactional(readOnly = true)
+    public Optional<VersaoItem> versao(Long id) {
+        return tutorRepository.findVersaoById(id);
     }
 
-    public Tutor atualizar(Long id, Tutor dadosAtualizados) {
-        Tutor tutor = buscarPorId(id);
+    @Transactional(readOnly = true)
+    public PaginaCursor<VersaoItem> versoes(Long after, Integer limit) {
+        int limite = PaginaCursor.limite(limit);
+        return PaginaCursor.of(tutorRepository.findVersoes(PaginaCursor.depoisDe(after), limite + 1),
+                limite, VersaoItem::id);
+    }
 
-        String emailAtual = tutor.getEmail();
-        String novoEmail = dadosAtualizados.getEmail();
+    @Transactional(readOnly = true)
+    public ResumoTutor resumo(Long id) {
+        return tutorRepository.buscarResumo(id)
+                .orElseThrow(() -> new NotFoundException("Tutor não encontrado com id: " + id));
+    }
 
-        // se trocar o e-mail, valida duplicidade (mas ignora se for o próprio tutor)
-        if (novoEmail != null && !novoEmail.equals(emailAtual)) {
-            tutorRepository.findByEmail(novoEmail).ifPresent(outro -> {
-                if (!outro.getId().equals(id)) {
-                    throw new BusinessException("Já existe um tutor cadastrado com este e-mail.");
+    public Tutor criar(Tutor tutor) {
+        Tutor salvo = salvarComEmailUnico(tutor);
+        emailsConhecidos.adicionar(salvo.getEmail());
+        return salvo;
+    }
+
+    // Cadastro em lote (migração de outro sistema, mutirão de adoção): resultado por item, na ordem enviada.
+    // E-mail que o filtro de Bloom diz que com certeza não existe não vai ao banco antes do INSERT.
+    @Transactional
+    public List<ResultadoLote> criarEmLote(List<Tutor> tutores) {
+        if (tutores == null || tutores.isEmpty()) {
+            throw new BusinessException("Informe ao menos um tutor no lote.");
+        }
+        if (tutores.size() > LOTE_MAXIMO) {
+            throw new BusinessException("O lote aceita no máximo " + LOTE_MAXIMO + " tutores por requisição.");
+        }
+
+        ResultadoLote[] resultados = new ResultadoLote[tutores.size()];
+        List<Tutor> validos = new ArrayList<>(tutores.size());
+        List<Integer> indicesValidos = new ArrayList<>(tutores.size());
+        Set<String> emailsDoLote = new HashSet<>();
+
+        for (int i = 0; i < tutores.size(); i++) {
+            Tutor tutor = tutores.get(i);
+            try {
+                validacaoItem.validar(tutor, "Tutor");
+                if (!emailsDoLote.add(tutor.getEmail().toLowerCase(Locale.ROOT))) {
+                    throw new BusinessException("E-mail repetido no lote.");
                 }
-            });
+                if (emailsConhecidos.talvezExista(tutor.getEmail())
+                        && tutorRepository.existsByEmailIgnoreCase(tutor.getEmail())) {
+                    throw new BusinessException(EMAIL_DUPLICADO);
+                }
+            } catch (BusinessException e) {
+                resultados[i] = ResultadoLote.erro(i, e.getMessage());
+                continue;
+            }
+            validos.add(tutor);
+            indicesValidos.add(i);
         }
 
+        List<Tutor> salvos;
+        try {
+            salvos = tutorRepository.saveAllAndFlush(validos);
+        } catch (DataIntegrityViolationException e) {
+            // e-mail cadastrado por outra requisição no meio do lote: o lote inteiro volta
+            throw traduzirViolacao(e);
+        }
+        for (int i = 0; i < salvos.size(); i++) {
+            int indice = indicesValidos.get(i);
+            resultados[indice] = ResultadoLote.criado(indice, salvos.get(i).getId());
+            emailsConhecidos.adicionar(salvos.get(i).getEmail());
+        }
+
+        return List.of(resultados);
+    }
+
+    public Tutor atualizar(Long id, Tutor dadosAtualizados) {
+        Tutor tutor = buscarPorId(id);
+
         tutor.setNome(dadosAtualizados.getNome());
         tutor.setTelefone(dadosAtualizados.getTelefone());
-        tutor.setEmail(novoEmail);
+        tutor.setEmail(dadosAtualizados.getEmail());
         tutor.setEndereco(dadosAtualizados.getEndereco());
 
-        return tutorRepository.save(tutor);
+        Tutor salvo = salvarComEmailUnico(tutor);
+        emailsConhecidos.adicionar(salvo.getEmail());
+        return salvo;
+    }
+
+    // Sem SELECT antes: quem decide se o e-mail está livre é o índice único em lower(email),
+    // no próprio INSERT/UPDATE (não tem corrida entre conferir e gravar)
+    private Tutor salvarComEmailUnico(Tutor tutor) {
+        try {
+            return tutorRepository.saveAndFlush(tutor);
+        } catch (DataIntegrityViolationException e) {
+            throw traduzirViolacao(e);
+        }
+    }
+
+    // 23505 = unique_violation; em tutor as únicas restrições de unicidade são as do e-mail
+    private static RuntimeException traduzirViolacao(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && "23505".equals(sql.getSQLState())) {
+                return new BusinessException(EMAIL_DUPLICADO);
+            }
+        }
+        return e;
     }
 
     @Transactional
@@ -0,0 +1,40 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.exception.BusinessException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bean Validation por item dos cadastros em lote (POST /pets/batch, POST /tutores/batch).
+ * No cadastro unitário quem valida é o @Valid do controller; no lote um item inválido vira erro no
+ * resultado dele (BusinessException com as violações) sem derrubar os outros.
+ */
+@Component
+public class ValidacaoItem {
+
+    private final Validator validator;
+
+    public ValidacaoItem(Validator validator) {
+        this.validator = validator;
+    }
+
+    // nome = como o item aparece na mensagem de ausente ("Pet" -> "Pet não informado.")
+    public void validar(Object item, String nome) {
+        if (item == null) {
+            throw new BusinessException(nome + " não informado.");
+        }
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(item);
+        if (!violacoes.isEmpty()) {
+            // ordenadas: a mesma entrada dá sempre a mesma mensagem
+            String mensagem = violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            throw new BusinessException(mensagem);
+        }
+    }
+}
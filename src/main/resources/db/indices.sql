@@ -0,0 +1,65 @@
+-- ============================================
+-- ÍNDICES QUE O JPA (@Index) NÃO CONSEGUE DECLARAR
+-- Banco: PostgreSQL
+-- Executado a cada start (spring.sql.init), por isso tudo é IF NOT EXISTS.
+-- ============================================
+
+-- no máximo 1 adoção ATIVA por pet (o histórico de adoções ENCERRADAS continua livre)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_adocao_pet_ativa
+    ON adocao (id_pet)
+    WHERE status = 'ATIVA';
+
+-- pet.id passou de BIGSERIAL para a sequence pet_seq (blocos de 50, batch de INSERT).
+-- Se a sequence foi criada depois de já existirem pets, avança ela para depois do maior id.
+SELECT setval('pet_seq', (SELECT max(id) FROM pet) + 50)
+ WHERE (SELECT last_value FROM pet_seq) < (SELECT coalesce(max(id), 0) FROM pet);
+
+-- busca de pets (GET /pets/search): espécie/raça comparadas em lower(), paginação por id.
+-- Com status (caso da página de adoção: só DISPONIVEL) e sem status.
+CREATE INDEX IF NOT EXISTS idx_pet_status_especie_raca_id
+    ON pet (status, lower(especie), lower(raca), id);
+
+CREATE INDEX IF NOT EXISTS idx_pet_especie_raca_id
+    ON pet (lower(especie), lower(raca), id);
+
+-- busca de tutores por prefixo (GET /tutores/search): lower(col) LIKE 'abc%'.
+-- text_pattern_ops deixa o LIKE com prefixo usar o índice mesmo com collation diferente de C.
+CREATE INDEX IF NOT EXISTS idx_tutor_nome_prefixo
+    ON tutor (lower(nome) text_pattern_ops);
+
+-- e-mail único sem diferenciar maiúsculas: é o que o TutorService usa para recusar duplicados (sem SELECT antes).
+-- Também atende a busca por prefixo de e-mail (text_pattern_ops serve igualdade e LIKE 'abc%').
+-- Se já houver e-mails repetidos só na caixa, a criação falha: corrija os dados antes de subir.
+DROP INDEX IF EXISTS idx_tutor_email_prefixo;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tutor_email_lower
+    ON tutor (lower(email) text_pattern_ops);
+
+-- baldes de custo por pet × mês × tipo × tutor (custo_cuidado_mensal), mantidos pelo CuidadoService.
+-- Tutor = adoção vigente na data do cuidado (data_adocao < data <= data_devolucao); 0 = abrigo.
+-- A unique antiga (sem tutor) impediria dois tutores do mesmo pet no mesmo mês.
+ALTER TABLE custo_cuidado_mensal DROP CONSTRAINT IF EXISTS uq_custo_pet_mes_tipo;
+
+-- Carga com o histórico de cuidados, antes da aplicação atender: tabela vazia (primeira subida) ou baldes
+-- da versão sem tutor (id_tutor = -1, default da coluna nova). Fora isso as duas condições não dependem da
+-- linha e cortam a leitura dos cuidados. ON CONFLICT: subida anterior parou entre a carga e a limpeza abaixo.
+INSERT INTO custo_cuidado_mensal (id_pet, mes, tipo, id_tutor, total, quantidade)
+SELECT l.id_pet, l.mes, l.tipo, l.id_tutor, coalesce(sum(l.custo), 0), count(*)
+  FROM (SELECT cu.id_pet, date_trunc('month', cu.data_cuidado)::date AS mes, cu.tipo, cu.custo,
+               coalesce((SELECT max(a.id_tutor) FROM adocao a
+                          WHERE a.id_pet = cu.id_pet
+                            AND a.data_adocao < cu.data_cuidado
+                            AND (a.data_devolucao IS NULL OR cu.data_cuidado <= a.data_devolucao)), 0) AS id_tutor
+          FROM cuidado cu
+         WHERE NOT EXISTS (SELECT 1 FROM custo_cuidado_mensal)
+            OR EXISTS (SELECT 1 FROM custo_cuidado_mensal WHERE id_tutor = -1)) l
+ GROUP BY l.id_pet, l.mes, l.tipo, l.id_tutor
+ON CONFLICT (id_pet, mes, tipo, id_tutor) DO NOTHING;
+
+-- Baldes sem tutor: os de pets que ainda têm cuidados foram refeitos acima; os de pets já purgados
+-- (adoções apagadas junto) ficam no abrigo.
+DELETE FROM custo_cuidado_mensal c
+ WHERE c.id_tutor = -1
+   AND EXISTS (SELECT 1 FROM cuidado cu WHERE cu.id_pet = c.id_pet);
+
+UPDATE custo_cuidado_mensal SET id_tutor = 0 WHERE id_tutor = -1;
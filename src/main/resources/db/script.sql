@@ -13,8 +13,11 @@ CREATE TABLE tutor (
 );
 
 -- 2) TABELA PET
+-- id vem da sequence pet_seq em blocos de 50 (pooled do Hibernate, permite batch de INSERT): sem BIGSERIAL
+CREATE SEQUENCE pet_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE pet (
-    id            BIGSERIAL      PRIMARY KEY,
+    id            BIGINT         PRIMARY KEY,
     nome          VARCHAR(80)    NOT NULL,
     especie       VARCHAR(30)    NOT NULL,        -- cachorro, gato, etc.
     raca          VARCHAR(80),
@@ -64,12 +67,15 @@ VALUES
 ('João Pereira', '51988887777', 'joao.pereira@example.com', 'Av. Central, 450'),
 ('Ana Costa', '51991234567', 'ana.costa@example.com', 'Rua Verde, 89');
 
-INSERT INTO pet (nome, especie, raca, idade, status, data_entrada, id_tutor)
+INSERT INTO pet (id, nome, especie, raca, idade, status, data_entrada, id_tutor)
 VALUES
-('Bidu', 'Cachorro', 'Vira-lata', 3, 'DISPONIVEL', '2024-03-01', NULL),
-('Mimi', 'Gato', 'Siamês', 2, 'DISPONIVEL', '2024-03-05', NULL),
-('Thor', 'Cachorro', 'Golden Retriever', 1, 'ADOTADO', '2024-02-20', 1),
-('Luna', 'Gato', 'Persa', 4, 'ADOTADO', '2024-01-10', 2);
+(1, 'Bidu', 'Cachorro', 'Vira-lata', 3, 'DISPONIVEL', '2024-03-01', NULL),
+(2, 'Mimi', 'Gato', 'Siamês', 2, 'DISPONIVEL', '2024-03-05', NULL),
+(3, 'Thor', 'Cachorro', 'Golden Retriever', 1, 'ADOTADO', '2024-02-20', 1),
+(4, 'Luna', 'Gato', 'Persa', 4, 'ADOTADO', '2024-01-10', 2);
+
+-- próximo bloco da aplicação começa depois do maior id (o Hibernate usa nextval - 49 .. nextval)
+SELECT setval('pet_seq', (SELECT max(id) FROM pet));
 
 INSERT INTO adocao (id_pet, id_tutor, data_adocao, observacoes)
 VALUES
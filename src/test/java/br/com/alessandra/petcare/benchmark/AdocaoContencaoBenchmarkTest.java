@@ -0,0 +1,239 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.model.Adocao;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.repository.AdocaoRepository;
+import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.repository.TutorRepository;
+import br.com.alessandra.petcare.service.PetService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Harness de contenção da adoção: N clientes disputando M pets (adota e devolve em loop).
+ * Compara o caminho atual (UPDATE condicional + @Version) com a alternativa de serializar
+ * a adoção em lock de linha (SELECT ... FOR UPDATE antes de decidir).
+ *
+ * Não roda no build normal. Para executar (H2 em memória, modo PostgreSQL):
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=AdocaoContencaoBenchmarkTest
+ * </pre>
+ * Contra um PostgreSQL local (use um banco descartável, o harness cria tutores e pets):
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=AdocaoContencaoBenchmarkTest \
+ *     -Dcontencao.url=jdbc:postgresql://localhost:5432/petcare_bench \
+ *     -Dcontencao.driver=org.postgresql.Driver -Dcontencao.usuario=postgres -Dcontencao.senha=admin
+ * </pre>
+ * Parâmetros: -Dcontencao.clientes=32 -Dcontencao.pets=8 -Dcontencao.segundos=10
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${contencao.url:jdbc:h2:mem:contencao;MODE=PostgreSQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${contencao.driver:org.h2.Driver}",
+        "spring.datasource.username=${contencao.usuario:sa}",
+        "spring.datasource.password=${contencao.senha:}",
+        "spring.datasource.hikari.maximum-pool-size=${contencao.clientes:32}",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AdocaoContencaoBenchmarkTest {
+
+    private static final int CLIENTES = Integer.getInteger("contencao.clientes", 32);
+    private static final int PETS = Integer.getInteger("contencao.pets", 8);
+    private static final int SEGUNDOS = Integer.getInteger("contencao.segundos", 10);
+    private static final int AQUECIMENTO_SEGUNDOS = 2;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager em;
+
+    @FunctionalInterface
+    private interface EstrategiaAdocao {
+        void adotar(long idPet, long idTutor);
+    }
+
+    private record Resultado(String nome, long ciclos, long conflitos, long erros, double segundos) {
+
+        double ciclosPorSegundo() {
+            return ciclos / segundos;
+        }
+
+        double taxaConflito() {
+            long tentativas = ciclos + conflitos;
+            return tentativas == 0 ? 0 : (double) conflitos / tentativas;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-45s %10.1f ciclos/s %8.1f%% conflitos %8d ciclos %6d erros",
+                    nome, ciclosPorSegundo(), taxaConflito() * 100, ciclos, erros);
+        }
+    }
+
+    @Test
+    void otimistaVsLockDeLinha() throws Exception {
+        List<Long> pets = criarPets();
+        List<Long> tutores = criarTutores();
+
+        Resultado otimista = rodar("UPDATE condicional + @Version", pets, tutores,
+                (idPet, idTutor) -> petService.adotarPet(idPet, idTutor));
+
+        Resultado lockDeLinha = rodar("SELECT ... FOR UPDATE (lock de linha)", pets, tutores,
+                this::adotarComLockDeLinha);
+
+        System.out.printf("%nContenção de adoção: %d clientes x %d pets, %ds por cenário%n",
+                CLIENTES, PETS, SEGUNDOS);
+        System.out.println(otimista);
+        System.out.println(lockDeLinha);
+
+        assertTrue(otimista.ciclos() > 0, "nenhuma adoção concluída no cenário otimista");
+        assertEquals(0, otimista.erros(), "erros inesperados no cenário otimista");
+        assertInvarianteUmaAdocaoAtivaPorPet(pets);
+    }
+
+    // Alternativa "serializa tudo": trava a linha do pet e decide lendo o status
+    private void adotarComLockDeLinha(long idPet, long idTutor) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(s -> {
+            Pet pet = em.find(Pet.class, idPet, LockModeType.PESSIMISTIC_WRITE);
+            if (pet.getStatus() == StatusPet.ADOTADO) {
+                throw new BusinessException("Este pet já está marcado como ADOTADO.");
+            }
+            Tutor tutor = em.getReference(Tutor.class, idTutor);
+            pet.setStatus(StatusPet.ADOTADO);
+            pet.setTutor(tutor);
+
+            Adocao adocao = new Adocao();
+            adocao.setPet(pet);
+            adocao.setTutor(tutor);
+            adocao.setDataAdocao(LocalDate.now());
+            adocao.setStatus(StatusAdocao.ATIVA);
+            em.persist(adocao);
+        });
+    }
+
+    private Resultado rodar(String nome, List<Long> pets, List<Long> tutores, EstrategiaAdocao adocao) throws Exception {
+        medir(nome, pets, tutores, adocao, AQUECIMENTO_SEGUNDOS);
+        return medir(nome, pets, tutores, adocao, SEGUNDOS);
+    }
+
+    private Resultado medir(String nome, List<Long> pets, List<Long> tutores, EstrategiaAdocao adocao, int segundos)
+            throws Exception {
+        LongAdder ciclos = new LongAdder();
+        LongAdder conflitos = new LongAdder();
+        LongAdder erros = new LongAdder();
+
+        ExecutorService pool = Executors.newFixedThreadPool(CLIENTES);
+        CountDownLatch largada = new CountDownLatch(1);
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos) + TimeUnit.MILLISECONDS.toNanos(100);
+
+        for (int c = 0; c < CLIENTES; c++) {
+            long idTutor = tutores.get(c);
+            pool.submit(() -> {
+                largada.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < fim) {
+                    long idPet = pets.get(random.nextInt(pets.size()));
+                    try {
+                        adocao.adotar(idPet, idTutor);
+                    } catch (BusinessException | ConcurrencyFailureException | DataIntegrityViolationException e) {
+                        conflitos.increment(); // outro cliente ganhou a disputa pelo pet
+                        continue;
+                    } catch (RuntimeException e) {
+                        erros.increment();
+                        continue;
+                    }
+                    // devolve logo em seguida para o pet voltar à disputa
+                    try {
+                        petService.devolverPet(idPet);
+                        ciclos.increment();
+                    } catch (RuntimeException e) {
+                        erros.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(segundos + 60L, TimeUnit.SECONDS), "clientes não terminaram");
+        double decorridos = (System.nanoTime() - inicio) / 1e9;
+
+        return new Resultado(nome, ciclos.sum(), conflitos.sum(), erros.sum(), decorridos);
+    }
+
+    private List<Long> criarPets() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PETS; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Contencao " + i);
+            pet.setEspecie("Cachorro");
+            pet.setStatus(StatusPet.DISPONIVEL);
+            pet.setDataEntrada(LocalDate.now());
+            ids.add(petService.criar(pet).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarTutores() {
+        List<Long> ids = new ArrayList<>();
+        long sufixo = System.nanoTime();
+        for (int i = 0; i < CLIENTES; i++) {
+            Tutor tutor = new Tutor();
+            tutor.setNome("Cliente " + i);
+            tutor.setEmail("cliente" + i + "." + sufixo + "@contencao.local");
+            ids.add(tutorRepository.save(tutor).getId());
+        }
+        return ids;
+    }
+
+    private void assertInvarianteUmaAdocaoAtivaPorPet(List<Long> pets) {
+        for (Long idPet : pets) {
+            Pet pet = petRepository.findById(idPet).orElseThrow();
+            boolean ativa = adocaoRepository.existsByPet_IdAndStatus(idPet, StatusAdocao.ATIVA);
+            assertEquals(pet.getStatus() == StatusPet.ADOTADO, ativa,
+                    "pet " + idPet + " com status " + pet.getStatus() + " e adoção ativa = " + ativa);
+        }
+    }
+}
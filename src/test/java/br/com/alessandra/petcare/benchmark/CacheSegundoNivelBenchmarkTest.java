@@ -0,0 +1,175 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.repository.TutorRepository;
+import br.com.alessandra.petcare.service.AdocaoService;
+import br.com.alessandra.petcare.service.CuidadoService;
+import br.com.alessandra.petcare.service.PetService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Idas ao banco por operação com e sem o cache de 2º nível (Tutor e Pet): o cenário "sem cache" esvazia
+ * o cache antes de cada operação, o "com cache" roda com as regiões já aquecidas.
+ *
+ * Não roda no build normal. Para executar (H2 em memória):
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=CacheSegundoNivelBenchmarkTest
+ * </pre>
+ * Contra um PostgreSQL local (banco descartável), use as mesmas propriedades do
+ * {@link AdocaoContencaoBenchmarkTest}: -Dcontencao.url=... -Dcontencao.driver=org.postgresql.Driver ...
+ * Parâmetros: -Dcache.operacoes=500
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${contencao.url:jdbc:h2:mem:cache2;MODE=PostgreSQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${contencao.driver:org.h2.Driver}",
+        "spring.datasource.username=${contencao.usuario:sa}",
+        "spring.datasource.password=${contencao.senha:}",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CacheSegundoNivelBenchmarkTest {
+
+    private static final int OPERACOES = Integer.getInteger("cache.operacoes", 500);
+    private static final int PETS = 20;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private CuidadoService cuidadoService;
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @FunctionalInterface
+    private interface Operacao {
+        void executar(int i);
+    }
+
+    private record Resultado(String nome, double semCache, double comCache, double acertos) {
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %6.2f -> %6.2f comandos/op (%5.1f%% menos)   acertos no cache %5.1f%%",
+                    nome, semCache, comCache, (1 - comCache / semCache) * 100, acertos * 100);
+        }
+    }
+
+    @Test
+    void idasAoBancoComESemCache() {
+        List<Long> pets = criarPets();
+        List<Long> tutores = criarTutores();
+
+        Resultado cuidado = comparar("registrar cuidado (POST /cuidados)", i -> {
+            Cuidado c = new Cuidado();
+            c.setPet(referencia(pets.get(i % PETS)));
+            c.setTipo(TipoCuidado.BANHO);
+            c.setData(LocalDate.now());
+            c.setCusto(new BigDecimal("50.00"));
+            cuidadoService.criar(c);
+        });
+
+        Resultado historico = comparar("histórico de adoções (pet e tutor)", i -> {
+            adocaoService.listarPorPet(pets.get(i % PETS));
+            adocaoService.listarPorTutor(tutores.get(i % PETS));
+        });
+
+        // o UPDATE em massa da adoção esvazia a região do Pet: aqui o ganho fica só no tutor
+        Resultado adocao = comparar("adotar + devolver", i -> {
+            Long idPet = pets.get(i % PETS);
+            petService.adotarPet(idPet, tutores.get(i % PETS));
+            petService.devolverPet(idPet);
+        });
+
+        System.out.printf("%nCache de 2º nível (Tutor, Pet): %d operações por cenário%n", OPERACOES);
+        System.out.println(cuidado);
+        System.out.println(historico);
+        System.out.println(adocao);
+
+        assertTrue(cuidado.comCache() < cuidado.semCache(), "o cache deveria poupar o SELECT do pet");
+        assertTrue(historico.comCache() < historico.semCache(), "o cache deveria poupar os SELECTs por id");
+        assertTrue(adocao.comCache() <= adocao.semCache());
+    }
+
+    private Resultado comparar(String nome, Operacao operacao) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // sem cache: cada operação começa com as regiões vazias
+        estatisticas.clear();
+        for (int i = 0; i < OPERACOES; i++) {
+            entityManagerFactory.getCache().evictAll();
+            operacao.executar(i);
+        }
+        double semCache = (double) estatisticas.getPrepareStatementCount() / OPERACOES;
+
+        // com cache: aquece e mede
+        for (int i = 0; i < PETS; i++) {
+            operacao.executar(i);
+        }
+        estatisticas.clear();
+        for (int i = 0; i < OPERACOES; i++) {
+            operacao.executar(i);
+        }
+        double comCache = (double) estatisticas.getPrepareStatementCount() / OPERACOES;
+        long acertos = estatisticas.getSecondLevelCacheHitCount();
+        long consultas = acertos + estatisticas.getSecondLevelCacheMissCount();
+
+        return new Resultado(nome, semCache, comCache, consultas == 0 ? 0 : (double) acertos / consultas);
+    }
+
+    private static Pet referencia(Long id) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        return pet;
+    }
+
+    private List<Long> criarPets() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PETS; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Cache " + i);
+            pet.setEspecie("Gato");
+            pet.setStatus(StatusPet.DISPONIVEL);
+            pet.setDataEntrada(LocalDate.now());
+            ids.add(petService.criar(pet).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarTutores() {
+        List<Long> ids = new ArrayList<>();
+        long sufixo = System.nanoTime();
+        for (int i = 0; i < PETS; i++) {
+            Tutor tutor = new Tutor();
+            tutor.setNome("Tutor " + i);
+            tutor.setEmail("tutor" + i + "." + sufixo + "@cache.local");
+            ids.add(tutorRepository.save(tutor).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.alessandra.petcare.benchmark;
+
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.service.PetService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Linhas/segundo na entrada de pets: um criar por pet (o que acontece com um POST /pets por pet)
+ * contra o criarEmLote (POST /pets/batch) em lotes de {@code lote.tamanho}.
+ *
+ * Não roda no build normal. Para executar (H2 em memória):
+ * <pre>
+ * mvn test -Dbenchmark=true -Dtest=PetLoteBenchmarkTest
+ * </pre>
+ * Contra um PostgreSQL local (banco descartável), use as mesmas propriedades do
+ * {@link AdocaoContencaoBenchmarkTest}: -Dcontencao.url=... -Dcontencao.driver=org.postgresql.Driver ...
+ * (inclua reWriteBatchedInserts=true na URL).
+ * Parâmetros: -Dlote.pets=5000 -Dlote.tamanho=500
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=${contencao.url:jdbc:h2:mem:lote;MODE=PostgreSQL;DB_CLOSE_DELAY=-1}",
+        "spring.datasource.driver-class-name=${contencao.driver:org.h2.Driver}",
+        "spring.datasource.username=${contencao.usuario:sa}",
+        "spring.datasource.password=${contencao.senha:}",
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PetLoteBenchmarkTest {
+
+    private static final int PETS = Integer.getInteger("lote.pets", 5000);
+    private static final int TAMANHO_LOTE = Integer.getInteger("lote.tamanho", 500);
+
+    @Autowired
+    private PetService petService;
+
+    @Test
+    void umPorRequisicaoVsLote() {
+        // aquecimento dos dois caminhos
+        umPorVez(500);
+        emLote(500);
+
+        double umPorVez = umPorVez(PETS);
+        double emLote = emLote(PETS);
+
+        System.out.printf("%nEntrada de %d pets%n", PETS);
+        System.out.printf("%-30s %12.0f linhas/s%n", "criar (um por vez)", umPorVez);
+        System.out.printf("%-30s %12.0f linhas/s  (%.1fx)%n", "criarEmLote (" + TAMANHO_LOTE + ")",
+                emLote, emLote / umPorVez);
+
+        assertTrue(emLote > umPorVez, "o lote deveria ser mais rápido que um por vez");
+    }
+
+    private double umPorVez(int quantidade) {
+        long inicio = System.nanoTime();
+        for (int i = 0; i < quantidade; i++) {
+            petService.criar(pet(i));
+        }
+        return quantidade / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private double emLote(int quantidade) {
+        long inicio = System.nanoTime();
+        for (int feitos = 0; feitos < quantidade; feitos += TAMANHO_LOTE) {
+            List<Pet> lote = new ArrayList<>(TAMANHO_LOTE);
+            for (int i = feitos; i < Math.min(quantidade, feitos + TAMANHO_LOTE); i++) {
+                lote.add(pet(i));
+            }
+            List<ResultadoLote> resultados = petService.criarEmLote(lote);
+            assertTrue(resultados.stream().allMatch(r -> r.id() != null));
+        }
+        return quantidade / ((System.nanoTime() - inicio) / 1e9);
+    }
+
+    private Pet pet(int i) {
+        Pet pet = new Pet();
+        pet.setNome("Filhote " + i);
+        pet.setEspecie(i % 3 == 0 ? "Gato" : "Cachorro");
+        pet.setRaca("SRD");
+        pet.setIdade(i % 15);
+        pet.setStatus(StatusPet.DISPONIVEL);
+        pet.setDataEntrada(LocalDate.now());
+        return pet;
+    }
+}
@@ -0,0 +1,258 @@
+package br.com.alessandra.petcare.cache;
+
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.roteamento.LeituraNoPrimario;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DisponibilidadeIndexTest {
+
+    private static final int MAX_ITENS = 3;
+
+    @Mock
+    private PetRepository petRepository;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private DisponibilidadeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DisponibilidadeIndex(petRepository, registry, MAX_ITENS);
+    }
+
+    private Pet pet(long id, StatusPet status) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        pet.setNome("Pet " + id);
+        pet.setStatus(status);
+        return pet;
+    }
+
+    private Pet pet(long id, StatusPet status, long versao) {
+        Pet pet = pet(id, status);
+        pet.setVersao(versao);
+        return pet;
+    }
+
+    private List<Long> ids() {
+        return index.pagina(0L, 10).orElseThrow().itens().stream().map(Pet::getId).toList();
+    }
+
+    private void carregar(Pet... disponiveis) {
+        when(petRepository.countByStatus(StatusPet.DISPONIVEL)).thenReturn((long) disponiveis.length);
+        when(petRepository.findByStatus(StatusPet.DISPONIVEL)).thenReturn(List.of(disponiveis));
+        index.reconstruir();
+    }
+
+    @Test
+    void pagina_antesDeCarregar_deveContarFaltaEDevolverVazio() {
+        assertTrue(index.pagina(0L, 10).isEmpty());
+
+        assertFalse(index.noAr());
+        assertEquals(0, index.acertos());
+        assertEquals(1, index.faltas());
+    }
+
+    @Test
+    void pagina_devePaginarPorCursorEmOrdemDeId() {
+        carregar(pet(3L, StatusPet.DISPONIVEL), pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL));
+
+        PaginaCursor<Pet> primeira = index.pagina(0L, 2).orElseThrow();
+        assertEquals(List.of(1L, 2L), primeira.itens().stream().map(Pet::getId).toList());
+        assertEquals("2", primeira.next());
+
+        PaginaCursor<Pet> segunda = index.pagina(2L, 2).orElseThrow();
+        assertEquals(List.of(3L), segunda.itens().stream().map(Pet::getId).toList());
+        assertNull(segunda.next());
+
+        assertEquals(2, index.acertos());
+        assertEquals(0, index.faltas());
+    }
+
+    @Test
+    void pagina_naoDeveExporEntidadeCarregadaDoBanco() {
+        Pet doBanco = pet(1L, StatusPet.DISPONIVEL);
+        carregar(doBanco);
+
+        Pet servido = index.pagina(0L, 10).orElseThrow().itens().get(0);
+
+        assertNotSame(doBanco, servido);
+        assertEquals(doBanco, servido);
+    }
+
+    @Test
+    void aoAlterarPet_deveAplicarOEstadoDoEventoSemConsultarBanco() {
+        carregar(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL), pet(3L, StatusPet.DISPONIVEL));
+        clearInvocations(petRepository);
+
+        // 1 foi adotado, 2 mudou de nome, 3 foi deletado
+        Pet renomeado = pet(2L, StatusPet.DISPONIVEL);
+        renomeado.setNome("Novo nome");
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.ADOTADO)));
+        index.aoAlterarPet(PetAlteradoEvent.de(renomeado));
+        index.aoAlterarPet(PetAlteradoEvent.excluido(3L));
+
+        PaginaCursor<Pet> pagina = index.pagina(0L, 10).orElseThrow();
+        assertEquals(List.of(2L), pagina.itens().stream().map(Pet::getId).toList());
+        assertEquals("Novo nome", pagina.itens().get(0).getNome());
+        assertNotSame(renomeado, pagina.itens().get(0));
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void aoAlterarPet_foraDoAr_naoDeveFazerNada() {
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.DISPONIVEL)));
+
+        assertFalse(index.noAr());
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void reconstruir_acimaDoLimite_deveDeixarIndiceForaDoAr() {
+        when(petRepository.countByStatus(StatusPet.DISPONIVEL)).thenReturn((long) MAX_ITENS + 1);
+
+        index.reconstruir();
+
+        assertFalse(index.noAr());
+        assertTrue(index.pagina(0L, 10).isEmpty());
+        verify(petRepository, never()).findByStatus(any());
+    }
+
+    @Test
+    void aoAlterarPet_quandoPassaDoLimite_deveTirarIndiceDoArAteReconstruir() {
+        carregar(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL), pet(3L, StatusPet.DISPONIVEL));
+
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(4L, StatusPet.DISPONIVEL)));
+
+        assertFalse(index.noAr());
+        assertEquals(Optional.empty(), index.pagina(0L, 10));
+
+        carregar(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL));
+        assertTrue(index.noAr());
+        assertEquals(2, index.tamanho());
+    }
+
+    @Test
+    void reconstruir_deveReaplicarAlteracoesQueChegaramDuranteACarga() {
+        carregar(pet(1L, StatusPet.DISPONIVEL));
+
+        // a carga leu o pet 2 ainda disponível; a adoção dele foi commitada enquanto a carga rodava
+        when(petRepository.countByStatus(StatusPet.DISPONIVEL)).thenReturn(2L);
+        when(petRepository.findByStatus(StatusPet.DISPONIVEL)).thenAnswer(inv -> {
+            index.aoAlterarPet(PetAlteradoEvent.de(pet(2L, StatusPet.ADOTADO)));
+            return List.of(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL));
+        });
+        index.reconstruir();
+
+        PaginaCursor<Pet> pagina = index.pagina(0L, 10).orElseThrow();
+        assertEquals(List.of(1L), pagina.itens().stream().map(Pet::getId).toList());
+    }
+
+    @Test
+    void reconstruir_acimaDoLimite_deveVoltarAoArNaProximaReconstrucao() {
+        when(petRepository.countByStatus(StatusPet.DISPONIVEL)).thenReturn((long) MAX_ITENS + 1);
+        index.reconstruir();
+        assertEquals(0.0, registry.get("petcare.cache.disponiveis.ativo").gauge().value());
+
+        // adoções baixaram os disponíveis: a próxima rodada agendada põe o índice de volta
+        carregar(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL));
+
+        assertTrue(index.noAr());
+        assertEquals(1.0, registry.get("petcare.cache.disponiveis.ativo").gauge().value());
+    }
+
+    @Test
+    void aoAlterarPet_eventoAtrasado_naoDeveDesfazerAdocao() {
+        carregar(pet(1L, StatusPet.DISPONIVEL, 1), pet(2L, StatusPet.DISPONIVEL, 1));
+
+        // edição (versão 2) e adoção (versão 3) commitadas nessa ordem, listeners rodando ao contrário
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.ADOTADO, 3)));
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.DISPONIVEL, 2)));
+
+        assertEquals(List.of(2L), ids());
+    }
+
+    @Test
+    void aoAlterarPet_eventoAtrasado_naoDeveSobrescreverEstadoMaisNovo() {
+        carregar(pet(1L, StatusPet.DISPONIVEL, 1));
+        Pet segunda = pet(1L, StatusPet.DISPONIVEL, 3);
+        segunda.setNome("Segunda edição");
+        Pet primeira = pet(1L, StatusPet.DISPONIVEL, 2);
+        primeira.setNome("Primeira edição");
+
+        index.aoAlterarPet(PetAlteradoEvent.de(segunda));
+        index.aoAlterarPet(PetAlteradoEvent.de(primeira));
+
+        assertEquals("Segunda edição", index.pagina(0L, 10).orElseThrow().itens().get(0).getNome());
+    }
+
+    @Test
+    void aoAlterarPet_excluido_naoDeveVoltarComEventoAtrasado() {
+        carregar(pet(1L, StatusPet.DISPONIVEL, 1), pet(2L, StatusPet.DISPONIVEL, 1));
+
+        index.aoAlterarPet(PetAlteradoEvent.excluido(1L));
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.DISPONIVEL, 2)));
+
+        assertEquals(List.of(2L), ids());
+    }
+
+    @Test
+    void reconstruir_eventoAtrasadoDeAntesDaCarga_naoDeveTrazerPetAdotado() {
+        carregar(pet(1L, StatusPet.DISPONIVEL, 1), pet(2L, StatusPet.DISPONIVEL, 1));
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.ADOTADO, 3)));
+
+        // a carga já não vê o pet 1; a edição velha dele só chega depois
+        carregar(pet(2L, StatusPet.DISPONIVEL, 1));
+        index.aoAlterarPet(PetAlteradoEvent.de(pet(1L, StatusPet.DISPONIVEL, 2)));
+
+        assertEquals(List.of(2L), ids());
+    }
+
+    @Test
+    void reconstruir_deveLerDoPrimario() {
+        // com réplica, as consultas readOnly do repositório iriam para ela
+        when(petRepository.countByStatus(StatusPet.DISPONIVEL)).thenAnswer(inv -> {
+            assertTrue(LeituraNoPrimario.ativa());
+            return 1L;
+        });
+        when(petRepository.findByStatus(StatusPet.DISPONIVEL)).thenAnswer(inv -> {
+            assertTrue(LeituraNoPrimario.ativa());
+            return List.of(pet(1L, StatusPet.DISPONIVEL));
+        });
+
+        index.reconstruir();
+
+        assertTrue(index.noAr());
+        assertFalse(LeituraNoPrimario.ativa());
+    }
+
+    @Test
+    void metricas_devemExporAcertosFaltasETamanho() {
+        index.pagina(0L, 10);
+        carregar(pet(1L, StatusPet.DISPONIVEL), pet(2L, StatusPet.DISPONIVEL));
+        index.pagina(0L, 10);
+        index.pagina(1L, 10);
+
+        assertEquals(2.0, registry.get("petcare.cache.disponiveis.consultas")
+                .tag("resultado", "acerto").functionCounter().count());
+        assertEquals(1.0, registry.get("petcare.cache.disponiveis.consultas")
+                .tag("resultado", "falta").functionCounter().count());
+        assertEquals(2.0, registry.get("petcare.cache.disponiveis.itens").gauge().value());
+    }
+}
@@ -0,0 +1,53 @@
+package br.com.alessandra.petcare.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    void talvezContenha_naoDeveTerFalsoNegativo() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("tutor" + i + "@email.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha("tutor" + i + "@email.com"));
+        }
+    }
+
+    @Test
+    void talvezContenha_falsoPositivoDeveFicarPertoDaTaxaPedida() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("tutor" + i + "@email.com");
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filtro.talvezContenha("outro" + i + "@email.com")) {
+                falsosPositivos++;
+            }
+        }
+
+        // 1% pedido; folga para a variação do hash
+        assertTrue(falsosPositivos < 300, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void dimensionamento_deveSeguirCapacidadeETaxa() {
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        // ~9,6 bits por item e 7 hashes para 1%
+        assertEquals(9_585_059, filtro.numeroBits(), 10);
+        assertEquals(7, filtro.numeroHashes());
+    }
+
+    @Test
+    void construtor_deveRecusarParametrosInvalidos() {
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new FiltroBloom(100, 1.0));
+    }
+}
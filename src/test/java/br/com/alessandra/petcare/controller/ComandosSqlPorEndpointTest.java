@@ -0,0 +1,453 @@
+package br.com.alessandra.petcare.controller;
+
+import br.com.alessandra.petcare.cache.DisponibilidadeIndex;
+import br.com.alessandra.petcare.cache.EmailsConhecidos;
+import br.com.alessandra.petcare.metrica.ContadorSql;
+import br.com.alessandra.petcare.metrica.SqlPorRequisicaoInterceptor;
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.CustoCuidadoMensal;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.repository.CuidadoRepository;
+import br.com.alessandra.petcare.repository.CustoCuidadoMensalRepository;
+import br.com.alessandra.petcare.repository.TutorRepository;
+import br.com.alessandra.petcare.service.PetExportService;
+import br.com.alessandra.petcare.service.PetService;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Teto de comandos SQL de cada endpoint, contado pelo SqlPorRequisicaoInterceptor (inclui a carga lazy
+ * durante a escrita do JSON e o listener de depois do commit, que rodam na thread da requisição).
+ *
+ * As listagens devolvem mais de uma linha com pets/tutores diferentes: um N+1 passa do teto.
+ * Ao otimizar um endpoint, baixe o número dele aqui. Com ao-exceder=falhar, passar do orçamento
+ * configurado (petcare.sql.orcamento.*) também derruba a requisição.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:orcamentosql;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create",
+        "spring.sql.init.mode=never", // db/indices.sql é específico do PostgreSQL
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "petcare.sql.orcamento.ao-exceder=falhar"
+})
+@AutoConfigureMockMvc
+class ComandosSqlPorEndpointTest {
+
+    private static final AtomicInteger SEQUENCIA = new AtomicInteger();
+    private static final LocalDate HOJE = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PetService petService;
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private CustoCuidadoMensalRepository custoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DisponibilidadeIndex disponibilidadeIndex;
+
+    @Autowired
+    private EmailsConhecidos emailsConhecidos;
+
+    @Autowired
+    private PetExportService petExportService;
+
+    @Autowired
+    private ContadorSql contadorSql;
+
+    // ana: mel (ATIVA) e bob (ENCERRADA); bia: tom (ATIVA); caio: sem pets; nina: nunca adotada
+    private Long ana;
+    private Long bia;
+    private Long caio;
+    private Long mel;
+    private Long tom;
+    private Long bob;
+    private Long nina;
+    private Long banhoMel;
+
+    @BeforeEach
+    void setUp() {
+        ana = tutor("Ana");
+        bia = tutor("Bia");
+        caio = tutor("Caio");
+
+        mel = pet("Mel");
+        tom = pet("Tom");
+        bob = pet("Bob");
+        nina = pet("Nina");
+
+        petService.adotarPet(bob, ana);
+        petService.devolverPet(bob);
+        petService.adotarPet(mel, ana);
+        petService.adotarPet(tom, bia);
+
+        banhoMel = cuidado(mel, TipoCuidado.BANHO, null, "50.00");
+        cuidado(mel, TipoCuidado.VACINA, "V10", "90.00");
+        cuidado(bob, TipoCuidado.BANHO, null, "40.00");
+    }
+
+    // O banco (DB_CLOSE_DELAY=-1) e o contexto são os mesmos para todos os testes: sem limpar, as linhas
+    // de cada setUp se acumulam e a contagem passa a depender da ordem. Cache de 2º nível e os índices em
+    // memória não veem o DELETE direto, então voltam a partir do banco vazio.
+    @AfterEach
+    void limpar() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "custo_cuidado_mensal", "cuidado", "adocao", "pet", "tutor");
+        entityManagerFactory.getCache().evictAll();
+        disponibilidadeIndex.reconstruir();
+        emailsConhecidos.carregar();
+    }
+
+    private Long tutor(String nome) {
+        Tutor t = new Tutor();
+        t.setNome(nome);
+        t.setEmail(nome.toLowerCase() + "." + SEQUENCIA.incrementAndGet() + "@exemplo.com");
+        return tutorRepository.save(t).getId();
+    }
+
+    private Long pet(String nome) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("Gato");
+        p.setStatus(StatusPet.DISPONIVEL);
+        p.setDataEntrada(HOJE.minusDays(30));
+        return petService.criar(p).getId();
+    }
+
+    // cuidado e balde de custo gravados direto (o POST /cuidados é medido abaixo)
+    private Long cuidado(Long idPet, TipoCuidado tipo, String descricao, String custo) {
+        Cuidado c = new Cuidado();
+        c.setPet(petService.buscarPorId(idPet));
+        c.setTipo(tipo);
+        c.setDescricao(descricao);
+        c.setData(HOJE);
+        c.setCusto(new BigDecimal(custo));
+        Long id = cuidadoRepository.save(c).getId();
+
+        CustoCuidadoMensal balde = new CustoCuidadoMensal();
+        balde.setPetId(idPet);
+        balde.setMes(HOJE.withDayOfMonth(1));
+        balde.setTipo(tipo);
+        balde.setTutorId(c.getPet().getTutor() == null ? 0L : c.getPet().getTutor().getId());
+        balde.setTotal(new BigDecimal(custo));
+        balde.setQuantidade(1L);
+        custoRepository.save(balde);
+        return id;
+    }
+
+    private void assertComandosSql(int maximo, MockHttpServletRequestBuilder requisicao, ResultMatcher status)
+            throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+        if (resultado.getRequest().isAsyncStarted()) {
+            resultado = mockMvc.perform(asyncDispatch(resultado)).andReturn();
+        }
+        Integer comandos = (Integer) resultado.getRequest().getAttribute(SqlPorRequisicaoInterceptor.COMANDOS_SQL);
+
+        assertNotNull(comandos, "requisição não passou pelo SqlPorRequisicaoInterceptor");
+        assertTrue(comandos <= maximo, "esperado no máximo " + maximo + " comandos SQL, executou " + comandos
+                + " (" + resultado.getResponse().getContentAsString() + ")");
+        status.match(resultado);
+    }
+
+    private static MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder requisicao, String corpo) {
+        return requisicao.contentType(MediaType.APPLICATION_JSON).content(corpo);
+    }
+
+    private String etag(MockHttpServletRequestBuilder requisicao) throws Exception {
+        String etag = mockMvc.perform(requisicao).andReturn().getResponse().getHeader("ETag");
+        assertNotNull(etag, "resposta sem ETag");
+        return etag;
+    }
+
+    // ==========================
+    // PetController
+    // ==========================
+
+    @Test
+    void pets_listarTodos() throws Exception {
+        assertComandosSql(1, get("/pets"), status().isOk());
+    }
+
+    @Test
+    void pets_listarDisponiveis_saiDoIndiceEmMemoria() throws Exception {
+        assertComandosSql(0, get("/pets/disponiveis"), status().isOk());
+    }
+
+    @Test
+    void pets_listarAdotados() throws Exception {
+        assertComandosSql(1, get("/pets/adotados"), status().isOk());
+    }
+
+    @Test
+    void pets_buscar() throws Exception {
+        assertComandosSql(1, get("/pets/search").param("especie", "gato"), status().isOk());
+    }
+
+    // O corpo do GET /pets/export é escrito numa thread do executor async, que o interceptor não conta:
+    // aqui o mesmo corpo roda na thread que conta. Catálogo inteiro (pets e tutores) num cursor só.
+    @Test
+    void pets_exportar_umaConsultaNaThreadDoStream() throws Exception {
+        contadorSql.iniciar("PetController.exportar", Integer.MAX_VALUE, false);
+        long pets;
+        try {
+            pets = petExportService.exportar(OutputStream.nullOutputStream());
+        } finally {
+            int comandos = contadorSql.encerrar();
+            assertTrue(comandos <= 1, "esperado no máximo 1 comando SQL, executou " + comandos);
+        }
+        assertEquals(4, pets);
+    }
+
+    @Test
+    void pets_buscarPorId_carregaOTutorNaSerializacao() throws Exception {
+        assertComandosSql(2, get("/pets/{id}", mel), status().isOk());
+    }
+
+    @Test
+    void pets_buscarPorId_condicional_soConsultaAsVersoes() throws Exception {
+        String etag = etag(get("/pets/{id}", mel));
+        assertComandosSql(1, get("/pets/{id}", mel).header("If-None-Match", etag), status().isNotModified());
+    }
+
+    @Test
+    void pets_listarTodos_condicional_soConsultaAsVersoes() throws Exception {
+        String etag = etag(get("/pets"));
+        assertComandosSql(1, get("/pets").header("If-None-Match", etag), status().isNotModified());
+    }
+
+    @Test
+    void pets_listarPorTutor() throws Exception {
+        assertComandosSql(2, get("/pets/tutor/{id}", ana), status().isOk());
+    }
+
+    @Test
+    void pets_criar() throws Exception {
+        // nextval da sequence (quando o bloco de 50 ids acaba) e INSERT; o índice de disponíveis não relê o pet
+        assertComandosSql(2, json(post("/pets"), """
+                {"nome": "Luna", "especie": "Gato", "status": "DISPONIVEL", "dataEntrada": "%s"}
+                """.formatted(HOJE)), status().isCreated());
+    }
+
+    @Test
+    void pets_criarEmLote() throws Exception {
+        assertComandosSql(4, json(post("/pets/batch"), """
+                [
+                  {"nome": "Fred", "especie": "Cachorro", "status": "DISPONIVEL", "dataEntrada": "%1$s"},
+                  {"nome": "Lola", "especie": "Cachorro", "status": "DISPONIVEL", "dataEntrada": "%1$s"},
+                  {"nome": "Toby", "especie": "Cachorro", "status": "DISPONIVEL", "dataEntrada": "%1$s"}
+                ]
+                """.formatted(HOJE)), status().isOk());
+    }
+
+    @Test
+    void pets_atualizar() throws Exception {
+        assertComandosSql(2, json(put("/pets/{id}", nina), """
+                {"nome": "Nina", "especie": "Gato", "raca": "SRD", "status": "DISPONIVEL", "dataEntrada": "%s"}
+                """.formatted(HOJE.minusDays(30))), status().isOk());
+    }
+
+    @Test
+    void pets_adotar() throws Exception {
+        assertComandosSql(3, put("/pets/{id}/adotar", nina).param("tutorId", caio.toString()), status().isOk());
+    }
+
+    @Test
+    void pets_devolver() throws Exception {
+        assertComandosSql(4, put("/pets/{id}/devolver", mel), status().isOk());
+    }
+
+    @Test
+    void pets_statusPurga() throws Exception {
+        assertComandosSql(1, get("/pets/purga"), status().isOk());
+    }
+
+    @Test
+    void pets_deletar() throws Exception {
+        assertComandosSql(1, delete("/pets/{id}", nina), status().isNoContent());
+    }
+
+    // ==========================
+    // TutorController
+    // ==========================
+
+    @Test
+    void tutores_listarTodos() throws Exception {
+        assertComandosSql(1, get("/tutores"), status().isOk());
+    }
+
+    @Test
+    void tutores_buscar() throws Exception {
+        assertComandosSql(1, get("/tutores/search").param("q", "an"), status().isOk());
+    }
+
+    @Test
+    void tutores_buscarPorId() throws Exception {
+        assertComandosSql(1, get("/tutores/{id}", ana), status().isOk());
+    }
+
+    @Test
+    void tutores_buscarPorId_condicional_soConsultaAVersao() throws Exception {
+        String etag = etag(get("/tutores/{id}", ana));
+        assertComandosSql(1, get("/tutores/{id}", ana).header("If-None-Match", etag), status().isNotModified());
+    }
+
+    @Test
+    void tutores_resumo() throws Exception {
+        assertComandosSql(1, get("/tutores/{id}/resumo", ana), status().isOk());
+    }
+
+    @Test
+    void tutores_criar() throws Exception {
+        assertComandosSql(1, json(post("/tutores"), """
+                {"nome": "Duda", "email": "duda.%d@exemplo.com"}
+                """.formatted(SEQUENCIA.incrementAndGet())), status().isCreated());
+    }
+
+    @Test
+    void tutores_criarEmLote() throws Exception {
+        // INSERT por tutor (IDENTITY); a consulta do e-mail só acontece em falso positivo do filtro de Bloom
+        assertComandosSql(4, json(post("/tutores/batch"), """
+                [
+                  {"nome": "Edu", "email": "edu.%1$d@exemplo.com"},
+                  {"nome": "Fabi", "email": "fabi.%1$d@exemplo.com"}
+                ]
+                """.formatted(SEQUENCIA.incrementAndGet())), status().isOk());
+    }
+
+    @Test
+    void tutores_atualizar() throws Exception {
+        assertComandosSql(2, json(put("/tutores/{id}", caio), """
+                {"nome": "Caio Lima", "email": "caio.lima.%d@exemplo.com"}
+                """.formatted(SEQUENCIA.incrementAndGet())), status().isOk());
+    }
+
+    @Test
+    void tutores_deletar() throws Exception {
+        assertComandosSql(3, delete("/tutores/{id}", caio), status().isNoContent());
+    }
+
+    // ==========================
+    // AdocaoController
+    // ==========================
+
+    @Test
+    void adocoes_listarPorPet() throws Exception {
+        assertComandosSql(2, get("/adocoes/pet/{id}", bob), status().isOk());
+    }
+
+    @Test
+    void adocoes_listarPorTutor() throws Exception {
+        assertComandosSql(2, get("/adocoes/tutor/{id}", ana), status().isOk());
+    }
+
+    // ==========================
+    // CuidadoController
+    // ==========================
+
+    @Test
+    void cuidados_criar() throws Exception {
+        // SELECT do pet, INSERT do cuidado e o upsert do balde (existindo ou não o balde do mês)
+        assertComandosSql(3, json(post("/cuidados"), """
+                {"tipo": "BANHO", "data": "%s", "custo": 45.00, "pet": {"id": %d}}
+                """.formatted(HOJE, mel)), status().isCreated());
+    }
+
+    @Test
+    void cuidados_listarTodos() throws Exception {
+        assertComandosSql(1, get("/cuidados"), status().isOk());
+    }
+
+    @Test
+    void cuidados_custosPorMesETipo() throws Exception {
+        assertComandosSql(1, get("/cuidados/custos"), status().isOk());
+    }
+
+    @Test
+    void cuidados_custosPorPet() throws Exception {
+        assertComandosSql(2, get("/cuidados/custos/pet/{id}", mel), status().isOk());
+    }
+
+    @Test
+    void cuidados_custosPorTutor() throws Exception {
+        assertComandosSql(2, get("/cuidados/custos/tutor/{id}", ana), status().isOk());
+    }
+
+    @Test
+    void cuidados_buscarPorId_carregaOPetNaSerializacao() throws Exception {
+        assertComandosSql(2, get("/cuidados/{id}", banhoMel), status().isOk());
+    }
+
+    @Test
+    void cuidados_buscarPorId_condicional_soConsultaAsVersoes() throws Exception {
+        String etag = etag(get("/cuidados/{id}", banhoMel));
+        assertComandosSql(1, get("/cuidados/{id}", banhoMel).header("If-None-Match", etag), status().isNotModified());
+    }
+
+    @Test
+    void cuidados_listarPorPet() throws Exception {
+        assertComandosSql(2, get("/cuidados/pet/{id}", mel), status().isOk());
+    }
+
+    @Test
+    void cuidados_atualizar() throws Exception {
+        assertComandosSql(4, json(put("/cuidados/{id}", banhoMel), """
+                {"tipo": "BANHO", "data": "%s", "custo": 60.00}
+                """.formatted(HOJE)), status().isOk());
+    }
+
+    @Test
+    void cuidados_deletar() throws Exception {
+        assertComandosSql(3, delete("/cuidados/{id}", banhoMel), status().isNoContent());
+    }
+
+    @Test
+    void cuidados_listarPorTipo() throws Exception {
+        assertComandosSql(1, get("/cuidados/tipo/{tipo}", "BANHO"), status().isOk());
+    }
+
+    @Test
+    void cuidados_listarPorPetETipo() throws Exception {
+        assertComandosSql(2, get("/cuidados/pet/{id}/tipo/{tipo}", mel, "VACINA"), status().isOk());
+    }
+}
@@ -1,12 +1,16 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.CustoMensal;
+import br.com.alessandra.petcare.dto.PaginaCursor;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.GlobalExceptionHandler;
 import br.com.alessandra.petcare.exception.NotFoundException;
 import br.com.alessandra.petcare.model.Cuidado;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.service.LeituraConsistente;
 import br.com.alessandra.petcare.service.CuidadoService;
+import br.com.alessandra.petcare.service.CustoCuidadoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +23,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -27,7 +32,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CuidadoController.class)
-@Import(GlobalExceptionHandler.class) // <<< essencial pro JSON de erro padronizado
+@Import({GlobalExceptionHandler.class, LeituraConsistente.class}) // <<< essencial pro JSON de erro padronizado
 @AutoConfigureMockMvc(addFilters = false) // se tiver Security, evita 401/403
 class CuidadoControllerTest {
 
@@ -37,6 +42,9 @@ class CuidadoControllerTest {
     @MockitoBean
     private CuidadoService cuidadoService;
 
+    @MockitoBean
+    private CustoCuidadoService custoCuidadoService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -104,16 +112,87 @@ class CuidadoControllerTest {
 
     @Test
     void getListarTodos_deveRetornar200() throws Exception {
-        when(cuidadoService.listarTodos()).thenReturn(List.of(
+        when(cuidadoService.listarTodos(null, null, null, null)).thenReturn(new PaginaCursor<>(List.of(
                 cuidado(1L, 1L, TipoCuidado.BANHO),
                 cuidado(2L, 1L, TipoCuidado.TOSA)
-        ));
+        ), null));
 
         mockMvc.perform(get("/cuidados"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2));
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        verify(cuidadoService).listarTodos(null, null, null, null);
+    }
+
+    @Test
+    void getListarTodos_devePassarPeriodoCursorELimit() throws Exception {
+        LocalDate de = LocalDate.of(2025, 1, 1);
+        LocalDate ate = LocalDate.of(2025, 1, 31);
+        when(cuidadoService.listarTodos(de, ate, "2025-01-20_7", 1)).thenReturn(new PaginaCursor<>(List.of(
+                cuidado(5L, 1L, TipoCuidado.BANHO)), "2025-01-15_5"));
+
+        mockMvc.perform(get("/cuidados")
+                        .param("de", "2025-01-01")
+                        .param("ate", "2025-01-31")
+                        .param("after", "2025-01-20_7")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(5))
+                .andExpect(jsonPath("$.next").value("2025-01-15_5"));
+
+        verify(cuidadoService).listarTodos(de, ate, "2025-01-20_7", 1);
+    }
+
+    @Test
+    void getListarTodos_quandoPeriodoInvertido_deveRetornar400() throws Exception {
+        when(cuidadoService.listarTodos(any(), any(), isNull(), isNull()))
+                .thenThrow(new BusinessException("de não pode ser depois de ate."));
+
+        mockMvc.perform(get("/cuidados").param("de", "2025-02-01").param("ate", "2025-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("de não pode ser depois de ate."));
+    }
+
+    @Test
+    void getCustos_deveRetornar200ComBaldesDoPeriodo() throws Exception {
+        YearMonth jan = YearMonth.of(2025, 1);
+        YearMonth mar = YearMonth.of(2025, 3);
+        when(custoCuidadoService.porMesETipo(jan, mar)).thenReturn(List.of(
+                new CustoMensal(jan, TipoCuidado.VACINA, new BigDecimal("240.00"), 3),
+                new CustoMensal(mar, TipoCuidado.BANHO, new BigDecimal("50.00"), 1)));
+
+        mockMvc.perform(get("/cuidados/custos").param("de", "2025-01").param("ate", "2025-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].mes").value("2025-01"))
+                .andExpect(jsonPath("$[0].tipo").value("VACINA"))
+                .andExpect(jsonPath("$[0].total").value(240.00))
+                .andExpect(jsonPath("$[0].quantidade").value(3));
+
+        verify(custoCuidadoService).porMesETipo(jan, mar);
+        verifyNoInteractions(cuidadoService);
+    }
+
+    @Test
+    void getCustosPorPet_deveUsarPeriodoPadraoQuandoNaoInformado() throws Exception {
+        when(custoCuidadoService.porPet(1L, null, null)).thenReturn(List.of());
+
+        mockMvc.perform(get("/cuidados/custos/pet/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
 
-        verify(cuidadoService).listarTodos();
+        verify(custoCuidadoService).porPet(1L, null, null);
+    }
+
+    @Test
+    void getCustosPorTutor_quandoNaoEncontrado_deveRetornar404() throws Exception {
+        when(custoCuidadoService.porTutor(99L, null, null))
+                .thenThrow(new NotFoundException("Tutor não encontrado com id: 99"));
+
+        mockMvc.perform(get("/cuidados/custos/tutor/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Tutor não encontrado com id: 99"));
     }
 
     @Test
@@ -142,20 +221,20 @@ class CuidadoControllerTest {
 
     @Test
     void getListarPorPet_deveRetornar200() throws Exception {
-        when(cuidadoService.listarPorPet(1L)).thenReturn(List.of(
+        when(cuidadoService.listarPorPet(1L, null, null, null, null)).thenReturn(new PaginaCursor<>(List.of(
                 cuidado(1L, 1L, TipoCuidado.BANHO)
-        ));
+        ), null));
 
         mockMvc.perform(get("/cuidados/pet/1"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.itens.length()").value(1));
 
-        verify(cuidadoService).listarPorPet(1L);
+        verify(cuidadoService).listarPorPet(1L, null, null, null, null);
     }
 
     @Test
     void getListarPorPet_quandoNaoEncontrado_deveRetornar404ComJsonPadrao() throws Exception {
-        when(cuidadoService.listarPorPet(99L))
+        when(cuidadoService.listarPorPet(99L, null, null, null, null))
                 .thenThrow(new NotFoundException("Pet não encontrado com id: 99"));
 
         mockMvc.perform(get("/cuidados/pet/99"))
@@ -163,33 +242,34 @@ class CuidadoControllerTest {
                 .andExpect(jsonPath("$.message").value("Pet não encontrado com id: 99"))
                 .andExpect(jsonPath("$.path").value("/cuidados/pet/99"));
 
-        verify(cuidadoService).listarPorPet(99L);
+        verify(cuidadoService).listarPorPet(99L, null, null, null, null);
     }
 
     @Test
     void getListarPorTipo_deveRetornar200() throws Exception {
-        when(cuidadoService.listarPorTipo("banho")).thenReturn(List.of(
-                cuidado(1L, 1L, TipoCuidado.BANHO)
-        ));
+        LocalDate de = LocalDate.of(2025, 3, 1);
+        when(cuidadoService.listarPorTipo("vacina", de, null, null, null)).thenReturn(new PaginaCursor<>(List.of(
+                cuidado(1L, 1L, TipoCuidado.VACINA)
+        ), null));
 
-        mockMvc.perform(get("/cuidados/tipo/banho"))
+        mockMvc.perform(get("/cuidados/tipo/vacina").param("de", "2025-03-01"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.itens.length()").value(1));
 
-        verify(cuidadoService).listarPorTipo("banho");
+        verify(cuidadoService).listarPorTipo("vacina", de, null, null, null);
     }
 
     @Test
     void getListarPorPetETipo_deveRetornar200() throws Exception {
-        when(cuidadoService.listarPorPetETipo(1L, "banho")).thenReturn(List.of(
+        when(cuidadoService.listarPorPetETipo(1L, "banho", null, null, null, 10)).thenReturn(new PaginaCursor<>(List.of(
                 cuidado(1L, 1L, TipoCuidado.BANHO)
-        ));
+        ), null));
 
-        mockMvc.perform(get("/cuidados/pet/1/tipo/banho"))
+        mockMvc.perform(get("/cuidados/pet/1/tipo/banho").param("limit", "10"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.itens.length()").value(1));
 
-        verify(cuidadoService).listarPorPetETipo(1L, "banho");
+        verify(cuidadoService).listarPorPetETipo(1L, "banho", null, null, null, 10);
     }
 
     @Test
@@ -1,11 +1,19 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.StatusPurga;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.GlobalExceptionHandler;
 import br.com.alessandra.petcare.exception.NotFoundException;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.StatusPet;
 import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.service.LeituraConsistente;
+import br.com.alessandra.petcare.service.PetExportService;
+import br.com.alessandra.petcare.service.PetPurgaService;
 import br.com.alessandra.petcare.service.PetService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -14,21 +22,27 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PetController.class)
-@Import(GlobalExceptionHandler.class) // <<< transforma NotFound/Business em JSON padrão
+@Import({GlobalExceptionHandler.class, LeituraConsistente.class}) // <<< transforma NotFound/Business em JSON padrão
 @AutoConfigureMockMvc(addFilters = false)
 class PetControllerTest {
 
@@ -38,23 +52,60 @@ class PetControllerTest {
     @MockitoBean
     private PetService petService;
 
+    @MockitoBean
+    private PetExportService petExportService;
+
+    @MockitoBean
+    private PetPurgaService petPurgaService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Test
-    void listarTodos_deveRetornar200ELista() throws Exception {
+    void listarTodos_deveRetornar200EPagina() throws Exception {
         Pet p1 = new Pet(); p1.setId(1L);
         Pet p2 = new Pet(); p2.setId(2L);
 
-        when(petService.listarTodos()).thenReturn(List.of(p1, p2));
+        when(petService.listarTodos(null, null)).thenReturn(new PaginaCursor<>(List.of(p1, p2), "2"));
 
         mockMvc.perform(get("/pets"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$.itens", hasSize(2)))
+                .andExpect(jsonPath("$.itens[0].id").value(1))
+                .andExpect(jsonPath("$.itens[1].id").value(2))
+                .andExpect(jsonPath("$.next").value("2"));
+
+        verify(petService).listarTodos(null, null);
+        verifyNoMoreInteractions(petService);
+    }
+
+    @Test
+    void listarTodos_devePassarCursorELimit() throws Exception {
+        Pet p3 = new Pet(); p3.setId(3L);
+
+        when(petService.listarTodos(2L, 1)).thenReturn(new PaginaCursor<>(List.of(p3), null));
+
+        mockMvc.perform(get("/pets").param("after", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].id").value(3))
+                .andExpect(jsonPath("$.next").doesNotExist());
 
-        verify(petService).listarTodos();
+        verify(petService).listarTodos(2L, 1);
+        verifyNoMoreInteractions(petService);
+    }
+
+    @Test
+    void listarTodos_quandoLimitInvalido_deveRetornar400ComJsonPadrao() throws Exception {
+        when(petService.listarTodos(null, 0))
+                .thenThrow(new BusinessException("O parâmetro limit deve ser maior que zero."));
+
+        mockMvc.perform(get("/pets").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O parâmetro limit deve ser maior que zero."))
+                .andExpect(jsonPath("$.path").value("/pets"));
+
+        verify(petService).listarTodos(null, 0);
         verifyNoMoreInteractions(petService);
     }
 
@@ -62,14 +113,14 @@ class PetControllerTest {
     void listarDisponiveis_deveRetornar200() throws Exception {
         Pet p1 = new Pet(); p1.setId(1L); p1.setStatus(StatusPet.DISPONIVEL);
 
-        when(petService.listarDisponiveis()).thenReturn(List.of(p1));
+        when(petService.listarDisponiveis(null, null)).thenReturn(new PaginaCursor<>(List.of(p1), null));
 
         mockMvc.perform(get("/pets/disponiveis"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].status").value("DISPONIVEL"));
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].status").value("DISPONIVEL"));
 
-        verify(petService).listarDisponiveis();
+        verify(petService).listarDisponiveis(null, null);
         verifyNoMoreInteractions(petService);
     }
 
@@ -77,14 +128,14 @@ class PetControllerTest {
     void listarAdotados_deveRetornar200() throws Exception {
         Pet p1 = new Pet(); p1.setId(3L); p1.setStatus(StatusPet.ADOTADO);
 
-        when(petService.listarAdotados()).thenReturn(List.of(p1));
+        when(petService.listarAdotados(null, null)).thenReturn(new PaginaCursor<>(List.of(p1), null));
 
         mockMvc.perform(get("/pets/adotados"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].status").value("ADOTADO"));
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].status").value("ADOTADO"));
 
-        verify(petService).listarAdotados();
+        verify(petService).listarAdotados(null, null);
         verifyNoMoreInteractions(petService);
     }
 
@@ -207,6 +258,50 @@ class PetControllerTest {
         verifyNoMoreInteractions(petService);
     }
 
+    @Test
+    void criarEmLote_deveRetornar200ComResultadoPorItem() throws Exception {
+        when(petService.criarEmLote(anyList())).thenReturn(List.of(
+                ResultadoLote.criado(0, 101L),
+                ResultadoLote.erro(1, "nome: O nome do pet é obrigatório")
+        ));
+
+        String body = """
+            [
+              {"nome": "Filhote 1", "especie": "CACHORRO", "status": "DISPONIVEL", "dataEntrada": "%s"},
+              {"especie": "CACHORRO", "status": "DISPONIVEL", "dataEntrada": "%s"}
+            ]
+            """.formatted(LocalDate.now(), LocalDate.now());
+
+        mockMvc.perform(post("/pets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$[0].id").value(101))
+                .andExpect(jsonPath("$[1].status").value("ERRO"))
+                .andExpect(jsonPath("$[1].erro").value("nome: O nome do pet é obrigatório"));
+
+        verify(petService).criarEmLote(anyList());
+        verifyNoMoreInteractions(petService);
+    }
+
+    @Test
+    void criarEmLote_quandoLoteVazio_deveRetornar400ComJsonPadrao() throws Exception {
+        when(petService.criarEmLote(anyList()))
+                .thenThrow(new BusinessException("Informe ao menos um pet no lote."));
+
+        mockMvc.perform(post("/pets/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Informe ao menos um pet no lote."))
+                .andExpect(jsonPath("$.path").value("/pets/batch"));
+
+        verify(petService).criarEmLote(anyList());
+        verifyNoMoreInteractions(petService);
+    }
+
     @Test
     void atualizar_deveRetornar200() throws Exception {
         Long id = 5L;
@@ -354,6 +449,21 @@ class PetControllerTest {
         verifyNoMoreInteractions(petService);
     }
 
+    @Test
+    void devolverPet_quandoAlteradoPorOutraRequisicao_deveRetornar409ComJsonPadrao() throws Exception {
+        when(petService.devolverPet(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Pet.class, 1L));
+
+        mockMvc.perform(put("/pets/1/devolver"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message")
+                        .value("O registro foi alterado por outra requisição. Recarregue os dados e tente novamente."))
+                .andExpect(jsonPath("$.path").value("/pets/1/devolver"));
+
+        verify(petService).devolverPet(1L);
+        verifyNoMoreInteractions(petService);
+    }
+
     @Test
     void deletar_deveRetornar204() throws Exception {
         doNothing().when(petService).deletar(5L);
@@ -378,4 +488,168 @@ class PetControllerTest {
         verify(petService).deletar(5L);
         verifyNoMoreInteractions(petService);
     }
+
+    @Test
+    void exportar_deveEscreverNdjson() throws Exception {
+        doAnswer(inv -> {
+            OutputStream saida = inv.getArgument(0);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(petExportService).exportar(any(OutputStream.class));
+
+        // StreamingResponseBody: a resposta é escrita de forma assíncrona
+        MvcResult resultado = mockMvc.perform(get("/pets/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+
+        verify(petExportService).exportar(any(OutputStream.class));
+        verifyNoInteractions(petService);
+    }
+
+    @Test
+    void buscar_deveMontarFiltroDaQueryString() throws Exception {
+        Pet p1 = new Pet(); p1.setId(7L);
+        FiltroPet filtro = new FiltroPet("gato", null, 1, 3, StatusPet.DISPONIVEL,
+                LocalDate.of(2024, 1, 1), null);
+
+        when(petService.buscar(filtro, 5L, 10)).thenReturn(new PaginaCursor<>(List.of(p1), null));
+
+        mockMvc.perform(get("/pets/search")
+                        .param("especie", "gato")
+                        .param("idadeMin", "1")
+                        .param("idadeMax", "3")
+                        .param("status", "DISPONIVEL")
+                        .param("dataEntradaDe", "2024-01-01")
+                        .param("after", "5")
+                        .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens", hasSize(1)))
+                .andExpect(jsonPath("$.itens[0].id").value(7));
+
+        verify(petService).buscar(filtro, 5L, 10);
+        verifyNoMoreInteractions(petService);
+    }
+
+    @Test
+    void buscar_quandoFiltroInvalido_deveRetornar400ComJsonPadrao() throws Exception {
+        FiltroPet filtro = new FiltroPet(null, null, 6, 2, null, null, null);
+        when(petService.buscar(filtro, null, null))
+                .thenThrow(new BusinessException("idadeMin não pode ser maior que idadeMax."));
+
+        mockMvc.perform(get("/pets/search").param("idadeMin", "6").param("idadeMax", "2"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("idadeMin não pode ser maior que idadeMax."))
+                .andExpect(jsonPath("$.path").value("/pets/search"));
+    }
+
+    @Test
+    void statusPurga_deveRetornar200() throws Exception {
+        when(petPurgaService.status()).thenReturn(new StatusPurga(2, 10, 5000, 12, 2500.0));
+
+        mockMvc.perform(get("/pets/purga"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.petsPendentes").value(2))
+                .andExpect(jsonPath("$.cuidadosApagados").value(5000));
+
+        verify(petPurgaService).status();
+        verifyNoInteractions(petService);
+    }
+
+    @Test
+    void buscarPorId_deveRetornarETagDaVersaoDoPetEDoTutor() throws Exception {
+        Tutor tutor = new Tutor();
+        tutor.setId(7L);
+        tutor.setVersao(2L);
+        Pet pet = new Pet();
+        pet.setId(10L);
+        pet.setVersao(3L);
+        pet.setTutor(tutor);
+
+        when(petService.buscarPorId(10L)).thenReturn(pet);
+
+        mockMvc.perform(get("/pets/10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3.2\""));
+    }
+
+    @Test
+    void buscarPorId_comIfNoneMatchAtual_deveRetornar304SemCarregarOPet() throws Exception {
+        when(petService.versao(10L)).thenReturn(Optional.of(new VersaoItem(10L, 3L, 2L)));
+
+        mockMvc.perform(get("/pets/10").header("If-None-Match", "\"3.2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(petService).versao(10L);
+        verifyNoMoreInteractions(petService);
+    }
+
+    @Test
+    void buscarPorId_comIfNoneMatchDesatualizado_deveRetornar200ComNovoETag() throws Exception {
+        Pet pet = new Pet();
+        pet.setId(10L);
+        pet.setVersao(4L);
+
+        when(petService.versao(10L)).thenReturn(Optional.of(new VersaoItem(10L, 4L, null)));
+        when(petService.buscarPorId(10L)).thenReturn(pet);
+
+        mockMvc.perform(get("/pets/10").header("If-None-Match", "\"3.2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id").value(10));
+    }
+
+    @Test
+    void listarTodos_comIfNoneMatchDesatualizado_deveRetornarUmETagSoODasVersoes() throws Exception {
+        PaginaCursor<VersaoItem> versoes = new PaginaCursor<>(List.of(new VersaoItem(1L, 2L, null)), null);
+        Pet p1 = new Pet(); p1.setId(1L); p1.setVersao(3L); // mudou entre a consulta de versões e a carga
+
+        when(petService.versoes(null, null)).thenReturn(versoes);
+        when(petService.listarTodos(null, null)).thenReturn(new PaginaCursor<>(List.of(p1), null));
+
+        mockMvc.perform(get("/pets").header("If-None-Match", "\"antigo\""))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues("ETag", Etags.dePagina(versoes)))
+                .andExpect(jsonPath("$.itens", hasSize(1)));
+    }
+
+    @Test
+    void buscar_comIfNoneMatchAtual_deveRetornar304() throws Exception {
+        Pet p1 = new Pet(); p1.setId(1L); p1.setVersao(0L);
+        FiltroPet filtro = new FiltroPet(null, null, null, null, null, null, null);
+        PaginaCursor<Pet> pagina = new PaginaCursor<>(List.of(p1), null);
+        when(petService.buscar(filtro, null, null)).thenReturn(pagina);
+
+        // sem consulta de versões: o ETag sai da página carregada e o Spring responde 304 sem o corpo
+        mockMvc.perform(get("/pets/search").header("If-None-Match", Etags.dePagina(pagina, VersaoItem::de)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void listarTodos_comIfNoneMatchAtual_deveRetornar304SemCarregarAPagina() throws Exception {
+        Pet p1 = new Pet(); p1.setId(1L); p1.setVersao(0L);
+        Pet p2 = new Pet(); p2.setId(2L); p2.setVersao(5L);
+        when(petService.listarTodos(null, 2)).thenReturn(new PaginaCursor<>(List.of(p1, p2), "2"));
+
+        String etag = mockMvc.perform(get("/pets").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // as versões da projeção batem com as entidades: mesmo ETag, sem tocar em listarTodos
+        when(petService.versoes(null, 2)).thenReturn(new PaginaCursor<>(
+                List.of(new VersaoItem(1L, 0L, null), new VersaoItem(2L, 5L, null)), "2"));
+        clearInvocations(petService);
+
+        mockMvc.perform(get("/pets").param("limit", "2").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(petService).versoes(null, 2);
+        verify(petService, never()).listarTodos(any(), any());
+    }
 }
@@ -1,9 +1,14 @@
 package br.com.alessandra.petcare.controller;
 
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.dto.VersaoItem;
 import br.com.alessandra.petcare.exception.BusinessException;
 import br.com.alessandra.petcare.exception.GlobalExceptionHandler;
 import br.com.alessandra.petcare.exception.NotFoundException;
 import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.service.LeituraConsistente;
 import br.com.alessandra.petcare.service.TutorService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -15,16 +20,19 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(TutorController.class)
-@Import(GlobalExceptionHandler.class) // <<< pra transformar exceptions em JSON padrão
+@Import({GlobalExceptionHandler.class, LeituraConsistente.class}) // <<< pra transformar exceptions em JSON padrão
 @AutoConfigureMockMvc(addFilters = false)
 class TutorControllerTest {
 
@@ -48,19 +56,56 @@ class TutorControllerTest {
     }
 
     @Test
-    void listarTodos_deveRetornar200ELista() throws Exception {
-        when(tutorService.listarTodos()).thenReturn(List.of(
+    void listarTodos_deveRetornar200EPagina() throws Exception {
+        when(tutorService.listarTodos(null, null)).thenReturn(new PaginaCursor<>(List.of(
                 tutor(1L, "Ana", "ana@email.com"),
                 tutor(2L, "Bia", "bia@email.com")
-        ));
+        ), "2"));
 
         mockMvc.perform(get("/tutores"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[1].id").value(2));
+                .andExpect(jsonPath("$.itens.length()").value(2))
+                .andExpect(jsonPath("$.itens[0].id").value(1))
+                .andExpect(jsonPath("$.itens[1].id").value(2))
+                .andExpect(jsonPath("$.next").value("2"));
+
+        verify(tutorService).listarTodos(null, null);
+    }
+
+    @Test
+    void listarTodos_devePassarCursorELimit() throws Exception {
+        when(tutorService.listarTodos(2L, 1)).thenReturn(new PaginaCursor<>(List.of(
+                tutor(3L, "Caio", "caio@email.com")), null));
+
+        mockMvc.perform(get("/tutores").param("after", "2").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(3))
+                .andExpect(jsonPath("$.next").doesNotExist());
 
-        verify(tutorService).listarTodos();
+        verify(tutorService).listarTodos(2L, 1);
+    }
+
+    @Test
+    void buscar_deveRetornar200EPagina() throws Exception {
+        when(tutorService.buscar("an", null, 10)).thenReturn(new PaginaCursor<>(List.of(
+                tutor(1L, "Ana", "ana@email.com")), null));
+
+        mockMvc.perform(get("/tutores/search").param("q", "an").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("Ana"));
+
+        verify(tutorService).buscar("an", null, 10);
+    }
+
+    @Test
+    void buscar_quandoTermoCurto_deveRetornar400ComJsonPadrao() throws Exception {
+        when(tutorService.buscar("a", null, null))
+                .thenThrow(new BusinessException("O parâmetro q deve ter ao menos 2 caracteres."));
+
+        mockMvc.perform(get("/tutores/search").param("q", "a"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("O parâmetro q deve ter ao menos 2 caracteres."))
+                .andExpect(jsonPath("$.path").value("/tutores/search"));
     }
 
     @Test
@@ -89,6 +134,33 @@ class TutorControllerTest {
         verify(tutorService).buscarPorId(99L);
     }
 
+    @Test
+    void resumo_deveRetornar200ComTotais() throws Exception {
+        when(tutorService.resumo(10L)).thenReturn(new ResumoTutor(
+                10L, "Carlos", "carlos@email.com", "99999-9999", "Rua X, 123",
+                2L, 3L, 1L, new BigDecimal("150.50")));
+
+        mockMvc.perform(get("/tutores/10/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(10))
+                .andExpect(jsonPath("$.nome").value("Carlos"))
+                .andExpect(jsonPath("$.petsAtuais").value(2))
+                .andExpect(jsonPath("$.adocoes").value(3))
+                .andExpect(jsonPath("$.devolucoes").value(1))
+                .andExpect(jsonPath("$.gastoCuidados").value(150.50));
+
+        verify(tutorService).resumo(10L);
+    }
+
+    @Test
+    void resumo_quandoNaoEncontrado_deveRetornar404() throws Exception {
+        when(tutorService.resumo(99L)).thenThrow(new NotFoundException("Tutor não encontrado com id: 99"));
+
+        mockMvc.perform(get("/tutores/99/resumo"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Tutor não encontrado com id: 99"));
+    }
+
     @Test
     void criar_deveRetornar201() throws Exception {
         Tutor retorno = tutor(5L, "Duda", "duda@email.com");
@@ -138,6 +210,33 @@ class TutorControllerTest {
         verify(tutorService).criar(any(Tutor.class));
     }
 
+    @Test
+    void criarEmLote_deveRetornar200ComResultadoPorItem() throws Exception {
+        when(tutorService.criarEmLote(anyList())).thenReturn(List.of(
+                ResultadoLote.criado(0, 7L),
+                ResultadoLote.erro(1, "Já existe um tutor cadastrado com este e-mail.")
+        ));
+
+        String body = """
+            [
+              { "nome": "Duda", "email": "duda@email.com" },
+              { "nome": "Ana", "email": "ana@email.com" }
+            ]
+            """;
+
+        mockMvc.perform(post("/tutores/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CRIADO"))
+                .andExpect(jsonPath("$[0].id").value(7))
+                .andExpect(jsonPath("$[1].status").value("ERRO"))
+                .andExpect(jsonPath("$[1].erro").value("Já existe um tutor cadastrado com este e-mail."));
+
+        verify(tutorService).criarEmLote(anyList());
+    }
+
     @Test
     void atualizar_deveRetornar200() throws Exception {
         Tutor retorno = tutor(7L, "Eva", "eva@email.com");
@@ -216,4 +315,27 @@ class TutorControllerTest {
 
         verify(tutorService, never()).criar(any());
     }
+
+    @Test
+    void buscarPorId_comIfNoneMatchAtual_deveRetornar304SemCarregarOTutor() throws Exception {
+        when(tutorService.versao(10L)).thenReturn(Optional.of(new VersaoItem(10L, 1L)));
+
+        mockMvc.perform(get("/tutores/10").header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotModified());
+
+        verify(tutorService).versao(10L);
+        verify(tutorService, never()).buscarPorId(any());
+    }
+
+    @Test
+    void buscarPorId_comIfNoneMatchDeTutorInexistente_deveRetornar404() throws Exception {
+        when(tutorService.buscarPorId(99L))
+                .thenThrow(new NotFoundException("Tutor não encontrado com id: 99"));
+
+        mockMvc.perform(get("/tutores/99").header("If-None-Match", "\"1\""))
+                .andExpect(status().isNotFound());
+
+        verify(tutorService).versao(99L);
+        verify(tutorService).buscarPorId(99L);
+    }
 }
@@ -0,0 +1,78 @@
+package br.com.alessandra.petcare.metrica;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogDeConsultasLentasTest {
+
+    private final LogDeConsultasLentas logDeConsultas = new LogDeConsultasLentas(Duration.ofMillis(200), 0.01);
+
+    private static ParameterSetOperation parametro(String metodo, Class<?> tipo, int indice, Object valor)
+            throws NoSuchMethodException {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(metodo, int.class, tipo),
+                new Object[]{indice, valor});
+    }
+
+    private static QueryInfo consulta(String sql, List<ParameterSetOperation> parametros) {
+        QueryInfo consulta = new QueryInfo(sql);
+        consulta.getParametersList().add(new ArrayList<>(parametros));
+        return consulta;
+    }
+
+    @Test
+    void parametros_deveMostrarSoOsTipos() throws Exception {
+        QueryInfo consulta = consulta("update tutor set email=?, telefone=? where id=?", List.of(
+                parametro("setString", String.class, 1, "ana.silva@exemplo.com"),
+                parametro("setNull", int.class, 2, Types.VARCHAR),
+                parametro("setLong", long.class, 3, 42L)));
+
+        String parametros = LogDeConsultasLentas.parametros(List.of(consulta));
+
+        assertEquals("[String, null, Long]", parametros);
+        assertFalse(parametros.contains("ana.silva"));
+    }
+
+    @Test
+    void parametros_emBatch_deveMostrarAPrimeiraLinhaEOTotal() throws Exception {
+        QueryInfo consulta = consulta("insert into pet (nome, id) values (?, ?)", List.of(
+                parametro("setString", String.class, 1, "Mel"),
+                parametro("setLong", long.class, 2, 1L)));
+        consulta.getParametersList().add(new ArrayList<>(List.of(
+                parametro("setString", String.class, 1, "Tom"),
+                parametro("setLong", long.class, 2, 2L))));
+
+        assertEquals("[String, Long] x2", LogDeConsultasLentas.parametros(List.of(consulta)));
+    }
+
+    @Test
+    void sql_deveFicarNumaLinhaSo() {
+        QueryInfo consulta = new QueryInfo("""
+                select p.id
+                  from pet p
+                 where p.status = ?
+                """);
+
+        assertEquals("select p.id from pet p where p.status = ?", LogDeConsultasLentas.sql(List.of(consulta)));
+    }
+
+    @Test
+    void consultaLenta_sempreVaiProLog_rapidaSoNaAmostra() {
+        assertTrue(logDeConsultas.deveRegistrar(true, 0.99));
+        assertTrue(logDeConsultas.deveRegistrar(false, 0.005));
+        assertFalse(logDeConsultas.deveRegistrar(false, 0.5));
+    }
+
+    @Test
+    void amostraForaDoIntervalo_deveSerRecusada() {
+        assertThrows(IllegalArgumentException.class, () -> new LogDeConsultasLentas(Duration.ofMillis(200), 1.5));
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.alessandra.petcare.metrica;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasNegocioTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MetricasNegocio metricas = new MetricasNegocio(registry);
+
+    @AfterEach
+    void limparTransacao() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private double contador(String nome, String... tags) {
+        return registry.get(nome).tags(tags).counter().count();
+    }
+
+    @Test
+    void semTransacao_deveContarNaHora() {
+        metricas.adocao();
+        metricas.devolucao();
+        metricas.cuidado(TipoCuidado.VACINA);
+
+        assertEquals(1.0, contador("petcare.adocoes"));
+        assertEquals(1.0, contador("petcare.devolucoes"));
+        assertEquals(1.0, contador("petcare.cuidados", "tipo", "VACINA"));
+        assertEquals(0.0, contador("petcare.cuidados", "tipo", "BANHO"));
+    }
+
+    @Test
+    void comTransacao_deveContarSoDepoisDoCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metricas.adocao();
+        assertEquals(0.0, contador("petcare.adocoes"));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1.0, contador("petcare.adocoes"));
+    }
+
+    @Test
+    void comTransacaoDesfeita_naoDeveContar() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        metricas.cuidado(TipoCuidado.BANHO);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        assertEquals(0.0, contador("petcare.cuidados", "tipo", "BANHO"));
+    }
+}
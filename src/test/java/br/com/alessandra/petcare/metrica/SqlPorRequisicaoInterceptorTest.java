@@ -0,0 +1,111 @@
+package br.com.alessandra.petcare.metrica;
+
+import br.com.alessandra.petcare.controller.PetController;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlPorRequisicaoInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ContadorSql contadorSql = new ContadorSql();
+    private final SqlPorRequisicaoInterceptor interceptor = interceptor(OrcamentoSql.AoExceder.LOG);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pets/1");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // buscarPorId pode 2 comandos; o resto, o padrão (10)
+    private SqlPorRequisicaoInterceptor interceptor(OrcamentoSql.AoExceder aoExceder) {
+        return new SqlPorRequisicaoInterceptor(contadorSql, registry,
+                new OrcamentoSql(10, Map.of("PetController.buscarPorId", 2), aoExceder));
+    }
+
+    private static HandlerMethod handler() throws NoSuchMethodException {
+        return new HandlerMethod(new PetController(null, null, null, null),
+                PetController.class.getMethod("buscarPorId", Long.class, WebRequest.class));
+    }
+
+    @Test
+    void deveRegistrarComandosDaRequisicaoPorHandler() throws Exception {
+        HandlerMethod handler = handler();
+
+        interceptor.preHandle(request, response, handler);
+        contadorSql.inspect("select * from pet where id=?");
+        contadorSql.inspect("select * from tutor where id=?");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        DistributionSummary resumo = registry.get("petcare.sql.statements")
+                .tag("handler", "PetController.buscarPorId")
+                .summary();
+        assertEquals(1, resumo.count());
+        assertEquals(2.0, resumo.totalAmount());
+        assertEquals(0, contadorSql.atual()); // contagem encerrada
+        assertEquals(2, request.getAttribute(SqlPorRequisicaoInterceptor.COMANDOS_SQL));
+    }
+
+    @Test
+    void acimaDoOrcamento_emModoLog_deveSoRegistrar() throws Exception {
+        HandlerMethod handler = handler();
+
+        interceptor.preHandle(request, response, handler);
+        contadorSql.inspect("select * from pet where id=?");
+        contadorSql.inspect("select * from tutor where id=?");
+        contadorSql.inspect("select * from tutor where id=?");
+        interceptor.afterCompletion(request, response, handler, null);
+
+        assertEquals(3, request.getAttribute(SqlPorRequisicaoInterceptor.COMANDOS_SQL));
+    }
+
+    @Test
+    void acimaDoOrcamento_emModoFalhar_deveFalharNoComandoQueEstourou() throws Exception {
+        SqlPorRequisicaoInterceptor estrito = interceptor(OrcamentoSql.AoExceder.FALHAR);
+        HandlerMethod handler = handler();
+
+        estrito.preHandle(request, response, handler);
+        contadorSql.inspect("select * from pet where id=?");
+        contadorSql.inspect("select * from tutor where id=?");
+        OrcamentoSqlExcedidoException ex = assertThrows(OrcamentoSqlExcedidoException.class,
+                () -> contadorSql.inspect("select * from tutor where id=?"));
+        estrito.afterCompletion(request, response, handler, ex);
+
+        assertTrue(ex.getMessage().contains("PetController.buscarPorId"));
+        assertEquals(3, request.getAttribute(SqlPorRequisicaoInterceptor.COMANDOS_SQL));
+    }
+
+    @Test
+    void handlerSemOrcamentoProprio_deveUsarOPadrao() {
+        OrcamentoSql orcamento = new OrcamentoSql(10, Map.of("PetController.buscarPorId", 2),
+                OrcamentoSql.AoExceder.LOG);
+
+        assertEquals(2, orcamento.limite("PetController.buscarPorId"));
+        assertEquals(10, orcamento.limite("PetController.listarAdotados"));
+    }
+
+    @Test
+    void foraDeRequisicao_naoDeveContar() {
+        contadorSql.inspect("delete from pet where id=? and excluido=true");
+
+        assertEquals(0, contadorSql.atual());
+    }
+
+    @Test
+    void inicioAssincrono_deveLiberarAContagemDaThread() throws Exception {
+        HandlerMethod handler = handler();
+
+        interceptor.preHandle(request, response, handler);
+        contadorSql.inspect("select 1");
+        interceptor.afterConcurrentHandlingStarted(request, response, handler);
+
+        assertEquals(0, contadorSql.atual());
+        contadorSql.inspect("select 2");
+        assertEquals(0, contadorSql.atual());
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.alessandra.petcare.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TipoCuidadoTest {
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "BANHO|BANHO",
+            "banho|BANHO",
+            "'  Tosa  '|TOSA",
+            "vacina|VACINA",
+            "Medicamento|MEDICACAO",
+            "remédio|MEDICACAO",
+            "REMÉDIO|MEDICACAO",
+            "vermifugação|VERMIFUGO",
+            "Vermífuga|VERMIFUGO",
+            "veterinário|CONSULTA",
+            "consulta-vet|CONSULTA",
+            "Consulta Veterinária|CONSULTA",
+            "banho e tosa|OUTRO",
+            "banho--tosa|OUTRO",
+            "Banho+Tosa|OUTRO",
+            "tosa higiênica|TOSA",
+            "tosa_higienica__completa|TOSA",
+            "medicac\u0327a\u0303o|MEDICACAO" // acentos já decompostos (NFD)
+    })
+    void from_deveReconhecerNomesEAliases(String valor, TipoCuidado esperado) {
+        assertEquals(esperado, TipoCuidado.from(valor));
+    }
+
+    @Test
+    void resolver_valorDesconhecido_deveVoltarNullSemExcecao() {
+        assertNull(TipoCuidado.resolver("hidroterapia"));
+        assertNull(TipoCuidado.resolver("   "));
+        assertNull(TipoCuidado.resolver(null));
+    }
+
+    @Test
+    void from_valorDesconhecido_deveLancarIllegalArgument() {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> TipoCuidado.from("hidroterapia"));
+
+        assertEquals("Tipo de cuidado inválido: hidroterapia", ex.getMessage());
+    }
+
+    @Test
+    void normalizar_foraDoLatin1_deveCairNoCaminhoCompleto() {
+        // ő (U+0151) não está na tabela rápida: o resultado tem que ser o mesmo do NFD
+        assertEquals("VACINA_O", TipoCuidado.normalizar("vacina ő"));
+    }
+
+    @Test
+    void aliasesExtras_devemSomarAosPadrao() {
+        AliasesTipoCuidado aliases = new AliasesTipoCuidado(Map.of("Hidratação", "banho", "ANTIPULGAS", "medicamento"));
+
+        assertEquals(TipoCuidado.BANHO, aliases.resolver("hidratacao"));
+        assertEquals(TipoCuidado.MEDICACAO, aliases.resolver("antipulgas"));
+        assertEquals(TipoCuidado.MEDICACAO, aliases.resolver("remedio")); // padrão continua
+    }
+
+    @Test
+    void aliasesExtras_naoDevemMudarOResolverEstatico() {
+        new AliasesTipoCuidado(Map.of("Hidratação", "banho"));
+
+        assertNull(TipoCuidado.resolver("hidratacao"));
+    }
+
+    @Test
+    void aliasesExtras_destinoInvalido_deveFalhar() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AliasesTipoCuidado(Map.of("SPA", "massagem")));
+    }
+}
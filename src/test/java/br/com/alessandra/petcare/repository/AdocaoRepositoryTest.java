@@ -0,0 +1,118 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.model.Adocao;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.Tutor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Históricos de adoção: pet e tutor têm que vir no mesmo SELECT, independente do tamanho do histórico
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never" // db/indices.sql é específico do PostgreSQL
+})
+class AdocaoRepositoryTest {
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Statistics statistics;
+
+    private Tutor tutor;
+
+    private Pet primeiroPet;
+
+    @BeforeEach
+    void setUp() {
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        tutor = new Tutor();
+        tutor.setNome("Maria");
+        tutor.setEmail("maria@email.com");
+        em.persist(tutor);
+
+        // tutor com 5 adoções (4 encerradas + 1 ativa), cada uma de um pet diferente
+        for (int i = 1; i <= 5; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Pet " + i);
+            pet.setEspecie("Gato");
+            pet.setStatus(i == 5 ? StatusPet.ADOTADO : StatusPet.DISPONIVEL);
+            pet.setDataEntrada(LocalDate.now().minusYears(1));
+            em.persist(pet);
+
+            Adocao adocao = new Adocao();
+            adocao.setPet(pet);
+            adocao.setTutor(tutor);
+            adocao.setDataAdocao(LocalDate.now().minusDays(60 - i * 10L));
+            adocao.setStatus(i == 5 ? StatusAdocao.ATIVA : StatusAdocao.ENCERRADA);
+            if (i < 5) {
+                adocao.setDataDevolucao(adocao.getDataAdocao().plusDays(5));
+            }
+            em.persist(adocao);
+
+            if (i == 1) {
+                primeiroPet = pet;
+            }
+        }
+
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    // simula o Jackson percorrendo a lista
+    private void serializar(List<Adocao> adocoes) {
+        adocoes.forEach(a -> {
+            a.getPet().getNome();
+            a.getTutor().getNome();
+        });
+    }
+
+    @Test
+    void historicoDoTutor_deveExecutarUmaConsulta() {
+        List<Adocao> adocoes = adocaoRepository.findByTutorOrderByDataAdocaoDesc(tutor);
+        serializar(adocoes);
+
+        assertEquals(5, adocoes.size());
+        assertEquals(StatusAdocao.ATIVA, adocoes.get(0).getStatus()); // mais recente primeiro
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void historicoDoPet_deveExecutarUmaConsulta() {
+        List<Adocao> adocoes = adocaoRepository.findByPetOrderByDataAdocaoDesc(primeiroPet);
+        serializar(adocoes);
+
+        assertEquals(1, adocoes.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void historicoDoTutor_naoDeveTrazerAdocoesDePetExcluido() {
+        // marcado para purga: a referência lazy ao pet falharia ao serializar
+        em.getEntityManager().createNativeQuery("update pet set excluido = true where id = :id")
+                .setParameter("id", primeiroPet.getId()).executeUpdate();
+
+        List<Adocao> adocoes = adocaoRepository.findByTutorOrderByDataAdocaoDesc(tutor);
+        serializar(adocoes);
+
+        assertEquals(4, adocoes.size());
+        assertTrue(adocoes.stream().noneMatch(a -> a.getPet().getId().equals(primeiroPet.getId())));
+    }
+}
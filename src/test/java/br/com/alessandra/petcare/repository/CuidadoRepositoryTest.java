@@ -0,0 +1,128 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Listagens de cuidados: período, filtro por pet/tipo e cursor composto (data, id)
+@DataJpaTest(properties = "spring.sql.init.mode=never") // db/indices.sql é específico do PostgreSQL
+class CuidadoRepositoryTest {
+
+    private static final LocalDate HOJE = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Pet mel;
+    private Pet tom;
+
+    @BeforeEach
+    void setUp() {
+        mel = em.persist(pet("Mel"));
+        tom = em.persist(pet("Tom"));
+
+        cuidado(mel, TipoCuidado.VACINA, HOJE.minusDays(40));
+        cuidado(mel, TipoCuidado.VACINA, HOJE.minusDays(5));
+        cuidado(mel, TipoCuidado.BANHO, HOJE.minusDays(5));
+        cuidado(tom, TipoCuidado.VACINA, HOJE.minusDays(5));
+        cuidado(tom, TipoCuidado.VACINA, HOJE);
+        em.flush();
+        em.clear();
+    }
+
+    private Pet pet(String nome) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("Gato");
+        p.setStatus(StatusPet.DISPONIVEL);
+        p.setDataEntrada(HOJE.minusDays(100));
+        return p;
+    }
+
+    private void cuidado(Pet pet, TipoCuidado tipo, LocalDate data) {
+        Cuidado c = new Cuidado();
+        c.setPet(pet);
+        c.setTipo(tipo);
+        c.setData(data);
+        c.setDescricao("registro");
+        em.persist(c);
+    }
+
+    private List<Cuidado> listar(Specification<Cuidado> spec, int limite) {
+        return cuidadoRepository.findBy(spec,
+                q -> q.sortBy(CuidadoSpecifications.ORDEM).limit(limite).all());
+    }
+
+    @Test
+    void listagem_porTipoNoPeriodo_deveVirMaisRecentePrimeiro() {
+        List<Cuidado> vacinas = listar(CuidadoSpecifications.listagem(
+                null, TipoCuidado.VACINA, HOJE.minusDays(30), HOJE, null, null), 10);
+
+        assertEquals(3, vacinas.size());
+        assertEquals(HOJE, vacinas.get(0).getData());
+        // mesmo dia: id maior primeiro
+        assertTrue(vacinas.get(1).getId() > vacinas.get(2).getId());
+        assertEquals(HOJE.minusDays(5), vacinas.get(2).getData());
+    }
+
+    @Test
+    void listagem_porPetETipo_deveFiltrarOsDois() {
+        List<Cuidado> vacinasDaMel = listar(CuidadoSpecifications.listagem(
+                mel.getId(), TipoCuidado.VACINA, null, null, null, null), 10);
+
+        assertEquals(List.of(HOJE.minusDays(5), HOJE.minusDays(40)),
+                vacinasDaMel.stream().map(Cuidado::getData).toList());
+    }
+
+    @Test
+    void listagem_cursorComposto_naoDevePularNemRepetirCuidadosDoMesmoDia() {
+        List<Cuidado> primeira = listar(CuidadoSpecifications.listagem(null, null, null, null, null, null), 2);
+        Cuidado ultimo = primeira.get(1);
+
+        List<Cuidado> resto = listar(CuidadoSpecifications.listagem(
+                null, null, null, null, ultimo.getData(), ultimo.getId()), 10);
+
+        assertEquals(3, resto.size());
+        List<Long> ids = new ArrayList<>(primeira.stream().map(Cuidado::getId).toList());
+        ids.addAll(resto.stream().map(Cuidado::getId).toList());
+        assertEquals(5, ids.stream().distinct().count());
+    }
+
+    @Test
+    void listagem_deveTrazerOPetNoMesmoSelect() {
+        List<Cuidado> cuidados = listar(CuidadoSpecifications.listagem(tom.getId(), null, null, null, null, null), 10);
+        em.clear();
+
+        // já inicializado: serializar o pet não faz outro SELECT (nem falha fora da sessão)
+        assertEquals("Tom", cuidados.get(0).getPet().getNome());
+    }
+
+    @Test
+    void listagem_naoDeveTrazerCuidadosDePetExcluido() {
+        // marcado para purga: o histórico some junto com o pet
+        em.getEntityManager().createNativeQuery("update pet set excluido = true where id = :id")
+                .setParameter("id", mel.getId()).executeUpdate();
+
+        List<Cuidado> cuidados = listar(CuidadoSpecifications.listagem(null, null, null, null, null, null), 10);
+
+        assertEquals(2, cuidados.size());
+        assertTrue(cuidados.stream().allMatch(c -> "Tom".equals(c.getPet().getNome())));
+        assertTrue(cuidadoRepository.findById(cuidados.get(0).getId()).isPresent());
+    }
+}
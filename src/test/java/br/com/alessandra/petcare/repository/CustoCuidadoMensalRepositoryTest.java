@@ -0,0 +1,177 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.dto.CustoMensal;
+import br.com.alessandra.petcare.model.Adocao;
+import br.com.alessandra.petcare.model.CustoCuidadoMensal;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Baldes de custo: soma atômica e relatórios por pet, tutor e mês/tipo
+@DataJpaTest(properties = "spring.sql.init.mode=never") // db/indices.sql é específico do PostgreSQL
+class CustoCuidadoMensalRepositoryTest {
+
+    private static final LocalDate JAN = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEV = LocalDate.of(2025, 2, 1);
+
+    @Autowired
+    private CustoCuidadoMensalRepository custoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Tutor ana;
+    private Pet mel;
+    private Pet tom;
+    private Pet semTutor;
+
+    @BeforeEach
+    void setUp() {
+        ana = new Tutor();
+        ana.setNome("Ana");
+        ana.setEmail("ana@email.com");
+        em.persist(ana);
+
+        mel = em.persist(pet("Mel", ana));
+        tom = em.persist(pet("Tom", ana));
+        semTutor = em.persist(pet("Rex", null));
+
+        balde(mel, JAN, TipoCuidado.VACINA, ana, "100.00", 1);
+        balde(tom, JAN, TipoCuidado.VACINA, ana, "80.00", 1);
+        balde(mel, FEV, TipoCuidado.BANHO, ana, "50.00", 2);
+        balde(semTutor, JAN, TipoCuidado.VACINA, null, "90.00", 1);
+        em.flush();
+        em.clear();
+    }
+
+    private Pet pet(String nome, Tutor tutor) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("Gato");
+        p.setStatus(tutor == null ? StatusPet.DISPONIVEL : StatusPet.ADOTADO);
+        p.setDataEntrada(JAN);
+        p.setTutor(tutor);
+        return p;
+    }
+
+    private void balde(Pet pet, LocalDate mes, TipoCuidado tipo, Tutor tutor, String total, long quantidade) {
+        CustoCuidadoMensal c = new CustoCuidadoMensal();
+        c.setPetId(pet.getId());
+        c.setMes(mes);
+        c.setTipo(tipo);
+        c.setTutorId(tutor == null ? 0L : tutor.getId());
+        c.setTotal(new BigDecimal(total));
+        c.setQuantidade(quantidade);
+        em.persist(c);
+    }
+
+    private void adocao(Pet pet, Tutor tutor, LocalDate inicio, LocalDate devolucao) {
+        Adocao a = new Adocao();
+        a.setPet(pet);
+        a.setTutor(tutor);
+        a.setDataAdocao(inicio);
+        a.setDataDevolucao(devolucao);
+        a.setStatus(devolucao == null ? StatusAdocao.ATIVA : StatusAdocao.ENCERRADA);
+        em.persist(a);
+    }
+
+    @Test
+    void somar_deveAtualizarSoOBaldeDoPetMesETipo() {
+        // mel adotada pela ana antes de janeiro: o lançamento cai no balde dela
+        adocao(mel, ana, JAN.minusDays(1), null);
+
+        custoRepository.somar(mel.getId(), JAN.plusDays(9), TipoCuidado.VACINA, new BigDecimal("-40.00"), 0);
+        em.clear();
+
+        List<CustoMensal> custos = custoRepository.porPet(mel.getId(), JAN, FEV);
+
+        assertEquals(2, custos.size());
+        assertEquals(YearMonth.of(2025, 1), custos.get(0).mes());
+        assertEquals(0, new BigDecimal("60.00").compareTo(custos.get(0).total()));
+        assertEquals(TipoCuidado.BANHO, custos.get(1).tipo());
+        assertEquals(2, custos.get(1).quantidade());
+        assertEquals(0, new BigDecimal("80.00").compareTo(custoRepository.porPet(tom.getId(), JAN, JAN).get(0).total()));
+    }
+
+    @Test
+    void somar_deveAtribuirAoTutorDaAdocaoVigenteNaData() {
+        // rex: abrigo até 10/jan, carla de 10/jan a 20/jan (devolvido), ana a partir de 20/jan
+        Tutor carla = new Tutor();
+        carla.setNome("Carla");
+        carla.setEmail("carla@email.com");
+        em.persist(carla);
+        adocao(semTutor, carla, JAN.plusDays(9), JAN.plusDays(19));
+        adocao(semTutor, ana, JAN.plusDays(19), null);
+
+        custoRepository.somar(semTutor.getId(), JAN.plusDays(4), TipoCuidado.BANHO, new BigDecimal("10.00"), 1);
+        custoRepository.somar(semTutor.getId(), JAN.plusDays(9), TipoCuidado.BANHO, new BigDecimal("20.00"), 1);
+        custoRepository.somar(semTutor.getId(), JAN.plusDays(14), TipoCuidado.BANHO, new BigDecimal("30.00"), 1);
+        custoRepository.somar(semTutor.getId(), JAN.plusDays(19), TipoCuidado.BANHO, new BigDecimal("40.00"), 1);
+        custoRepository.somar(semTutor.getId(), JAN.plusDays(24), TipoCuidado.BANHO, new BigDecimal("50.00"), 1);
+        em.clear();
+
+        // dia da adoção ainda é do abrigo; dia da devolução ainda é de quem devolveu
+        List<CustoMensal> daCarla = custoRepository.porTutor(carla.getId(), JAN, JAN);
+        assertEquals(1, daCarla.size());
+        assertEquals(0, new BigDecimal("70.00").compareTo(daCarla.get(0).total()));
+        assertEquals(2, daCarla.get(0).quantidade());
+
+        List<CustoMensal> daAna = custoRepository.porTutor(ana.getId(), JAN, JAN);
+        assertEquals(TipoCuidado.BANHO, daAna.get(0).tipo());
+        assertEquals(0, new BigDecimal("50.00").compareTo(daAna.get(0).total()));
+
+        // o pet vê o mês inteiro, somando os tutores e o abrigo
+        List<CustoMensal> doPet = custoRepository.porPet(semTutor.getId(), JAN, JAN);
+        assertEquals(TipoCuidado.BANHO, doPet.get(0).tipo());
+        assertEquals(0, new BigDecimal("150.00").compareTo(doPet.get(0).total()));
+        assertEquals(5, doPet.get(0).quantidade());
+    }
+
+    @Test
+    void somar_semBalde_deveCriarOBaldeComOValor() {
+        custoRepository.somar(mel.getId(), FEV, TipoCuidado.VACINA, BigDecimal.TEN, 1);
+        custoRepository.somar(mel.getId(), FEV, TipoCuidado.VACINA, new BigDecimal("5.50"), 1);
+        em.clear();
+
+        List<CustoMensal> custos = custoRepository.porPet(mel.getId(), FEV, FEV);
+
+        assertEquals(2, custos.size()); // BANHO (já existia) e VACINA (novo)
+        assertEquals(TipoCuidado.VACINA, custos.get(1).tipo());
+        assertEquals(0, new BigDecimal("15.50").compareTo(custos.get(1).total()));
+        assertEquals(2, custos.get(1).quantidade());
+    }
+
+    @Test
+    void porTutor_deveSomarOsBaldesDoTutorPorMesETipo() {
+        List<CustoMensal> custos = custoRepository.porTutor(ana.getId(), JAN, FEV);
+
+        assertEquals(2, custos.size());
+        assertEquals(TipoCuidado.VACINA, custos.get(0).tipo());
+        assertEquals(0, new BigDecimal("180.00").compareTo(custos.get(0).total()));
+        assertEquals(2, custos.get(0).quantidade());
+        assertEquals(TipoCuidado.BANHO, custos.get(1).tipo());
+    }
+
+    @Test
+    void porMesETipo_deveSomarTodosOsPetsDentroDoPeriodo() {
+        List<CustoMensal> custos = custoRepository.porMesETipo(JAN, JAN);
+
+        assertEquals(1, custos.size());
+        assertEquals(0, new BigDecimal("270.00").compareTo(custos.get(0).total()));
+        assertEquals(3, custos.get(0).quantidade());
+    }
+}
@@ -0,0 +1,302 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.dto.VersaoItem;
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Conta os SQLs de cada listagem: o tutor tem que vir no mesmo SELECT (sem N+1)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never" // db/indices.sql é específico do PostgreSQL
+})
+class PetRepositoryTest {
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private CuidadoRepository cuidadoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    private Statistics statistics;
+
+    private Tutor tutor;
+
+    private Pet disponivel;
+
+    @BeforeEach
+    void setUp() {
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        // 3 tutores, cada um com um pet adotado, + 2 pets disponíveis
+        for (int i = 1; i <= 3; i++) {
+            Tutor t = new Tutor();
+            t.setNome("Tutor " + i);
+            t.setEmail("tutor" + i + "@email.com");
+            em.persist(t);
+
+            em.persist(pet("Adotado " + i, StatusPet.ADOTADO, t));
+            tutor = t;
+        }
+        disponivel = em.persist(pet("Disponivel 1", StatusPet.DISPONIVEL, null));
+        em.persist(pet("Disponivel 2", StatusPet.DISPONIVEL, null));
+
+        em.flush();
+        em.clear();
+        statistics.clear();
+    }
+
+    private Pet pet(String nome, StatusPet status, Tutor tutor) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("Cachorro");
+        p.setStatus(status);
+        p.setDataEntrada(LocalDate.now());
+        p.setTutor(tutor);
+        return p;
+    }
+
+    // simula o Jackson percorrendo a lista
+    private void serializarTutores(List<Pet> pets) {
+        pets.forEach(p -> {
+            if (p.getTutor() != null) {
+                p.getTutor().getNome();
+            }
+        });
+    }
+
+    @Test
+    void listarPorCursor_deveCarregarTutoresNaMesmaConsulta() {
+        List<Pet> pets = petRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        serializarTutores(pets);
+
+        assertEquals(5, pets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void listarAdotadosPorCursor_deveCarregarTutoresNaMesmaConsulta() {
+        List<Pet> pets = petRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                StatusPet.ADOTADO, 0L, Limit.of(10));
+        serializarTutores(pets);
+
+        assertEquals(3, pets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByStatus_deveCarregarTutoresNaMesmaConsulta() {
+        List<Pet> pets = petRepository.findByStatus(StatusPet.ADOTADO);
+        serializarTutores(pets);
+
+        assertEquals(3, pets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAll_deveCarregarTutoresNaMesmaConsulta() {
+        List<Pet> pets = petRepository.findAll();
+        serializarTutores(pets);
+
+        assertEquals(5, pets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findByTutor_deveExecutarUmaConsulta() {
+        List<Pet> pets = petRepository.findByTutor(tutor);
+        serializarTutores(pets);
+
+        assertEquals(1, pets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void streamTodosComTutor_deveLerCatalogoEmUmaConsultaEmOrdemDeId() {
+        List<Pet> pets;
+        try (Stream<Pet> stream = petRepository.streamTodosComTutor()) {
+            pets = stream.toList();
+        }
+        serializarTutores(pets);
+
+        assertEquals(5, pets.size());
+        assertEquals(pets.stream().map(Pet::getId).sorted().toList(), pets.stream().map(Pet::getId).toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findVersoes_deveTrazerAMesmaPaginaDoCursorNumaConsulta() {
+        List<VersaoItem> versoes = petRepository.findVersoes(0L, 10);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        List<Pet> pets = petRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        assertEquals(pets.stream().map(VersaoItem::de).toList(), versoes);
+    }
+
+    @Test
+    void findVersaoById_deveMudarQuandoOTutorMuda() {
+        Pet adotado = petRepository.findByTutor(tutor).get(0);
+        VersaoItem antes = petRepository.findVersaoById(adotado.getId()).orElseThrow();
+        assertEquals(tutor.getVersao(), antes.versaoRelacionada());
+
+        Tutor t = em.find(Tutor.class, tutor.getId());
+        t.setTelefone("99999-0000");
+        em.flush();
+
+        VersaoItem depois = petRepository.findVersaoById(adotado.getId()).orElseThrow();
+        assertEquals(antes.versao(), depois.versao());
+        assertNotEquals(antes.versaoRelacionada(), depois.versaoRelacionada());
+        assertTrue(petRepository.findVersaoById(-1L).isEmpty());
+    }
+
+    private List<Pet> buscar(FiltroPet filtro, long after, int limite) {
+        return petRepository.findBy(PetSpecifications.busca(filtro, after),
+                q -> q.sortBy(Sort.by("id")).limit(limite).all());
+    }
+
+    @Test
+    void busca_deveFiltrarNoBancoECarregarTutorNaMesmaConsulta() {
+        FiltroPet filtro = new FiltroPet("CACHORRO", null, null, null, StatusPet.ADOTADO, null, null);
+
+        List<Pet> pets = buscar(filtro, 0L, 10);
+        serializarTutores(pets);
+
+        assertEquals(3, pets.size());
+        assertTrue(pets.stream().allMatch(p -> p.getStatus() == StatusPet.ADOTADO));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void busca_deveCombinarFaixasECursor() {
+        Pet idoso = pet("Idoso", StatusPet.DISPONIVEL, null);
+        idoso.setIdade(12);
+        idoso.setRaca("Labrador");
+        idoso.setDataEntrada(LocalDate.of(2020, 3, 1));
+        em.persist(idoso);
+        Pet filhote = pet("Filhote", StatusPet.DISPONIVEL, null);
+        filhote.setIdade(1);
+        filhote.setRaca("labrador");
+        filhote.setDataEntrada(LocalDate.of(2020, 6, 1));
+        em.persist(filhote);
+        em.flush();
+        em.clear();
+
+        FiltroPet filtro = new FiltroPet(null, " Labrador ", 0, 10, null,
+                LocalDate.of(2020, 1, 1), LocalDate.of(2020, 12, 31));
+        List<Pet> pets = buscar(filtro, 0L, 10);
+        assertEquals(List.of(filhote.getId()), pets.stream().map(Pet::getId).toList());
+
+        // depois do último id não sobra nada
+        assertTrue(buscar(filtro, filhote.getId(), 10).isEmpty());
+    }
+
+    @Test
+    void busca_semFiltros_devePaginarEmOrdemDeId() {
+        FiltroPet vazio = new FiltroPet(null, null, null, null, null, null, null);
+
+        List<Pet> primeira = buscar(vazio, 0L, 2);
+        List<Pet> segunda = buscar(vazio, primeira.get(1).getId(), 10);
+
+        assertEquals(2, primeira.size());
+        assertEquals(3, segunda.size());
+        assertTrue(primeira.get(1).getId() < segunda.get(0).getId());
+    }
+
+    @Test
+    void adotarSeDisponivel_deveAdotarUmaVezSo() {
+        int primeira = petRepository.adotarSeDisponivel(disponivel.getId(), tutor);
+        int segunda = petRepository.adotarSeDisponivel(disponivel.getId(), tutor);
+
+        assertEquals(1, primeira);
+        assertEquals(0, segunda); // já não está mais DISPONIVEL
+
+        Pet adotado = petRepository.findComTutorById(disponivel.getId()).orElseThrow();
+        assertEquals(StatusPet.ADOTADO, adotado.getStatus());
+        assertEquals(tutor.getId(), adotado.getTutor().getId());
+    }
+
+    @Test
+    void adotarSeDisponivel_naoDeveAdotarQuandoTutorNaoExiste() {
+        // mesmo tipo de referência que o service usa (getReferenceById não vai ao banco)
+        Tutor inexistente = em.getEntityManager().getReference(Tutor.class, 999_999L);
+
+        assertEquals(0, petRepository.adotarSeDisponivel(disponivel.getId(), inexistente));
+    }
+
+    @Test
+    void marcarExcluido_deveEsconderPetDasConsultas() {
+        Long id = disponivel.getId();
+
+        assertEquals(1, petRepository.marcarExcluido(id));
+        assertEquals(0, petRepository.marcarExcluido(id)); // segunda vez não acha mais
+
+        assertTrue(petRepository.findById(id).isEmpty());
+        assertFalse(petRepository.existsById(id));
+        assertEquals(4, petRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)).size());
+        assertEquals(1, petRepository.countByStatus(StatusPet.DISPONIVEL));
+
+        // só a purga (SQL nativo) enxerga o pet marcado
+        assertEquals(List.of(id), petRepository.findIdsExcluidos(0L, 10));
+        assertEquals(List.of(), petRepository.findIdsExcluidos(id, 10));
+        assertEquals(1, petRepository.countExcluidos());
+    }
+
+    @Test
+    void marcarExcluido_naoDeveMarcarPetAdotado() {
+        // adoção que chegou antes do UPDATE: o pet continua visível, com a adoção ATIVA
+        Pet adotado = petRepository.findByTutor(tutor).get(0);
+
+        assertEquals(0, petRepository.marcarExcluido(adotado.getId()));
+        assertTrue(petRepository.findById(adotado.getId()).isPresent());
+        assertEquals(0, petRepository.countExcluidos());
+    }
+
+    @Test
+    void purga_deveApagarCuidadosEmLotesEDepoisOPet() {
+        Long id = disponivel.getId();
+        for (int i = 0; i < 5; i++) {
+            Cuidado c = new Cuidado();
+            c.setTipo(TipoCuidado.BANHO);
+            c.setData(LocalDate.now().minusDays(i));
+            c.setPet(em.getEntityManager().getReference(Pet.class, id));
+            em.persist(c);
+        }
+        em.flush();
+        petRepository.marcarExcluido(id);
+
+        assertEquals(2, cuidadoRepository.deleteLoteByPetId(id, 2));
+        assertEquals(2, cuidadoRepository.deleteLoteByPetId(id, 2));
+        assertEquals(1, cuidadoRepository.deleteLoteByPetId(id, 2));
+        assertEquals(0, cuidadoRepository.deleteLoteByPetId(id, 2));
+
+        assertEquals(1, petRepository.deleteExcluido(id));
+        assertEquals(0, petRepository.countExcluidos());
+    }
+
+    @Test
+    void deleteExcluido_naoDeveApagarPetNaoMarcado() {
+        assertEquals(0, petRepository.deleteExcluido(disponivel.getId()));
+    }
+}
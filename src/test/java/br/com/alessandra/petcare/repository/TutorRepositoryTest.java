@@ -0,0 +1,178 @@
+package br.com.alessandra.petcare.repository;
+
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.model.Adocao;
+import br.com.alessandra.petcare.model.Cuidado;
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusAdocao;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.model.Tutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Busca por prefixo (minúsculas, curingas escapados, paginação por id) e resumo agregado do tutor
+@DataJpaTest(properties = "spring.sql.init.mode=never") // db/indices.sql é específico do PostgreSQL
+class TutorRepositoryTest {
+
+    @Autowired
+    private TutorRepository tutorRepository;
+
+    @Autowired
+    private CustoCuidadoMensalRepository custoRepository;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        tutor("Ana Souza", "ana@email.com");
+        tutor("Anabela", "bela@email.com");
+        tutor("Bruno", "ANA.bruno@email.com");
+        tutor("Carla", "carla@email.com");
+        tutor("Dora_1", "dora@email.com");
+        tutor("Dorax", "dorax@email.com");
+        em.flush();
+        em.clear();
+    }
+
+    private void tutor(String nome, String email) {
+        Tutor t = new Tutor();
+        t.setNome(nome);
+        t.setEmail(email);
+        em.persist(t);
+    }
+
+    private List<String> nomes(List<Tutor> tutores) {
+        return tutores.stream().map(Tutor::getNome).toList();
+    }
+
+    @Test
+    void buscarPorPrefixo_deveCasarNomeOuEmailSemDiferenciarMaiusculas() {
+        List<Tutor> tutores = tutorRepository.buscarPorPrefixo("ana%", 0L, Limit.of(10));
+
+        assertEquals(List.of("Ana Souza", "Anabela", "Bruno"), nomes(tutores));
+    }
+
+    @Test
+    void buscarPorPrefixo_devePaginarPorId() {
+        List<Tutor> primeira = tutorRepository.buscarPorPrefixo("ana%", 0L, Limit.of(2));
+        List<Tutor> segunda = tutorRepository.buscarPorPrefixo("ana%", primeira.get(1).getId(), Limit.of(2));
+
+        assertEquals(List.of("Ana Souza", "Anabela"), nomes(primeira));
+        assertEquals(List.of("Bruno"), nomes(segunda));
+    }
+
+    @Test
+    void buscarPorPrefixo_deveTratarCuringaComoLiteral() {
+        // "dora_" com _ escapado não pode casar "Dorax"
+        List<Tutor> tutores = tutorRepository.buscarPorPrefixo("dora!_%", 0L, Limit.of(10));
+
+        assertEquals(List.of("Dora_1"), nomes(tutores));
+    }
+
+    @Test
+    void findByIdGreaterThan_devePaginarPorId() {
+        List<Tutor> primeira = tutorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(4));
+        List<Tutor> segunda = tutorRepository.findByIdGreaterThanOrderByIdAsc(primeira.get(3).getId(), Limit.of(4));
+
+        assertEquals(4, primeira.size());
+        assertEquals(List.of("Dora_1", "Dorax"), nomes(segunda));
+    }
+
+    private Pet pet(String nome, Tutor tutor) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("Gato");
+        p.setStatus(tutor == null ? StatusPet.DISPONIVEL : StatusPet.ADOTADO);
+        p.setDataEntrada(LocalDate.now());
+        p.setTutor(tutor);
+        return em.persist(p);
+    }
+
+    private void adocao(Pet pet, Tutor tutor, StatusAdocao status) {
+        Adocao a = new Adocao();
+        a.setPet(pet);
+        a.setTutor(tutor);
+        a.setDataAdocao(LocalDate.now().minusDays(30));
+        a.setStatus(status);
+        if (status == StatusAdocao.ENCERRADA) {
+            a.setDataDevolucao(LocalDate.now().minusDays(10));
+        }
+        em.persist(a);
+    }
+
+    // cuidado e seu lançamento no balde de custo, como o CuidadoService faz
+    private void cuidado(Pet pet, String custo, LocalDate data) {
+        Cuidado c = new Cuidado();
+        c.setTipo(TipoCuidado.BANHO);
+        c.setData(data);
+        c.setCusto(custo == null ? null : new BigDecimal(custo));
+        c.setPet(pet);
+        em.persist(c);
+        custoRepository.somar(pet.getId(), data, TipoCuidado.BANHO,
+                custo == null ? BigDecimal.ZERO : new BigDecimal(custo), 1);
+    }
+
+    @Test
+    void buscarResumo_deveSomarPetsAdocoesDevolucoesEGastos() {
+        Tutor ana = tutorRepository.findByEmailIgnoreCase("ana@email.com").orElseThrow();
+        Tutor outro = tutorRepository.findByEmailIgnoreCase("carla@email.com").orElseThrow();
+
+        Pet mel = pet("Mel", ana);
+        Pet tom = pet("Tom", ana);
+        Pet devolvido = pet("Rex", null);
+        Pet daCarla = pet("Nina", outro);
+
+        adocao(mel, ana, StatusAdocao.ATIVA);
+        adocao(tom, ana, StatusAdocao.ATIVA);
+        adocao(devolvido, ana, StatusAdocao.ENCERRADA);
+        adocao(daCarla, outro, StatusAdocao.ATIVA);
+
+        LocalDate hoje = LocalDate.now();
+        cuidado(mel, "100.00", hoje);
+        cuidado(mel, "50.50", hoje);
+        cuidado(tom, null, hoje);                        // sem custo informado
+        cuidado(devolvido, "30.00", hoje.minusDays(20)); // enquanto estava com ela: continua contando
+        cuidado(devolvido, "999.00", hoje);              // depois da devolução
+        cuidado(daCarla, "80.00", hoje);
+        em.flush();
+        em.clear();
+
+        ResumoTutor resumo = tutorRepository.buscarResumo(ana.getId()).orElseThrow();
+
+        assertEquals("Ana Souza", resumo.nome());
+        assertEquals("ana@email.com", resumo.email());
+        assertEquals(2L, resumo.petsAtuais());
+        assertEquals(3L, resumo.adocoes());
+        assertEquals(1L, resumo.devolucoes());
+        assertEquals(0, new BigDecimal("180.50").compareTo(resumo.gastoCuidados()));
+    }
+
+    @Test
+    void buscarResumo_tutorSemNada_deveVirZerado() {
+        Tutor bela = tutorRepository.findByEmailIgnoreCase("bela@email.com").orElseThrow();
+
+        ResumoTutor resumo = tutorRepository.buscarResumo(bela.getId()).orElseThrow();
+
+        assertEquals(0L, resumo.petsAtuais());
+        assertEquals(0L, resumo.adocoes());
+        assertEquals(0L, resumo.devolucoes());
+        assertEquals(BigDecimal.ZERO, resumo.gastoCuidados());
+    }
+
+    @Test
+    void buscarResumo_tutorInexistente_deveVirVazio() {
+        assertTrue(tutorRepository.buscarResumo(-1L).isEmpty());
+    }
+}
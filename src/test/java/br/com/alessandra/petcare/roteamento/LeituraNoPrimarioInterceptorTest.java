@@ -0,0 +1,67 @@
+package br.com.alessandra.petcare.roteamento;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeituraNoPrimarioInterceptorTest {
+
+    private final LeituraNoPrimarioInterceptor interceptor = new LeituraNoPrimarioInterceptor(Duration.ofSeconds(5));
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void limpar() {
+        LeituraNoPrimario.desativar();
+    }
+
+    @Test
+    void escrita_deveLerDoPrimarioEDevolverCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/adocoes");
+
+        interceptor.preHandle(request, response, null);
+
+        assertTrue(LeituraNoPrimario.ativa());
+        String cookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(LeituraNoPrimarioInterceptor.COOKIE + "=1"));
+        assertTrue(cookie.contains("Max-Age=5"));
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertFalse(LeituraNoPrimario.ativa());
+    }
+
+    @Test
+    void leituraComCookie_deveLerDoPrimario() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pets/1");
+        request.setCookies(new Cookie(LeituraNoPrimarioInterceptor.COOKIE, "1"));
+
+        interceptor.preHandle(request, response, null);
+
+        assertTrue(LeituraNoPrimario.ativa());
+        assertNull(response.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void leituraSemCookie_deveFicarNaReplica() {
+        interceptor.preHandle(new MockHttpServletRequest("GET", "/pets/1"), response, null);
+
+        assertFalse(LeituraNoPrimario.ativa());
+    }
+
+    @Test
+    void inicioAssincrono_deveLimparAThread() {
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/pets/1");
+
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+
+        assertFalse(LeituraNoPrimario.ativa());
+    }
+}
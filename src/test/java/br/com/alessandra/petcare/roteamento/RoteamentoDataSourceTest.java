@@ -0,0 +1,61 @@
+package br.com.alessandra.petcare.roteamento;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RoteamentoDataSourceTest {
+
+    private final DataSource primario = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, replica);
+
+    @AfterEach
+    void limpar() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        LeituraNoPrimario.desativar();
+    }
+
+    @Test
+    void transacaoReadOnly_deveIrParaAReplica() throws Exception {
+        Connection conexao = mock(Connection.class);
+        when(replica.getConnection()).thenReturn(conexao);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(conexao, roteamento.getConnection());
+        verifyNoInteractions(primario);
+    }
+
+    @Test
+    void escritaOuSemTransacao_deveIrParaOPrimario() {
+        assertEquals(RoteamentoDataSource.Destino.PRIMARIO, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    void leituraNoPrimarioAtiva_deveIgnorarReadOnly() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        LeituraNoPrimario.ativar();
+
+        assertEquals(RoteamentoDataSource.Destino.PRIMARIO, roteamento.determineCurrentLookupKey());
+    }
+
+    @Test
+    void executar_deveLerDoPrimarioEDevolverAThreadComoEstava() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(RoteamentoDataSource.Destino.PRIMARIO,
+                LeituraNoPrimario.executar(roteamento::determineCurrentLookupKey));
+        assertFalse(LeituraNoPrimario.ativa());
+
+        // já ativa (requisição que escreveu): continua ativa depois
+        LeituraNoPrimario.ativar();
+        LeituraNoPrimario.executar(roteamento::determineCurrentLookupKey);
+        assertTrue(LeituraNoPrimario.ativa());
+    }
+}
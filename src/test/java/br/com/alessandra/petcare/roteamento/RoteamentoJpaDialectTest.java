@@ -0,0 +1,67 @@
+package br.com.alessandra.petcare.roteamento;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityTransaction;
+import org.hibernate.CacheMode;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.mockito.Mockito.*;
+
+class RoteamentoJpaDialectTest {
+
+    private final RoteamentoJpaDialect dialeto = new RoteamentoJpaDialect();
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final SessionImplementor sessao = mock(SessionImplementor.class);
+
+    @BeforeEach
+    void setUp() {
+        // sem preparar a conexão: o teste é só sobre o modo de cache
+        dialeto.setPrepareConnection(false);
+        when(entityManager.unwrap(SessionImplementor.class)).thenReturn(sessao);
+        when(entityManager.getTransaction()).thenReturn(mock(EntityTransaction.class));
+        when(sessao.getHibernateFlushMode()).thenReturn(FlushMode.AUTO);
+    }
+
+    @AfterEach
+    void limpar() {
+        LeituraNoPrimario.desativar();
+    }
+
+    private void begin(boolean readOnly) throws Exception {
+        DefaultTransactionDefinition definicao = new DefaultTransactionDefinition();
+        definicao.setReadOnly(readOnly);
+        dialeto.beginTransaction(entityManager, definicao);
+    }
+
+    @Test
+    void transacaoReadOnly_naoDeveGravarNoCache() throws Exception {
+        begin(true);
+
+        // vai para a réplica: lê do cache, mas não guarda linha possivelmente atrasada
+        verify(sessao).setCacheMode(CacheMode.GET);
+    }
+
+    @Test
+    void leituraNoPrimario_deveGravarNoCache() throws Exception {
+        LeituraNoPrimario.ativar();
+
+        begin(true);
+
+        verify(sessao).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void escrita_deveVoltarOCacheAoNormal() throws Exception {
+        // open-in-view: a mesma sessão passa por uma transação readOnly e depois por uma de escrita
+        begin(true);
+        begin(false);
+
+        verify(sessao).setCacheMode(CacheMode.GET);
+        verify(sessao).setCacheMode(CacheMode.NORMAL);
+    }
+}
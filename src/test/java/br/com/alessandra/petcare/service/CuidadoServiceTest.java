@@ -1,15 +1,22 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.metrica.MetricasNegocio;
 import br.com.alessandra.petcare.model.*;
 import br.com.alessandra.petcare.repository.CuidadoRepository;
 import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.service.CustoCuidadoService.Lancamento;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,6 +31,16 @@ class CuidadoServiceTest {
     @Mock
     private PetRepository petRepository;
 
+    @Mock
+    private CustoCuidadoService custoCuidadoService;
+
+    @Mock
+    private MetricasNegocio metricasNegocio;
+
+    // aliases da configuração (petcare.cuidados.aliases)
+    @Spy
+    private AliasesTipoCuidado aliasesTipoCuidado = new AliasesTipoCuidado(Map.of("ANTIPULGAS", "MEDICACAO"));
+
     @InjectMocks
     private CuidadoService cuidadoService;
 
@@ -54,6 +71,8 @@ class CuidadoServiceTest {
         assertEquals(1L, salvo.getPet().getId());
 
         verify(cuidadoRepository).save(any(Cuidado.class));
+        verify(custoCuidadoService).registrar(new Lancamento(1L, LocalDate.now(), TipoCuidado.BANHO, new BigDecimal("50.00")));
+        verify(metricasNegocio).cuidado(TipoCuidado.BANHO);
     }
 
     @Test
@@ -232,6 +251,10 @@ class CuidadoServiceTest {
         assertEquals(1L, atualizado.getPet().getId()); // manteve
 
         verify(cuidadoRepository).save(existente);
+        // custo sai do balde antigo (BANHO, ontem, sem custo) e vai para o novo
+        verify(custoCuidadoService).mover(
+                new Lancamento(1L, LocalDate.now().minusDays(1), TipoCuidado.BANHO, BigDecimal.ZERO),
+                new Lancamento(1L, LocalDate.now(), TipoCuidado.TOSA, new BigDecimal("80.00")));
     }
 
     @Test
@@ -284,4 +307,100 @@ class CuidadoServiceTest {
 
         verify(cuidadoRepository, never()).save(any());
     }
+
+    // =========================
+    // DELETAR
+    // =========================
+
+    @Test
+    void deletar_deveTirarCustoDoBalde() {
+        Pet pet = new Pet(); pet.setId(3L);
+        Cuidado existente = new Cuidado();
+        existente.setId(5L);
+        existente.setPet(pet);
+        existente.setTipo(TipoCuidado.VACINA);
+        existente.setData(LocalDate.of(2025, 3, 10));
+        existente.setCusto(new BigDecimal("120.00"));
+
+        when(cuidadoRepository.findById(5L)).thenReturn(Optional.of(existente));
+
+        cuidadoService.deletar(5L);
+
+        verify(custoCuidadoService).remover(
+                new Lancamento(3L, LocalDate.of(2025, 3, 10), TipoCuidado.VACINA, new BigDecimal("120.00")));
+        verify(cuidadoRepository).delete(existente);
+    }
+
+    // =========================
+    // LISTAGENS (período + cursor)
+    // =========================
+
+    private Cuidado cuidado(Long id, LocalDate data) {
+        Cuidado c = new Cuidado();
+        c.setId(id);
+        c.setData(data);
+        return c;
+    }
+
+    @Test
+    void listarPorTipo_deveMontarCursorComDataEId() {
+        LocalDate dia = LocalDate.of(2025, 3, 10);
+        when(cuidadoRepository.findBy(any(Specification.class), any())).thenReturn(List.of(
+                cuidado(9L, dia), cuidado(7L, dia), cuidado(3L, dia.minusDays(1))));
+
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarPorTipo("vacina", dia.minusDays(30), dia, null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals("2025-03-10_7", pagina.next());
+    }
+
+    @Test
+    void listarPorTipo_deveAceitarAliasDaConfiguracao() {
+        when(cuidadoRepository.findBy(any(Specification.class), any())).thenReturn(List.of());
+
+        cuidadoService.listarPorTipo("antipulgas", null, null, null, null);
+
+        verify(aliasesTipoCuidado).resolver("antipulgas");
+        assertThrows(BusinessException.class,
+                () -> cuidadoService.listarPorTipo("hidratacao", null, null, null, null));
+    }
+
+    @Test
+    void listarTodos_deveAceitarCursorDaPaginaAnterior() {
+        when(cuidadoRepository.findBy(any(Specification.class), any())).thenReturn(List.of());
+
+        PaginaCursor<Cuidado> pagina = cuidadoService.listarTodos(null, null, "2025-03-10_7", null);
+
+        assertTrue(pagina.itens().isEmpty());
+        assertNull(pagina.next());
+    }
+
+    @Test
+    void listarTodos_deveFalharQuandoCursorInvalido() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> cuidadoService.listarTodos(null, null, "42", null));
+
+        assertEquals("Cursor inválido: 42", ex.getMessage());
+        verifyNoInteractions(cuidadoRepository);
+    }
+
+    @Test
+    void listarTodos_deveFalharQuandoPeriodoInvertido() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> cuidadoService.listarTodos(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), null, null));
+
+        assertEquals("de não pode ser depois de ate.", ex.getMessage());
+        verifyNoInteractions(cuidadoRepository);
+    }
+
+    @Test
+    void listarPorPet_deveFalharQuandoPetNaoExiste() {
+        when(petRepository.existsById(99L)).thenReturn(false);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> cuidadoService.listarPorPet(99L, null, null, null, null));
+
+        assertEquals("Pet não encontrado com id: 99", ex.getMessage());
+        verifyNoInteractions(cuidadoRepository);
+    }
 }
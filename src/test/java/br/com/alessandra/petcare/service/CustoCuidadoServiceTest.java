@@ -0,0 +1,120 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.model.TipoCuidado;
+import br.com.alessandra.petcare.repository.CustoCuidadoMensalRepository;
+import br.com.alessandra.petcare.repository.PetRepository;
+import br.com.alessandra.petcare.repository.TutorRepository;
+import br.com.alessandra.petcare.service.CustoCuidadoService.Lancamento;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustoCuidadoServiceTest {
+
+    private static final LocalDate MARCO = LocalDate.of(2025, 3, 1);
+    private static final LocalDate DIA_17 = LocalDate.of(2025, 3, 17);
+
+    @Mock
+    private CustoCuidadoMensalRepository custoRepository;
+
+    @Mock
+    private PetRepository petRepository;
+
+    @Mock
+    private TutorRepository tutorRepository;
+
+    @InjectMocks
+    private CustoCuidadoService custoCuidadoService;
+
+    private Lancamento lancamento(Long petId, LocalDate data, TipoCuidado tipo, String custo) {
+        return new Lancamento(petId, data, tipo, new BigDecimal(custo));
+    }
+
+    @Test
+    void registrar_deveSomarNoBaldeDaDataDoCuidado() {
+        custoCuidadoService.registrar(lancamento(1L, DIA_17, TipoCuidado.VACINA, "80.00"));
+
+        verify(custoRepository).somar(1L, DIA_17, TipoCuidado.VACINA, new BigDecimal("80.00"), 1);
+    }
+
+    @Test
+    void remover_deveTirarCustoEQuantidadeDoBalde() {
+        custoCuidadoService.remover(lancamento(1L, MARCO, TipoCuidado.BANHO, "50.00"));
+
+        verify(custoRepository).somar(1L, MARCO, TipoCuidado.BANHO, new BigDecimal("-50.00"), -1);
+    }
+
+    @Test
+    void mover_mesmoBalde_deveSomarSoADiferenca() {
+        custoCuidadoService.mover(
+                lancamento(1L, DIA_17, TipoCuidado.BANHO, "50.00"),
+                lancamento(1L, DIA_17, TipoCuidado.BANHO, "65.00"));
+
+        verify(custoRepository).somar(1L, DIA_17, TipoCuidado.BANHO, new BigDecimal("15.00"), 0);
+        verifyNoMoreInteractions(custoRepository);
+    }
+
+    @Test
+    void mover_outraDataNoMesmoMes_deveTirarEPorDeNovo() {
+        // o tutor é o da adoção vigente na data: outro dia pode ser outro balde, mesmo no mesmo mês
+        custoCuidadoService.mover(
+                lancamento(1L, LocalDate.of(2025, 3, 2), TipoCuidado.BANHO, "50.00"),
+                lancamento(1L, LocalDate.of(2025, 3, 28), TipoCuidado.BANHO, "50.00"));
+
+        verify(custoRepository).somar(1L, LocalDate.of(2025, 3, 2), TipoCuidado.BANHO, new BigDecimal("-50.00"), -1);
+        verify(custoRepository).somar(1L, LocalDate.of(2025, 3, 28), TipoCuidado.BANHO, new BigDecimal("50.00"), 1);
+    }
+
+    @Test
+    void mover_outroPetMesOuTipo_deveTirarDoAntigoEPorNoNovo() {
+        custoCuidadoService.mover(
+                lancamento(1L, LocalDate.of(2025, 3, 31), TipoCuidado.BANHO, "50.00"),
+                lancamento(2L, LocalDate.of(2025, 4, 1), TipoCuidado.TOSA, "70.00"));
+
+        verify(custoRepository).somar(1L, LocalDate.of(2025, 3, 31), TipoCuidado.BANHO, new BigDecimal("-50.00"), -1);
+        verify(custoRepository).somar(2L, LocalDate.of(2025, 4, 1), TipoCuidado.TOSA, new BigDecimal("70.00"), 1);
+    }
+
+    @Test
+    void porMesETipo_semPeriodo_deveUsarUltimos12Meses() {
+        YearMonth agora = YearMonth.now();
+        when(custoRepository.porMesETipo(agora.minusMonths(11).atDay(1), agora.atDay(1))).thenReturn(List.of());
+
+        assertTrue(custoCuidadoService.porMesETipo(null, null).isEmpty());
+    }
+
+    @Test
+    void porMesETipo_deveFalharQuandoPeriodoInvertidoOuLongoDemais() {
+        RuntimeException invertido = assertThrows(RuntimeException.class,
+                () -> custoCuidadoService.porMesETipo(YearMonth.of(2025, 5), YearMonth.of(2025, 1)));
+        RuntimeException longo = assertThrows(RuntimeException.class,
+                () -> custoCuidadoService.porMesETipo(YearMonth.of(2020, 1), YearMonth.of(2025, 1)));
+
+        assertEquals("de não pode ser depois de ate.", invertido.getMessage());
+        assertEquals("O período aceita no máximo 60 meses.", longo.getMessage());
+        verifyNoInteractions(custoRepository);
+    }
+
+    @Test
+    void porTutor_deveFalharQuandoTutorNaoExiste() {
+        when(tutorRepository.existsById(99L)).thenReturn(false);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> custoCuidadoService.porTutor(99L, null, null));
+
+        assertEquals("Tutor não encontrado com id: 99", ex.getMessage());
+        verifyNoInteractions(custoRepository);
+    }
+}
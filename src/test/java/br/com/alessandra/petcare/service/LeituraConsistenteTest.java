@@ -0,0 +1,36 @@
+package br.com.alessandra.petcare.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Versões e corpo do GET condicional: uma transação só, readOnly e com snapshot único
+@DataJpaTest(properties = "spring.sql.init.mode=never") // db/indices.sql é específico do PostgreSQL
+@Import(LeituraConsistente.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // sem a transação do teste em volta
+class LeituraConsistenteTest {
+
+    @Autowired
+    private LeituraConsistente leituraConsistente;
+
+    @Test
+    void executar_deveRodarAsLeiturasNumaTransacaoReadOnlyRepeatableRead() {
+        int isolamento = leituraConsistente.executar(() -> {
+            assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+            assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            return TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+        });
+
+        // PostgreSQL: um snapshot para a transação inteira (versões e corpo veem os mesmos commits)
+        assertEquals(Connection.TRANSACTION_REPEATABLE_READ, isolamento);
+        assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.model.Pet;
+import br.com.alessandra.petcare.model.StatusPet;
+import br.com.alessandra.petcare.model.Tutor;
+import br.com.alessandra.petcare.repository.PetRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PetExportServiceTest {
+
+    @Mock
+    private PetRepository petRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private PetExportService petExportService;
+
+    @BeforeEach
+    void setUp() {
+        petExportService = new PetExportService(petRepository, objectMapper, entityManager);
+    }
+
+    private Pet pet(long id) {
+        Pet pet = new Pet();
+        pet.setId(id);
+        pet.setNome("Pet " + id);
+        pet.setEspecie("Gato");
+        pet.setStatus(StatusPet.DISPONIVEL);
+        pet.setDataEntrada(LocalDate.of(2024, 1, 10));
+        return pet;
+    }
+
+    @Test
+    void exportar_deveEscreverUmPetPorLinhaEFecharOStream() throws Exception {
+        Tutor tutor = new Tutor();
+        tutor.setId(7L);
+        tutor.setNome("Maria");
+
+        Pet adotado = pet(2L);
+        adotado.setStatus(StatusPet.ADOTADO);
+        adotado.setTutor(tutor);
+
+        AtomicBoolean fechado = new AtomicBoolean();
+        when(petRepository.streamTodosComTutor())
+                .thenReturn(Stream.of(pet(1L), adotado).onClose(() -> fechado.set(true)));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        long total = petExportService.exportar(saida);
+
+        String[] linhas = saida.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, total);
+        assertEquals(2, linhas.length);
+
+        JsonNode primeira = objectMapper.readTree(linhas[0]);
+        assertEquals(1, primeira.get("id").asLong());
+        assertEquals("2024-01-10", primeira.get("dataEntrada").asText());
+
+        JsonNode segunda = objectMapper.readTree(linhas[1]);
+        assertEquals("ADOTADO", segunda.get("status").asText());
+        assertEquals("Maria", segunda.get("tutor").get("nome").asText());
+
+        assertTrue(fechado.get()); // libera o cursor no banco
+        verifyNoInteractions(entityManager); // menos pets que um bloco
+    }
+
+    @Test
+    void exportar_deveLimparContextoACadaBloco() throws Exception {
+        int quantidade = PetExportService.LIMPAR_A_CADA * 2 + 1;
+        when(petRepository.streamTodosComTutor())
+                .thenReturn(IntStream.rangeClosed(1, quantidade).mapToObj(this::pet));
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        long total = petExportService.exportar(saida);
+
+        assertEquals(quantidade, total);
+        assertEquals(quantidade, saida.toString(StandardCharsets.UTF_8).lines().count());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void exportar_quandoCatalogoVazio_naoDeveEscreverNada() throws Exception {
+        when(petRepository.streamTodosComTutor()).thenReturn(Stream.empty());
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        assertEquals(0, petExportService.exportar(saida));
+        assertEquals(0, saida.size());
+    }
+}
@@ -0,0 +1,121 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.dto.StatusPurga;
+import br.com.alessandra.petcare.repository.AdocaoRepository;
+import br.com.alessandra.petcare.repository.CuidadoRepository;
+import br.com.alessandra.petcare.repository.PetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PetPurgaServiceTest {
+
+    private static final int LOTE = 100;
+
+    @Mock
+    private PetRepository petRepository;
+
+    @Mock
+    private CuidadoRepository cuidadoRepository;
+
+    @Mock
+    private AdocaoRepository adocaoRepository;
+
+    private PetPurgaService petPurgaService;
+
+    @BeforeEach
+    void setUp() {
+        petPurgaService = new PetPurgaService(petRepository, cuidadoRepository, adocaoRepository, LOTE);
+    }
+
+    @Test
+    void purgar_deveApagarFilhosEmLotesEDepoisOPet() {
+        // 250 cuidados -> 3 lotes (100, 100, 50); 3 adoções -> 1 lote
+        when(cuidadoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(100, 100, 50);
+        when(adocaoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(3);
+        when(petRepository.deleteExcluido(1L)).thenReturn(1);
+
+        assertTrue(petPurgaService.purgar(1L));
+
+        InOrder ordem = inOrder(cuidadoRepository, adocaoRepository, petRepository);
+        ordem.verify(cuidadoRepository, times(3)).deleteLoteByPetId(1L, LOTE);
+        ordem.verify(adocaoRepository).deleteLoteByPetId(1L, LOTE);
+        ordem.verify(petRepository).deleteExcluido(1L);
+
+        when(petRepository.countExcluidos()).thenReturn(0L);
+        StatusPurga status = petPurgaService.status();
+        assertEquals(1, status.petsPurgados());
+        assertEquals(250, status.cuidadosApagados());
+        assertEquals(3, status.adocoesApagadas());
+        assertTrue(status.linhasPorSegundo() > 0);
+    }
+
+    @Test
+    void purgar_loteCheio_deveConferirSeSobrouAlgo() {
+        // exatamente um lote cheio: precisa de mais uma chamada (que volta 0) para saber que acabou
+        when(cuidadoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(LOTE, 0);
+        when(adocaoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(0);
+        when(petRepository.deleteExcluido(1L)).thenReturn(1);
+
+        petPurgaService.purgar(1L);
+
+        verify(cuidadoRepository, times(2)).deleteLoteByPetId(1L, LOTE);
+    }
+
+    @Test
+    void purgar_quandoAindaHaFilhoVinculado_deveDeixarParaProximaRodada() {
+        when(cuidadoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(0);
+        when(adocaoRepository.deleteLoteByPetId(1L, LOTE)).thenReturn(0);
+        when(petRepository.deleteExcluido(1L)).thenThrow(new DataIntegrityViolationException("fk"));
+
+        assertFalse(petPurgaService.purgar(1L));
+
+        when(petRepository.countExcluidos()).thenReturn(1L);
+        assertEquals(1, petPurgaService.status().petsPendentes());
+        assertEquals(0, petPurgaService.status().petsPurgados());
+    }
+
+    @Test
+    void processar_deveSeguirParaOProximoPetQuandoUmFalha() {
+        when(petRepository.findIdsExcluidos(0L, PetPurgaService.PETS_POR_RODADA)).thenReturn(List.of(1L, 2L));
+        when(cuidadoRepository.deleteLoteByPetId(1L, LOTE)).thenThrow(new IllegalStateException("timeout"));
+        when(cuidadoRepository.deleteLoteByPetId(2L, LOTE)).thenReturn(0);
+        when(adocaoRepository.deleteLoteByPetId(2L, LOTE)).thenReturn(0);
+        when(petRepository.deleteExcluido(2L)).thenReturn(1);
+
+        petPurgaService.processar();
+
+        verify(petRepository, never()).deleteExcluido(1L);
+        verify(petRepository).deleteExcluido(2L);
+    }
+
+    @Test
+    void processar_petQueFalhaSempre_naoDeveTravarOsDeIdMaior() {
+        int rodada = PetPurgaService.PETS_POR_RODADA;
+        when(petRepository.findIdsExcluidos(0L, rodada)).thenReturn(List.of(1L));
+        when(petRepository.findIdsExcluidos(1L, rodada)).thenReturn(List.of(2L));
+        when(petRepository.findIdsExcluidos(2L, rodada)).thenReturn(List.of());
+        when(cuidadoRepository.deleteLoteByPetId(1L, LOTE)).thenThrow(new IllegalStateException("timeout"));
+        when(cuidadoRepository.deleteLoteByPetId(2L, LOTE)).thenReturn(0);
+        when(adocaoRepository.deleteLoteByPetId(2L, LOTE)).thenReturn(0);
+        when(petRepository.deleteExcluido(2L)).thenReturn(1);
+
+        petPurgaService.processar(); // tenta o 1 e falha
+        petPurgaService.processar(); // segue do 1 em diante: apaga o 2
+        petPurgaService.processar(); // fim da fila: volta ao começo e tenta o 1 de novo
+
+        verify(petRepository).deleteExcluido(2L);
+        verify(cuidadoRepository, times(2)).deleteLoteByPetId(1L, LOTE);
+        verify(petRepository, never()).deleteExcluido(1L);
+    }
+}
@@ -1,5 +1,12 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.cache.DisponibilidadeIndex;
+import br.com.alessandra.petcare.cache.PetAlteradoEvent;
+import br.com.alessandra.petcare.dto.FiltroPet;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.metrica.MetricasNegocio;
 import br.com.alessandra.petcare.model.Adocao;
 import br.com.alessandra.petcare.model.Pet;
 import br.com.alessandra.petcare.model.StatusAdocao;
@@ -14,8 +21,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,9 +46,197 @@ class PetServiceTest {
     @Mock
     private AdocaoRepository adocaoRepository;
 
+    @Mock
+    private ValidacaoItem validacaoItem;
+
+    @Mock
+    private DisponibilidadeIndex disponibilidadeIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private MetricasNegocio metricasNegocio;
+
     @InjectMocks
     private PetService petService;
 
+    // =========================
+    // LISTAGENS (cursor)
+    // =========================
+
+    @Test
+    void listarTodos_deveRetornarPaginaComProximoCursor() {
+        Pet p1 = new Pet(); p1.setId(1L);
+        Pet p2 = new Pet(); p2.setId(2L);
+        Pet p3 = new Pet(); p3.setId(3L);
+
+        // busca limit + 1 para saber se existe próxima página
+        when(petRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(List.of(p1, p2, p3));
+
+        PaginaCursor<Pet> pagina = petService.listarTodos(null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(2L, pagina.itens().get(1).getId());
+        assertEquals("2", pagina.next());
+    }
+
+    @Test
+    void listarDisponiveis_ultimaPaginaNaoTemProximoCursor() {
+        Pet p5 = new Pet(); p5.setId(5L); p5.setStatus(StatusPet.DISPONIVEL);
+
+        when(petRepository.findByStatusAndIdGreaterThanOrderByIdAsc(StatusPet.DISPONIVEL, 4L, Limit.of(3)))
+                .thenReturn(List.of(p5));
+
+        PaginaCursor<Pet> pagina = petService.listarDisponiveis(4L, 2);
+
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.next());
+        verify(disponibilidadeIndex).pagina(4L, 2); // índice fora do ar -> banco
+    }
+
+    @Test
+    void listarDisponiveis_deveUsarIndiceEmMemoriaQuandoNoAr() {
+        Pet p1 = new Pet(); p1.setId(1L); p1.setStatus(StatusPet.DISPONIVEL);
+        PaginaCursor<Pet> doIndice = new PaginaCursor<>(List.of(p1), null);
+
+        when(disponibilidadeIndex.pagina(0L, PaginaCursor.LIMITE_PADRAO)).thenReturn(Optional.of(doIndice));
+
+        assertSame(doIndice, petService.listarDisponiveis(null, null));
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void buscar_deveConsultarComEspecificacaoEMontarPagina() {
+        Pet p1 = new Pet(); p1.setId(1L);
+        Pet p2 = new Pet(); p2.setId(4L);
+
+        when(petRepository.findBy(any(Specification.class), any())).thenReturn(List.of(p1, p2));
+
+        FiltroPet filtro = new FiltroPet("Gato", null, 1, 5, StatusPet.DISPONIVEL, null, null);
+        PaginaCursor<Pet> pagina = petService.buscar(filtro, null, 1);
+
+        assertEquals(1, pagina.itens().size());
+        assertEquals("1", pagina.next());
+        verify(petRepository).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    void buscar_deveFalharQuandoFaixaDeIdadeInvertida() {
+        FiltroPet filtro = new FiltroPet(null, null, 6, 2, null, null, null);
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.buscar(filtro, null, null));
+
+        assertEquals("idadeMin não pode ser maior que idadeMax.", ex.getMessage());
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void buscar_deveFalharQuandoFaixaDeDataInvertida() {
+        FiltroPet filtro = new FiltroPet(null, null, null, null, null,
+                LocalDate.of(2024, 5, 1), LocalDate.of(2024, 1, 1));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.buscar(filtro, null, null));
+
+        assertEquals("dataEntradaDe não pode ser depois de dataEntradaAte.", ex.getMessage());
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void listarTodos_deveLimitarAoMaximo() {
+        when(petRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(PaginaCursor.LIMITE_MAXIMO + 1)))
+                .thenReturn(List.of());
+
+        PaginaCursor<Pet> pagina = petService.listarTodos(null, 100_000);
+
+        assertTrue(pagina.itens().isEmpty());
+        assertNull(pagina.next());
+    }
+
+    @Test
+    void listarTodos_deveFalharQuandoLimitInvalido() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.listarTodos(null, 0));
+
+        assertEquals("O parâmetro limit deve ser maior que zero.", ex.getMessage());
+        verifyNoInteractions(petRepository);
+    }
+
+    // =========================
+    // CRIAR EM LOTE
+    // =========================
+
+    private Pet novoPet(String nome) {
+        Pet p = new Pet();
+        p.setNome(nome);
+        p.setEspecie("CACHORRO");
+        p.setStatus(StatusPet.DISPONIVEL);
+        p.setDataEntrada(LocalDate.now());
+        return p;
+    }
+
+    @Test
+    void criarEmLote_deveSalvarValidosERecusarInvalidosPorItem() {
+        Pet ok1 = novoPet("Filhote 1");
+        Pet adotado = novoPet("Filhote 2");
+        adotado.setStatus(StatusPet.ADOTADO);
+        Pet ok2 = novoPet("Filhote 3");
+
+        when(petRepository.saveAll(List.of(ok1, ok2))).thenAnswer(inv -> {
+            ok1.setId(101L);
+            ok2.setId(102L);
+            return List.of(ok1, ok2);
+        });
+
+        List<ResultadoLote> resultados = petService.criarEmLote(List.of(ok1, adotado, ok2));
+
+        assertEquals(3, resultados.size());
+        assertEquals(ResultadoLote.criado(0, 101L), resultados.get(0));
+        assertEquals(ResultadoLote.erro(1, "Não é permitido criar pet como ADOTADO. Use o endpoint de adoção."),
+                resultados.get(1));
+        assertEquals(ResultadoLote.criado(2, 102L), resultados.get(2));
+
+        // um único saveAll (batch), nada de save por item
+        verify(petRepository).saveAll(List.of(ok1, ok2));
+        verify(petRepository, never()).save(any());
+        verify(eventPublisher).publishEvent(PetAlteradoEvent.de(List.of(ok1, ok2)));
+    }
+
+    @Test
+    void criarEmLote_deveRecusarItemComCampoInvalido() {
+        Pet semNome = novoPet(null);
+
+        doThrow(new BusinessException("nome: O nome do pet é obrigatório")).when(validacaoItem).validar(semNome, "Pet");
+
+        List<ResultadoLote> resultados = petService.criarEmLote(List.of(semNome));
+
+        assertEquals(ResultadoLote.erro(0, "nome: O nome do pet é obrigatório"), resultados.get(0));
+    }
+
+    @Test
+    void criarEmLote_deveFalharQuandoLoteVazio() {
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.criarEmLote(List.of()));
+
+        assertEquals("Informe ao menos um pet no lote.", ex.getMessage());
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void criarEmLote_deveFalharQuandoLoteAcimaDoLimite() {
+        List<Pet> pets = java.util.Collections.nCopies(PetService.LOTE_MAXIMO + 1, novoPet("X"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.criarEmLote(pets));
+
+        assertTrue(ex.getMessage().contains("no máximo " + PetService.LOTE_MAXIMO));
+        verifyNoInteractions(petRepository);
+    }
+
     // =========================
     // ADOTAR
     // =========================
@@ -46,17 +246,22 @@ class PetServiceTest {
         Long idPet = 1L;
         Long idTutor = 10L;
 
-        Pet pet = new Pet();
-        pet.setId(idPet);
-        pet.setStatus(StatusPet.DISPONIVEL);
+        Pet petRef = new Pet();
+        petRef.setId(idPet);
 
         Tutor tutor = new Tutor();
         tutor.setId(idTutor);
 
-        when(petRepository.findById(idPet)).thenReturn(Optional.of(pet));
-        when(tutorRepository.findById(idTutor)).thenReturn(Optional.of(tutor));
-        when(petRepository.save(any(Pet.class))).thenAnswer(inv -> inv.getArgument(0));
+        Pet adotado = new Pet();
+        adotado.setId(idPet);
+        adotado.setStatus(StatusPet.ADOTADO);
+        adotado.setTutor(tutor);
+
+        when(tutorRepository.getReferenceById(idTutor)).thenReturn(tutor);
+        when(petRepository.adotarSeDisponivel(idPet, tutor)).thenReturn(1);
+        when(petRepository.getReferenceById(idPet)).thenReturn(petRef);
         when(adocaoRepository.save(any(Adocao.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(petRepository.findComTutorById(idPet)).thenReturn(Optional.of(adotado));
 
         Pet resultado = petService.adotarPet(idPet, idTutor);
 
@@ -64,22 +269,31 @@ class PetServiceTest {
         assertNotNull(resultado.getTutor());
         assertEquals(idTutor, resultado.getTutor().getId());
 
-        verify(petRepository).save(pet);
-
         ArgumentCaptor<Adocao> captor = ArgumentCaptor.forClass(Adocao.class);
         verify(adocaoRepository).save(captor.capture());
 
         Adocao adocaoSalva = captor.getValue();
-        assertEquals(pet, adocaoSalva.getPet());
+        assertEquals(petRef, adocaoSalva.getPet());
         assertEquals(tutor, adocaoSalva.getTutor());
         assertEquals(StatusAdocao.ATIVA, adocaoSalva.getStatus());
         assertEquals(LocalDate.now(), adocaoSalva.getDataAdocao());
+
+        // nada de ler antes nem de salvar o pet inteiro: quem decide é o UPDATE condicional
+        verify(petRepository, never()).findById(anyLong());
+        verify(petRepository, never()).save(any());
+        verify(adocaoRepository, never()).findFirstByPetAndStatusOrderByDataAdocaoDesc(any(), any());
+        verify(eventPublisher).publishEvent(PetAlteradoEvent.de(adotado));
+        verify(metricasNegocio).adocao();
     }
 
     @Test
     void adotarPet_deveFalharQuandoPetNaoExiste() {
         Long idPet = 1L;
+        Tutor tutor = new Tutor();
+        tutor.setId(10L);
 
+        when(tutorRepository.getReferenceById(10L)).thenReturn(tutor);
+        when(petRepository.adotarSeDisponivel(idPet, tutor)).thenReturn(0);
         when(petRepository.findById(idPet)).thenReturn(Optional.empty());
 
         RuntimeException ex = assertThrows(RuntimeException.class,
@@ -87,7 +301,6 @@ class PetServiceTest {
 
         assertTrue(ex.getMessage().toLowerCase().contains("pet não encontrado"));
 
-        verifyNoInteractions(tutorRepository);
         verifyNoInteractions(adocaoRepository);
         verify(petRepository, never()).save(any());
     }
@@ -95,11 +308,15 @@ class PetServiceTest {
     @Test
     void adotarPet_deveFalharQuandoPetJaMarcadoComoAdotado() {
         Long idPet = 1L;
+        Tutor tutor = new Tutor();
+        tutor.setId(99L);
 
         Pet pet = new Pet();
         pet.setId(idPet);
         pet.setStatus(StatusPet.ADOTADO);
 
+        when(tutorRepository.getReferenceById(99L)).thenReturn(tutor);
+        when(petRepository.adotarSeDisponivel(idPet, tutor)).thenReturn(0);
         when(petRepository.findById(idPet)).thenReturn(Optional.of(pet));
 
         RuntimeException ex = assertThrows(RuntimeException.class,
@@ -107,24 +324,26 @@ class PetServiceTest {
 
         assertEquals("Este pet já está marcado como ADOTADO.", ex.getMessage());
 
-        verify(tutorRepository, never()).findById(anyLong());
+        verify(tutorRepository, never()).existsById(anyLong());
         verify(petRepository, never()).save(any());
         verify(adocaoRepository, never()).save(any());
     }
 
-
-
     @Test
     void adotarPet_deveFalharQuandoTutorNaoExiste() {
         Long idPet = 1L;
         Long idTutor = 10L;
+        Tutor tutorRef = new Tutor();
+        tutorRef.setId(idTutor);
 
         Pet pet = new Pet();
         pet.setId(idPet);
         pet.setStatus(StatusPet.DISPONIVEL);
 
+        when(tutorRepository.getReferenceById(idTutor)).thenReturn(tutorRef);
+        when(petRepository.adotarSeDisponivel(idPet, tutorRef)).thenReturn(0);
         when(petRepository.findById(idPet)).thenReturn(Optional.of(pet));
-        when(tutorRepository.findById(idTutor)).thenReturn(Optional.empty());
+        when(tutorRepository.existsById(idTutor)).thenReturn(false);
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> petService.adotarPet(idPet, idTutor));
@@ -135,35 +354,53 @@ class PetServiceTest {
         verify(petRepository, never()).save(any()); // não adota se tutor não existe
     }
 
-
     @Test
-    void adotarPet_deveFalharQuandoJaExisteAdocaoAtivaMesmoPetDisponivel() {
+    void adotarPet_deveFalharQuandoUpdateNaoAdotouMesmoComPetDisponivel() {
+        // outra requisição adotou e devolveu o pet entre o UPDATE e a leitura do motivo
         Long idPet = 1L;
         Long idTutor = 10L;
+        Tutor tutorRef = new Tutor();
+        tutorRef.setId(idTutor);
 
         Pet pet = new Pet();
         pet.setId(idPet);
         pet.setStatus(StatusPet.DISPONIVEL);
 
-        Adocao adocaoAtiva = new Adocao();
-        adocaoAtiva.setId(100L);
-        adocaoAtiva.setPet(pet);
-        adocaoAtiva.setStatus(StatusAdocao.ATIVA);
-
+        when(tutorRepository.getReferenceById(idTutor)).thenReturn(tutorRef);
+        when(petRepository.adotarSeDisponivel(idPet, tutorRef)).thenReturn(0);
         when(petRepository.findById(idPet)).thenReturn(Optional.of(pet));
-        when(adocaoRepository.findFirstByPetAndStatusOrderByDataAdocaoDesc(pet, StatusAdocao.ATIVA))
-                .thenReturn(Optional.of(adocaoAtiva));
+        when(tutorRepository.existsById(idTutor)).thenReturn(true);
 
         RuntimeException ex = assertThrows(RuntimeException.class,
                 () -> petService.adotarPet(idPet, idTutor));
 
-        assertTrue(ex.getMessage().toLowerCase().contains("adoção ativa"));
+        assertEquals("Não foi possível adotar o pet agora. Tente novamente.", ex.getMessage());
 
-        verify(tutorRepository, never()).findById(anyLong());
-        verify(petRepository, never()).save(any());
         verify(adocaoRepository, never()).save(any());
     }
 
+    @Test
+    void adotarPet_deveFalharQuandoJaExisteAdocaoAtiva() {
+        // dado inconsistente (pet DISPONIVEL com adoção ATIVA): o índice único parcial barra o INSERT
+        Long idPet = 1L;
+        Long idTutor = 10L;
+        Tutor tutor = new Tutor();
+        tutor.setId(idTutor);
+
+        when(tutorRepository.getReferenceById(idTutor)).thenReturn(tutor);
+        when(petRepository.adotarSeDisponivel(idPet, tutor)).thenReturn(1);
+        when(petRepository.getReferenceById(idPet)).thenReturn(new Pet());
+        when(adocaoRepository.save(any(Adocao.class)))
+                .thenThrow(new DataIntegrityViolationException("uq_adocao_pet_ativa"));
+
+        RuntimeException ex = assertThrows(RuntimeException.class,
+                () -> petService.adotarPet(idPet, idTutor));
+
+        assertTrue(ex.getMessage().toLowerCase().contains("adoção ativa"));
+        verify(petRepository, never()).findComTutorById(anyLong());
+        verify(metricasNegocio, never()).adocao();
+    }
+
     // =========================
     // DEVOLVER
     // =========================
@@ -260,9 +497,51 @@ class PetServiceTest {
 
         verify(adocaoRepository).save(adocaoAtiva);
         verify(petRepository).save(pet);
+        verify(eventPublisher).publishEvent(PetAlteradoEvent.de(pet));
+        verify(metricasNegocio).devolucao();
     }
 
+    // =========================
+    // DELETAR (marca + purga em segundo plano)
+    // =========================
 
+    @Test
+    void deletar_deveSoMarcarComoExcluido() {
+        when(petRepository.marcarExcluido(1L)).thenReturn(1);
 
+        petService.deletar(1L);
+
+        // cuidados, adoções e o pet ficam para o PetPurgaService; o UPDATE condicional já decide sozinho
+        verify(petRepository, never()).findById(anyLong());
+        verify(adocaoRepository, never()).deleteByPetId(anyLong());
+        verify(petRepository, never()).delete(any(Pet.class));
+        verify(eventPublisher).publishEvent(PetAlteradoEvent.excluido(1L));
+    }
+
+    @Test
+    void deletar_deveFalharQuandoTemAdocaoAtiva() {
+        Pet pet = new Pet();
+        pet.setId(1L);
+        pet.setStatus(StatusPet.ADOTADO);
 
+        // UPDATE recusado (pet não está DISPONIVEL), mas o pet existe
+        when(petRepository.marcarExcluido(1L)).thenReturn(0);
+        when(petRepository.findById(1L)).thenReturn(Optional.of(pet));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> petService.deletar(1L));
+
+        assertEquals("Não é possível deletar: pet possui adoção ATIVA.", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deletar_deveFalharQuandoJaFoiExcluidoPorOutraRequisicao() {
+        when(petRepository.marcarExcluido(1L)).thenReturn(0);
+        when(petRepository.findById(1L)).thenReturn(Optional.empty());
+
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> petService.deletar(1L));
+
+        assertEquals("Pet não encontrado com id: 1", ex.getMessage());
+        verifyNoInteractions(eventPublisher);
+    }
 }
@@ -1,5 +1,11 @@
 package br.com.alessandra.petcare.service;
 
+import br.com.alessandra.petcare.cache.EmailsConhecidos;
+import br.com.alessandra.petcare.dto.PaginaCursor;
+import br.com.alessandra.petcare.dto.ResultadoLote;
+import br.com.alessandra.petcare.dto.ResumoTutor;
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.exception.NotFoundException;
 import br.com.alessandra.petcare.model.Tutor;
 import br.com.alessandra.petcare.repository.PetRepository;
 import br.com.alessandra.petcare.repository.TutorRepository;
@@ -8,7 +14,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
+import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,23 +35,56 @@ class TutorServiceTest {
     @Mock
     private PetRepository petRepository;
 
+    @Mock
+    private ValidacaoItem validacaoItem;
+
+    @Mock
+    private EmailsConhecidos emailsConhecidos;
+
     @InjectMocks
     private TutorService tutorService;
 
     @Test
-    void listarTodos_deveRetornarListaOrdenadaPorId() {
+    void listarTodos_deveRetornarPaginaComProximoCursor() {
         Tutor t1 = new Tutor(); t1.setId(1L);
         Tutor t2 = new Tutor(); t2.setId(2L);
+        Tutor t3 = new Tutor(); t3.setId(3L);
+
+        // busca limit + 1 para saber se existe próxima página
+        when(tutorRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(List.of(t1, t2, t3));
+
+        PaginaCursor<Tutor> pagina = tutorService.listarTodos(null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertEquals(1L, pagina.itens().get(0).getId());
+        assertEquals("2", pagina.next());
+    }
 
-        when(tutorRepository.findAllByOrderByIdAsc()).thenReturn(List.of(t1, t2));
+    @Test
+    void buscar_deveBuscarPorPrefixoEmMinusculas() {
+        Tutor t1 = new Tutor(); t1.setId(7L);
+
+        when(tutorRepository.buscarPorPrefixo("ana%", 0L, Limit.of(PaginaCursor.LIMITE_PADRAO + 1)))
+                .thenReturn(List.of(t1));
+
+        PaginaCursor<Tutor> pagina = tutorService.buscar("  ANA ", null, null);
+
+        assertEquals(1, pagina.itens().size());
+        assertNull(pagina.next());
+    }
 
-        List<Tutor> lista = tutorService.listarTodos();
+    @Test
+    void buscar_deveFalharQuandoTermoCurto() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> tutorService.buscar(" a ", null, null));
 
-        assertEquals(2, lista.size());
-        assertEquals(1L, lista.get(0).getId());
-        assertEquals(2L, lista.get(1).getId());
+        assertEquals("O parâmetro q deve ter ao menos 2 caracteres.", ex.getMessage());
+        verifyNoInteractions(tutorRepository);
+    }
 
-        verify(tutorRepository).findAllByOrderByIdAsc();
+    @Test
+    void prefixoLike_deveEscaparCuringas() {
+        assertEquals("100!%!_ok!!%", TutorService.prefixoLike("100%_OK!"));
     }
 
     @Test
@@ -68,45 +111,59 @@ class TutorServiceTest {
         verify(tutorRepository).findById(99L);
     }
 
+    // violação do índice único como chega do repositório (SQLState 23505 = unique_violation)
+    private DataIntegrityViolationException emailDuplicado() {
+        SQLException sql = new SQLException("duplicate key value violates unique constraint \"uq_tutor_email_lower\"", "23505");
+        return new DataIntegrityViolationException("could not execute statement", sql);
+    }
+
     @Test
-    void criar_deveSalvarQuandoEmailNaoExiste() {
+    void criar_deveSalvarSemConsultarEmailAntes() {
         Tutor novo = new Tutor();
         novo.setNome("Ana");
         novo.setEmail("ana@email.com");
 
-        when(tutorRepository.findByEmail("ana@email.com")).thenReturn(Optional.empty());
-        when(tutorRepository.save(any(Tutor.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(tutorRepository.saveAndFlush(any(Tutor.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Tutor salvo = tutorService.criar(novo);
 
         assertEquals("Ana", salvo.getNome());
         assertEquals("ana@email.com", salvo.getEmail());
 
-        verify(tutorRepository).findByEmail("ana@email.com");
-        verify(tutorRepository).save(novo);
+        // quem garante o e-mail único é o índice: um INSERT, nenhum SELECT antes
+        verify(tutorRepository).saveAndFlush(novo);
+        verify(tutorRepository, never()).existsByEmailIgnoreCase(anyString());
+        verify(emailsConhecidos).adicionar("ana@email.com");
     }
 
     @Test
     void criar_deveFalharQuandoEmailJaExiste() {
-        Tutor existente = new Tutor();
-        existente.setId(1L);
-        existente.setEmail("x@email.com");
-
         Tutor novo = new Tutor();
-        novo.setEmail("x@email.com");
+        novo.setEmail("X@email.com");
 
-        when(tutorRepository.findByEmail("x@email.com")).thenReturn(Optional.of(existente));
+        when(tutorRepository.saveAndFlush(novo)).thenThrow(emailDuplicado());
 
-        RuntimeException ex = assertThrows(RuntimeException.class,
+        BusinessException ex = assertThrows(BusinessException.class,
                 () -> tutorService.criar(novo));
 
-        assertTrue(ex.getMessage().toLowerCase().contains("já existe"));
-        verify(tutorRepository).findByEmail("x@email.com");
-        verify(tutorRepository, never()).save(any());
+        assertEquals("Já existe um tutor cadastrado com este e-mail.", ex.getMessage());
+        verify(emailsConhecidos, never()).adicionar(anyString());
     }
 
     @Test
-    void atualizar_deveAtualizarQuandoEmailNaoMuda() {
+    void criar_naoDeveMascararOutraViolacao() {
+        Tutor novo = new Tutor();
+        novo.setEmail("a@email.com");
+
+        DataIntegrityViolationException outra = new DataIntegrityViolationException(
+                "not null", new SQLException("null value in column", "23502"));
+        when(tutorRepository.saveAndFlush(novo)).thenThrow(outra);
+
+        assertSame(outra, assertThrows(DataIntegrityViolationException.class, () -> tutorService.criar(novo)));
+    }
+
+    @Test
+    void atualizar_deveAtualizarDados() {
         Tutor atual = new Tutor();
         atual.setId(1L);
         atual.setEmail("a@email.com");
@@ -118,7 +175,7 @@ class TutorServiceTest {
         dados.setEndereco("Rua X");
 
         when(tutorRepository.findById(1L)).thenReturn(Optional.of(atual));
-        when(tutorRepository.save(any(Tutor.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(tutorRepository.saveAndFlush(any(Tutor.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Tutor atualizado = tutorService.atualizar(1L, dados);
 
@@ -128,8 +185,7 @@ class TutorServiceTest {
         assertEquals("Rua X", atualizado.getEndereco());
 
         verify(tutorRepository).findById(1L);
-        verify(tutorRepository, never()).findByEmail(anyString());
-        verify(tutorRepository).save(atual);
+        verify(tutorRepository).saveAndFlush(atual);
     }
 
     @Test
@@ -138,24 +194,113 @@ class TutorServiceTest {
         atual.setId(1L);
         atual.setEmail("antigo@email.com");
 
-        Tutor outro = new Tutor();
-        outro.setId(2L);
-        outro.setEmail("novo@email.com");
-
         Tutor dados = new Tutor();
         dados.setNome("Nome");
-        dados.setEmail("novo@email.com");
+        dados.setEmail("NOVO@email.com");
 
         when(tutorRepository.findById(1L)).thenReturn(Optional.of(atual));
-        when(tutorRepository.findByEmail("novo@email.com")).thenReturn(Optional.of(outro));
+        when(tutorRepository.saveAndFlush(atual)).thenThrow(emailDuplicado());
 
-        RuntimeException ex = assertThrows(RuntimeException.class,
+        BusinessException ex = assertThrows(BusinessException.class,
                 () -> tutorService.atualizar(1L, dados));
 
-        assertTrue(ex.getMessage().toLowerCase().contains("já existe"));
-        verify(tutorRepository).findById(1L);
-        verify(tutorRepository).findByEmail("novo@email.com");
-        verify(tutorRepository, never()).save(any());
+        assertEquals("Já existe um tutor cadastrado com este e-mail.", ex.getMessage());
+    }
+
+    // =========================
+    // CRIAR EM LOTE
+    // =========================
+
+    private Tutor novoTutor(String nome, String email) {
+        Tutor t = new Tutor();
+        t.setNome(nome);
+        t.setEmail(email);
+        return t;
+    }
+
+    @Test
+    void criarEmLote_deveConsultarBancoSoQuandoFiltroDizTalvez() {
+        Tutor novo = novoTutor("Ana", "ana@email.com");
+        Tutor talvez = novoTutor("Bia", "bia@email.com");
+        Tutor existente = novoTutor("Caio", "caio@email.com");
+
+        when(emailsConhecidos.talvezExista("ana@email.com")).thenReturn(false);
+        when(emailsConhecidos.talvezExista("bia@email.com")).thenReturn(true);   // falso positivo
+        when(emailsConhecidos.talvezExista("caio@email.com")).thenReturn(true);
+        when(tutorRepository.existsByEmailIgnoreCase("bia@email.com")).thenReturn(false);
+        when(tutorRepository.existsByEmailIgnoreCase("caio@email.com")).thenReturn(true);
+        when(tutorRepository.saveAllAndFlush(List.of(novo, talvez))).thenAnswer(inv -> {
+            novo.setId(1L);
+            talvez.setId(2L);
+            return List.of(novo, talvez);
+        });
+
+        List<ResultadoLote> resultados = tutorService.criarEmLote(List.of(novo, talvez, existente));
+
+        assertEquals(ResultadoLote.criado(0, 1L), resultados.get(0));
+        assertEquals(ResultadoLote.criado(1, 2L), resultados.get(1));
+        assertEquals(ResultadoLote.erro(2, "Já existe um tutor cadastrado com este e-mail."), resultados.get(2));
+
+        // "com certeza novo" não vai ao banco
+        verify(tutorRepository, never()).existsByEmailIgnoreCase("ana@email.com");
+        verify(emailsConhecidos).adicionar("ana@email.com");
+        verify(emailsConhecidos).adicionar("bia@email.com");
+    }
+
+    @Test
+    void criarEmLote_deveRecusarEmailRepetidoNoLote() {
+        Tutor primeiro = novoTutor("Ana", "ana@email.com");
+        Tutor repetido = novoTutor("Ana 2", "ANA@email.com");
+
+        when(tutorRepository.saveAllAndFlush(List.of(primeiro))).thenReturn(List.of(primeiro));
+
+        List<ResultadoLote> resultados = tutorService.criarEmLote(List.of(primeiro, repetido));
+
+        assertEquals(ResultadoLote.erro(1, "E-mail repetido no lote."), resultados.get(1));
+    }
+
+    @Test
+    void criarEmLote_quandoOutraRequisicaoCadastraOMesmoEmail_deveFalharLoteInteiro() {
+        Tutor novo = novoTutor("Ana", "ana@email.com");
+
+        when(tutorRepository.saveAllAndFlush(List.of(novo))).thenThrow(emailDuplicado());
+
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> tutorService.criarEmLote(List.of(novo)));
+
+        assertEquals("Já existe um tutor cadastrado com este e-mail.", ex.getMessage());
+    }
+
+    @Test
+    void criarEmLote_deveFalharQuandoLoteVazio() {
+        BusinessException ex = assertThrows(BusinessException.class,
+                () -> tutorService.criarEmLote(List.of()));
+
+        assertEquals("Informe ao menos um tutor no lote.", ex.getMessage());
+        verifyNoInteractions(tutorRepository);
+    }
+
+    @Test
+    void resumo_deveRetornarAgregadoDoRepositorio() {
+        ResumoTutor resumo = new ResumoTutor(1L, "Ana", "ana@email.com", null, null, 2L, 3L, 1L, null);
+        when(tutorRepository.buscarResumo(1L)).thenReturn(Optional.of(resumo));
+
+        assertSame(resumo, tutorService.resumo(1L));
+        assertEquals(BigDecimal.ZERO, resumo.gastoCuidados());
+
+        // uma consulta só: nada de carregar tutor, pets ou adoções
+        verify(tutorRepository).buscarResumo(1L);
+        verifyNoMoreInteractions(tutorRepository);
+        verifyNoInteractions(petRepository);
+    }
+
+    @Test
+    void resumo_deveLancarNotFoundQuandoNaoExiste() {
+        when(tutorRepository.buscarResumo(99L)).thenReturn(Optional.empty());
+
+        NotFoundException ex = assertThrows(NotFoundException.class, () -> tutorService.resumo(99L));
+
+        assertEquals("Tutor não encontrado com id: 99", ex.getMessage());
     }
 
     @Test
@@ -0,0 +1,49 @@
+package br.com.alessandra.petcare.service;
+
+import br.com.alessandra.petcare.exception.BusinessException;
+import br.com.alessandra.petcare.model.Tutor;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Validator de verdade (Hibernate Validator): a mensagem é a que volta no resultado do item do lote
+class ValidacaoItemTest {
+
+    private static final ValidatorFactory FABRICA = Validation.buildDefaultValidatorFactory();
+
+    private final ValidacaoItem validacaoItem = new ValidacaoItem(FABRICA.getValidator());
+
+    @AfterAll
+    static void fechar() {
+        FABRICA.close();
+    }
+
+    @Test
+    void validar_itemValido_naoDeveLancar() {
+        Tutor tutor = new Tutor();
+        tutor.setNome("Ana");
+        tutor.setEmail("ana@email.com");
+
+        assertDoesNotThrow(() -> validacaoItem.validar(tutor, "Tutor"));
+    }
+
+    @Test
+    void validar_deveJuntarAsViolacoesEmOrdem() {
+        Tutor tutor = new Tutor();
+        tutor.setEmail("sem-arroba");
+
+        BusinessException ex = assertThrows(BusinessException.class, () -> validacaoItem.validar(tutor, "Tutor"));
+
+        assertEquals("email: E-mail inválido; nome: O nome é obrigatório", ex.getMessage());
+    }
+
+    @Test
+    void validar_itemNulo_deveUsarONomeNaMensagem() {
+        BusinessException ex = assertThrows(BusinessException.class, () -> validacaoItem.validar(null, "Pet"));
+
+        assertEquals("Pet não informado.", ex.getMessage());
+    }
+}